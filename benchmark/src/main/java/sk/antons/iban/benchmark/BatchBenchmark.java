@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanBatchValidator;
+
+/**
+ * Validation of whole iban list. Compares loop over Iban instances with
+ * sequential and parallel batch validation.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    @Param({"mixed"})
+    public String corpus;
+    @Param({"500000"})
+    public int size;
+
+    String[] ibans;
+    IbanBatchValidator sequential = IbanBatchValidator.instance();
+    IbanBatchValidator parallel = IbanBatchValidator.instance().parallel(true);
+
+    @Setup
+    public void setup() {
+        ibans = Corpus.of(corpus, size);
+    }
+
+    @Benchmark
+    public int loop() {
+        int valid = 0;
+        for(String value : ibans) {
+            try {
+                Iban iban = Iban.instance(value);
+                if(iban.lengthCheck() && iban.formatCheck() && iban.ibanCheck()) valid++;
+            } catch(IllegalArgumentException e) {
+                // invalid
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public IbanBatchValidator.Result batch() {
+        return sequential.validate(ibans);
+    }
+
+    @Benchmark
+    public IbanBatchValidator.Result batchParallel() {
+        return parallel.validate(ibans);
+    }
+
+}
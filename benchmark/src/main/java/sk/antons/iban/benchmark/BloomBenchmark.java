@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanBloomFilter;
+import sk.antons.iban.IbanSet;
+
+/**
+ * Block list screening. Compares IbanBloomFilter (on heap and memory
+ * mapped, 1% false positives, about 12 MB for 10M ibans) with exact
+ * IbanSet (about 400 MB for 10M ibans).
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class BloomBenchmark {
+
+    @Param({"10000000"})
+    public int entries;
+
+    IbanSet ibanSet;
+    IbanBloomFilter heapFilter;
+    IbanBloomFilter mappedFilter;
+    Path file;
+    String[] probes;
+    int position;
+
+    @Setup
+    public void setup() throws IOException {
+        ibanSet = IbanSet.instance(entries);
+        heapFilter = IbanBloomFilter.instance(entries, 0.01);
+        for(int i = 0; i < entries; i++) {
+            String iban = iban(i * 2L);
+            ibanSet.add(iban);
+            heapFilter.add(iban);
+        }
+        file = Files.createTempFile("iban-", ".bloom");
+        heapFilter.write(file);
+        mappedFilter = IbanBloomFilter.map(file);
+        // random probes, half of them are in set
+        Random random = new Random(1);
+        probes = new String[4096];
+        for(int i = 0; i < probes.length; i++) probes[i] = iban(random.nextInt(entries) * 2L + (i & 1));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static String iban(long account) {
+        StringBuilder sb = new StringBuilder("SK007500");
+        String digits = Long.toString(account);
+        for(int i = digits.length(); i < 16; i++) sb.append('0');
+        return Iban.ibanFix(sb.append(digits).toString());
+    }
+
+    private String next() {
+        String value = probes[position];
+        position = (position + 1) & (probes.length - 1);
+        return value;
+    }
+
+    @Benchmark
+    public boolean ibanSet() {
+        return ibanSet.contains(next());
+    }
+
+    @Benchmark
+    public boolean heapFilter() {
+        return heapFilter.mightContain(next());
+    }
+
+    @Benchmark
+    public boolean mappedFilter() {
+        return mappedFilter.mightContain(next());
+    }
+}
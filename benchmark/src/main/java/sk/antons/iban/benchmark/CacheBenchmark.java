@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanCache;
+import sk.antons.iban.IbanStatus;
+
+/**
+ * Skewed traffic where few ibans are repeated. Compares parsing and
+ * validation of each request with IbanCache.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+
+    @Param({"spaced"})
+    public String corpus;
+    @Param({"2000"})
+    public int distinct;
+
+    String[] requests;
+    IbanCache cache;
+
+    @Setup
+    public void setup() {
+        String[] values = Corpus.of(corpus, distinct);
+        // zipf like distribution, value i is requested with probability ~ 1/(i+1)
+        Random random = new Random(1);
+        requests = new String[1 << 16];
+        double norm = 0;
+        for(int i = 0; i < values.length; i++) norm += 1.0 / (i + 1);
+        for(int r = 0; r < requests.length; r++) {
+            double p = random.nextDouble() * norm;
+            int i = 0;
+            while((i < values.length - 1) && ((p -= 1.0 / (i + 1)) > 0)) i++;
+            requests[r] = values[i];
+        }
+        cache = IbanCache.instance().maxSize(distinct / 2);
+    }
+
+    @State(Scope.Thread)
+    public static class Position {
+        int index;
+    }
+
+    private String next(Position position) {
+        String value = requests[position.index];
+        position.index = (position.index + 1) & (requests.length - 1);
+        return value;
+    }
+
+    @Benchmark
+    public IbanStatus validate(Position position) {
+        return Iban.validate(next(position));
+    }
+
+    @Benchmark
+    public IbanStatus cachedValidate(Position position) {
+        return cache.validate(next(position));
+    }
+
+    @Benchmark
+    public Iban instance(Position position) {
+        String value = next(position);
+        try {
+            return Iban.instance(value);
+        } catch(IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Iban cachedInstance(Position position) {
+        return cache.get(next(position)).iban();
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.IbanConfig;
+import sk.antons.iban.IbanConfigRepository;
+import static sk.antons.iban.IbanConfigRepository.*;
+
+/**
+ * Country config lookup. Compares table lookup with nested switch used
+ * before.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CountryLookupBenchmark {
+
+    @Param({"mixed"})
+    public String corpus;
+    @Param({"1024"})
+    public int size;
+
+    char[] first;
+    char[] second;
+    int index;
+
+    @Setup
+    public void setup() {
+        String[] values = Corpus.of(corpus, size);
+        first = new char[values.length];
+        second = new char[values.length];
+        for(int i = 0; i < values.length; i++) {
+            first[i] = values[i].charAt(0);
+            second[i] = values[i].charAt(1);
+        }
+    }
+
+    private int next() {
+        int i = index;
+        index = (index + 1) % first.length;
+        return i;
+    }
+
+    @Benchmark
+    public IbanConfig table() {
+        int i = next();
+        return IbanConfigRepository.lookup(first[i], second[i]);
+    }
+
+    @Benchmark
+    public IbanConfig nestedSwitch() {
+        int i = next();
+        return switchLookup(first[i], second[i]);
+    }
+
+    /**
+     * Copy of lookup from version 1.1.
+     */
+    static IbanConfig switchLookup(char c1, char c2) {
+        switch(c1) {
+            case 'A':
+                switch(c2) {
+                    case 'D': return AD;
+                    case 'E': return AE;
+                    case 'L': return AL;
+                    case 'O': return AO;
+                    case 'T': return AT;
+                    case 'Z': return AZ;
+                    default: return null;
+                }
+            case 'B':
+                switch(c2) {
+                    case 'A': return BA;
+                    case 'E': return BE;
+                    case 'F': return BF;
+                    case 'G': return BG;
+                    case 'H': return BH;
+                    case 'I': return BI;
+                    case 'J': return BJ;
+                    case 'R': return BR;
+                    case 'Y': return BY;
+                    default: return null;
+                }
+            case 'C':
+                switch(c2) {
+                    case 'F': return CF;
+                    case 'H': return CH;
+                    case 'R': return CR;
+                    case 'Y': return CY;
+                    case 'Z': return CZ;
+                    case 'J': return BJ;
+                    case 'G': return CG;
+                    case 'I': return CI;
+                    case 'M': return CM;
+                    case 'V': return CV;
+                    default: return null;
+                }
+            case 'D':
+                switch(c2) {
+                    case 'E': return DE;
+                    case 'J': return DJ;
+                    case 'K': return DK;
+                    case 'O': return DO;
+                    case 'Z': return DZ;
+                    default: return null;
+                }
+            case 'E':
+                switch(c2) {
+                    case 'E': return EE;
+                    case 'G': return EG;
+                    case 'S': return ES;
+                    default: return null;
+                }
+            case 'F':
+                switch(c2) {
+                    case 'I': return FI;
+                    case 'K': return FK;
+                    case 'O': return FO;
+                    case 'R': return FR;
+                    default: return null;
+                }
+            case 'G':
+                switch(c2) {
+                    case 'B': return GB;
+                    case 'E': return GE;
+                    case 'I': return GI;
+                    case 'L': return GL;
+                    case 'R': return GR;
+                    case 'T': return GT;
+                    case 'A': return GA;
+                    case 'Q': return GQ;
+                    case 'W': return GW;
+                    default: return null;
+                }
+            case 'H':
+                switch(c2) {
+                    case 'R': return HR;
+                    case 'U': return HU;
+                    case 'N': return HN;
+                    default: return null;
+                }
+            case 'I':
+                switch(c2) {
+                    case 'E': return IE;
+                    case 'L': return IL;
+                    case 'Q': return IQ;
+                    case 'S': return IS;
+                    case 'T': return IT;
+                    case 'R': return IR;
+                    default: return null;
+                }
+            case 'J':
+                switch(c2) {
+                    case 'O': return JO;
+                    default: return null;
+                }
+            case 'K':
+                switch(c2) {
+                    case 'W': return KW;
+                    case 'Z': return KZ;
+                    case 'M': return KM;
+                    default: return null;
+                }
+            case 'L':
+                switch(c2) {
+                    case 'B': return LB;
+                    case 'C': return LC;
+                    case 'I': return LI;
+                    case 'T': return LT;
+                    case 'U': return LU;
+                    case 'V': return LV;
+                    case 'Y': return LY;
+                    default: return null;
+                }
+            case 'M':
+                switch(c2) {
+                    case 'C': return MC;
+                    case 'D': return MD;
+                    case 'E': return ME;
+                    case 'K': return MK;
+                    case 'N': return MN;
+                    case 'R': return MR;
+                    case 'T': return MT;
+                    case 'U': return MU;
+                    case 'A': return MA;
+                    case 'G': return MG;
+                    case 'L': return ML;
+                    case 'Z': return MZ;
+                    default: return null;
+                }
+            case 'N':
+                switch(c2) {
+                    case 'I': return NI;
+                    case 'L': return NL;
+                    case 'O': return NO;
+                    case 'Z': return MZ;
+                    case 'E': return NE;
+                    default: return null;
+                }
+            case 'O':
+                switch(c2) {
+                    case 'M': return OM;
+                    default: return null;
+                }
+            case 'P':
+                switch(c2) {
+                    case 'K': return PK;
+                    case 'L': return PL;
+                    case 'S': return PS;
+                    case 'T': return PT;
+                    default: return null;
+                }
+            case 'Q':
+                switch(c2) {
+                    case 'A': return QA;
+                    default: return null;
+                }
+            case 'R':
+                switch(c2) {
+                    case 'O': return RO;
+                    case 'S': return RS;
+                    case 'U': return RU;
+                    default: return null;
+                }
+            case 'S':
+                switch(c2) {
+                    case 'A': return SA;
+                    case 'C': return SC;
+                    case 'D': return SD;
+                    case 'E': return SE;
+                    case 'I': return SI;
+                    case 'K': return SK;
+                    case 'M': return SM;
+                    case 'O': return SO;
+                    case 'T': return ST;
+                    case 'V': return SV;
+                    case 'N': return SN;
+                    default: return null;
+                }
+            case 'T':
+                switch(c2) {
+                    case 'L': return TL;
+                    case 'N': return TN;
+                    case 'R': return TR;
+                    case 'D': return TD;
+                    case 'G': return TG;
+                    default: return null;
+                }
+            case 'U':
+                switch(c2) {
+                    case 'A': return UA;
+                    default: return null;
+                }
+            case 'V':
+                switch(c2) {
+                    case 'A': return VA;
+                    case 'G': return VG;
+                    default: return null;
+                }
+            case 'X':
+                switch(c2) {
+                    case 'K': return XK;
+                    default: return null;
+                }
+            case 'Y':
+                switch(c2) {
+                    case 'E': return YE;
+                    default: return null;
+                }
+            default: return null;
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanDeduplicator;
+import sk.antons.iban.IbanFingerprintSet;
+import sk.antons.iban.IbanNormalizer;
+
+/**
+ * Deduplication of ibans in mixed forms (spaces, small letters, wrong
+ * check digits). Compares HashSet of normalized strings with fingerprints
+ * in IbanFingerprintSet and with external sort-merge in IbanDeduplicator.
+ * Results are ibans per second on one core.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class DedupBenchmark {
+
+    static final int SIZE = 1_000_000;
+    // 4 forms of each iban on average
+    static final int UNIQUE = SIZE / 4;
+
+    String[] input;
+    IbanNormalizer normalizer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        input = new String[SIZE];
+        for(int i = 0; i < SIZE; i++) {
+            String iban = Iban.ibanFix(String.format("SK007500%016d", random.nextInt(UNIQUE)));
+            switch(random.nextInt(4)) {
+                case 0: input[i] = iban; break;
+                case 1: input[i] = iban.toLowerCase(Locale.ROOT); break;
+                case 2: input[i] = iban.substring(0, 2) + "00" + iban.substring(4); break;
+                default: input[i] = spaced(iban);
+            }
+        }
+        normalizer = IbanNormalizer.instance().fixCheckDigits(true);
+    }
+
+    private static String spaced(String iban) {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < iban.length(); i++) {
+            if((i > 0) && (i % 4 == 0)) sb.append(' ');
+            sb.append(iban.charAt(i));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public long fingerprint() {
+        long sum = 0;
+        for(String iban : input) sum += normalizer.fingerprint(iban);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int hashSet() {
+        Set<String> set = new HashSet<>(UNIQUE * 2);
+        for(String iban : input) {
+            set.add(Iban.ibanFix(iban.replace(" ", "").toUpperCase(Locale.ROOT)));
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public long fingerprintSet() {
+        IbanFingerprintSet set = IbanFingerprintSet.instance(UNIQUE);
+        for(String iban : input) set.add(normalizer.fingerprint(iban));
+        return set.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public long deduplicator() throws IOException {
+        // 8 temporary files
+        try(IbanDeduplicator dedup = IbanDeduplicator.instance().normalizer(normalizer).runSize(SIZE / 8)) {
+            for(String iban : input) dedup.add(iban);
+            return dedup.finish(null);
+        }
+    }
+}
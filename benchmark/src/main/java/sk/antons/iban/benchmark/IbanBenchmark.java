@@ -0,0 +1,377 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanConfig;
+import sk.antons.iban.IbanConfigRepository;
+import sk.antons.iban.IbanFormatter;
+import sk.antons.iban.IbanRepair;
+import sk.antons.iban.IbanStatus;
+import sk.antons.iban.IbanSubstringCheck;
+import sk.antons.iban.MemoizedIban;
+
+/**
+ * Throughput of parsing, validation and field extraction. Run with
+ * gc profiler to see allocation rate.
+ * <pre>
+ * java -jar target/benchmarks.jar IbanBenchmark -prof gc
+ * </pre>
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbanBenchmark {
+
+    /**
+     * Raw string inputs.
+     */
+    @State(Scope.Thread)
+    public static class Input {
+        @Param({"mixed", "valid", "invalid", "spaced", "lowercase"})
+        public String corpus;
+        @Param({"1024"})
+        public int size;
+
+        String[] values;
+        byte[][] bytes;
+        int index;
+
+        @Setup
+        public void setup() {
+            values = Corpus.of(corpus, size);
+            bytes = new byte[values.length][];
+            for(int i = 0; i < values.length; i++) bytes[i] = values[i].getBytes(StandardCharsets.US_ASCII);
+        }
+
+        String next() {
+            String value = values[index];
+            index = (index + 1) % values.length;
+            return value;
+        }
+
+        byte[] nextBytes() {
+            byte[] value = bytes[index];
+            index = (index + 1) % values.length;
+            return value;
+        }
+    }
+
+    /**
+     * Already created Iban instances with correct length. (lowercase inputs
+     * can not be parsed and short ones can not be used for extraction so
+     * they are not part of this state)
+     */
+    @State(Scope.Thread)
+    public static class Parsed {
+        @Param({"mixed", "valid", "invalid", "spaced"})
+        public String corpus;
+        @Param({"1024"})
+        public int size;
+
+        Iban[] values;
+        int index;
+
+        @Setup
+        public void setup() {
+            List<Iban> list = new ArrayList<>();
+            for(String value : Corpus.of(corpus, size)) {
+                try {
+                    Iban iban = Iban.instance(value);
+                    if(iban.lengthCheck()) list.add(iban);
+                } catch(IllegalArgumentException e) {
+                    // not parseable
+                }
+            }
+            values = list.toArray(new Iban[list.size()]);
+        }
+
+        Iban next() {
+            Iban value = values[index];
+            index = (index + 1) % values.length;
+            return value;
+        }
+    }
+
+    @Benchmark
+    public Object instance(Input input) {
+        try {
+            return Iban.instance(input.next());
+        } catch(IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public IbanConfig parse(Input input) {
+        try {
+            return IbanConfigRepository.parse(input.next());
+        } catch(IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public IbanConfig tryParse(Input input) {
+        return IbanConfigRepository.tryParse(input.next());
+    }
+
+    @Benchmark
+    public boolean ibanCheck(Input input) {
+        return Iban.ibanCheck(input.next());
+    }
+
+    @Benchmark
+    public String ibanFix(Input input) {
+        return Iban.ibanFix(input.next());
+    }
+
+    static final IbanRepair REPAIR = IbanRepair.instance();
+
+    @Benchmark
+    public List<IbanRepair.Suggestion> repairSuggest(Input input) {
+        return REPAIR.suggest(input.next());
+    }
+
+    @Benchmark
+    public boolean lengthCheck(Parsed parsed) {
+        return parsed.next().lengthCheck();
+    }
+
+    @Benchmark
+    public boolean formatCheck(Parsed parsed) {
+        return parsed.next().formatCheck();
+    }
+
+    /**
+     * Format check done by substring check predicates (as it was done
+     * before configs were compiled).
+     */
+    @Benchmark
+    public boolean formatCheckPredicates(Parsed parsed) {
+        Iban iban = parsed.next();
+        IbanConfig config = IbanConfigRepository.parse(iban.iban());
+        for(IbanSubstringCheck check : config.substringChecks()) {
+            if(!check.validate(iban.iban())) return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public String ibanPretty(Parsed parsed) {
+        return parsed.next().ibanPretty();
+    }
+
+    @State(Scope.Thread)
+    public static class Output {
+        IbanFormatter masked = IbanFormatter.instance().mask(4, 4);
+        StringBuilder sb = new StringBuilder(64);
+        char[] chars = new char[64];
+    }
+
+    @Benchmark
+    public StringBuilder ibanPrettyBuilder(Parsed parsed, Output output) {
+        output.sb.setLength(0);
+        return parsed.next().ibanPretty(output.sb);
+    }
+
+    @Benchmark
+    public StringBuilder formatterMaskedBuilder(Parsed parsed, Output output) {
+        output.sb.setLength(0);
+        return output.masked.format(parsed.next().iban(), output.sb);
+    }
+
+    @Benchmark
+    public char[] formatterMaskedChars(Parsed parsed, Output output) {
+        output.masked.format(parsed.next().iban(), output.chars, 0);
+        return output.chars;
+    }
+
+    @Benchmark
+    public String format(Parsed parsed) {
+        return parsed.next().format();
+    }
+
+    @Benchmark
+    public String accountNumber(Parsed parsed) {
+        return parsed.next().accountNumber();
+    }
+
+    @Benchmark
+    public String accountNumberPrefix(Parsed parsed) {
+        return parsed.next().accountNumberPrefix();
+    }
+
+    @Benchmark
+    public String nationalBankNumber(Parsed parsed) {
+        return parsed.next().nationalBankNumber();
+    }
+
+    @Benchmark
+    public boolean nationalBankNumberEquals(Parsed parsed) {
+        return "7500".equals(parsed.next().nationalBankNumber());
+    }
+
+    @Benchmark
+    public boolean bankCodeEquals(Parsed parsed) {
+        return parsed.next().bankCodeEquals("7500");
+    }
+
+    @Benchmark
+    public int nationalBankNumberHash(Parsed parsed) {
+        String value = parsed.next().nationalBankNumber();
+        return value == null ? 0 : value.hashCode();
+    }
+
+    @Benchmark
+    public int bankCodeHash(Parsed parsed) {
+        return parsed.next().bankCodeHash();
+    }
+
+    @Benchmark
+    public String bic(Parsed parsed) {
+        return parsed.next().bic();
+    }
+
+    @Benchmark
+    public String currency(Parsed parsed) {
+        return parsed.next().currency();
+    }
+
+    @Benchmark
+    public String branch(Parsed parsed) {
+        return parsed.next().branch();
+    }
+
+    @Benchmark
+    public String accountType(Parsed parsed) {
+        return parsed.next().accountType();
+    }
+
+    @Benchmark
+    public String checkDigits(Parsed parsed) {
+        return parsed.next().checkDigits();
+    }
+
+    @State(Scope.Thread)
+    public static class Memoized {
+        @Param({"valid"})
+        public String corpus;
+        @Param({"1024"})
+        public int size;
+
+        Iban[] values;
+        int index;
+
+        @Setup
+        public void setup() {
+            Parsed parsed = new Parsed();
+            parsed.corpus = corpus;
+            parsed.size = size;
+            parsed.setup();
+            values = new Iban[parsed.values.length];
+            for(int i = 0; i < values.length; i++) values[i] = MemoizedIban.of(parsed.values[i]);
+        }
+
+        Iban next() {
+            Iban value = values[index];
+            index = (index + 1) % values.length;
+            return value;
+        }
+    }
+
+    @Benchmark
+    public void memoizedAllParts(Memoized memoized, Blackhole bh) {
+        Iban iban = memoized.next();
+        bh.consume(iban.accountNumber());
+        bh.consume(iban.accountNumberPrefix());
+        bh.consume(iban.nationalBankNumber());
+        bh.consume(iban.bic());
+        bh.consume(iban.currency());
+        bh.consume(iban.branch());
+        bh.consume(iban.accountType());
+        bh.consume(iban.checkDigits());
+    }
+
+    @Benchmark
+    public IbanStatus memoizedValidateStatus(Memoized memoized) {
+        return memoized.next().validate();
+    }
+
+    @Benchmark
+    public void allParts(Parsed parsed, Blackhole bh) {
+        Iban iban = parsed.next();
+        bh.consume(iban.accountNumber());
+        bh.consume(iban.accountNumberPrefix());
+        bh.consume(iban.nationalBankNumber());
+        bh.consume(iban.bic());
+        bh.consume(iban.currency());
+        bh.consume(iban.branch());
+        bh.consume(iban.accountType());
+        bh.consume(iban.checkDigits());
+    }
+
+    /**
+     * Complete validation as it is usually done by clients.
+     */
+    @Benchmark
+    public boolean validate(Input input) {
+        try {
+            Iban iban = Iban.instance(input.next());
+            return iban.lengthCheck() && iban.formatCheck() && iban.ibanCheck();
+        } catch(IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Complete validation without exceptions.
+     */
+    @Benchmark
+    public IbanStatus validateStatus(Input input) {
+        return Iban.validate(input.next());
+    }
+
+    /**
+     * Complete validation of ascii bytes without exceptions.
+     */
+    @Benchmark
+    public IbanStatus validateBytes(Input input) {
+        byte[] value = input.nextBytes();
+        return Iban.validate(value, 0, value.length);
+    }
+
+}
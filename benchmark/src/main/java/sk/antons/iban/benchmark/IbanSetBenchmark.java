@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanSet;
+
+/**
+ * Membership test of ibans. Compares IbanSet with HashSet of strings.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class IbanSetBenchmark {
+
+    @Param({"1000000"})
+    public int entries;
+
+    Set<String> hashSet;
+    IbanSet ibanSet;
+    String[] probes;
+    int position;
+
+    @Setup
+    public void setup() {
+        hashSet = new HashSet<>();
+        ibanSet = IbanSet.instance(entries);
+        for(int i = 0; i < entries; i++) {
+            String iban = iban(i * 2L);
+            hashSet.add(iban);
+            ibanSet.add(iban);
+        }
+        // random probes, half of them are in set
+        Random random = new Random(1);
+        probes = new String[4096];
+        for(int i = 0; i < probes.length; i++) probes[i] = iban(random.nextInt(entries) * 2L + (i & 1));
+    }
+
+    private static String iban(long account) {
+        String body = String.format("7500%016d", account);
+        return Iban.ibanFix("SK00" + body);
+    }
+
+    private String next() {
+        String value = probes[position];
+        position = (position + 1) & (probes.length - 1);
+        return value;
+    }
+
+    @Benchmark
+    public boolean hashSet() {
+        return hashSet.contains(next());
+    }
+
+    @Benchmark
+    public boolean ibanSet() {
+        return ibanSet.contains(next());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanMetrics;
+import sk.antons.iban.IbanStatus;
+
+/**
+ * Overhead of validation metrics. "none" is default state without sink,
+ * "counters" counts outcomes and "timing" also measures durations.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({"none", "counters", "timing"})
+    public String metrics;
+
+    String[] values;
+    Iban[] ibans;
+    int index;
+
+    @Setup
+    public void setup() {
+        values = Corpus.of("mixed", 1024);
+        ibans = new Iban[values.length];
+        String[] valid = Corpus.of("valid", values.length);
+        for(int i = 0; i < valid.length; i++) ibans[i] = Iban.instance(valid[i]);
+        if("counters".equals(metrics)) IbanMetrics.instance().install();
+        else if("timing".equals(metrics)) IbanMetrics.instance().timing(true).install();
+    }
+
+    @TearDown
+    public void tearDown() {
+        IbanMetrics.uninstall();
+    }
+
+    private int next() {
+        int i = index;
+        index = (i + 1) & (values.length - 1);
+        return i;
+    }
+
+    @Benchmark
+    public IbanStatus validate() {
+        return Iban.validate(values[next()]);
+    }
+
+    @Benchmark
+    public boolean formatCheck() {
+        return ibans[next()].formatCheck();
+    }
+
+    @Benchmark
+    public boolean ibanCheck() {
+        return ibans[next()].ibanCheck();
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanSubstringResolver;
+
+/**
+ * Part extraction from many threads sharing one country config. Compares
+ * lock free resolver table with synchronized resolver cache used before.
+ * Use -t to change number of threads.
+ * <pre>
+ * java -jar target/benchmarks.jar ResolverContentionBenchmark -t 64
+ * </pre>
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ResolverContentionBenchmark {
+
+    Iban iban = Iban.instance("SK89 7500 0000 0000 1234 5671");
+    SynchronizedResolvers synchronizedResolvers = new SynchronizedResolvers(iban.pattern());
+
+    @Benchmark
+    public String lockFree() {
+        return iban.accountNumber();
+    }
+
+    @Benchmark
+    public String synchronizedCache() {
+        return synchronizedResolvers.resolver('c').resolve(iban.iban());
+    }
+
+    /**
+     * Copy of resolver cache from version 1.1 (synchronized with linear scan).
+     */
+    static class SynchronizedResolvers {
+        String pattern;
+        int size = 0;
+        char[] chars = new char[30];
+        IbanSubstringResolver[] resolvers = new IbanSubstringResolver[30];
+
+        SynchronizedResolvers(String pattern) {
+            this.pattern = pattern;
+        }
+
+        synchronized IbanSubstringResolver resolver(char c) {
+            for(int i = 0; i < size; i++) {
+                if(chars[i] == c) return resolvers[i];
+            }
+            int startPos = pattern.indexOf(c);
+            IbanSubstringResolver r;
+            if(startPos < 0) {
+                r = IbanSubstringResolver.None.instance();
+            } else {
+                int endPos = startPos;
+                while((endPos < pattern.length()) && (pattern.charAt(endPos) == c)) endPos++;
+                if(pattern.indexOf(c, endPos) < 0) r = IbanSubstringResolver.Substring.instance(startPos, endPos);
+                else r = IbanSubstringResolver.Pattern.instance(c, pattern);
+            }
+            chars[size] = c;
+            resolvers[size] = r;
+            size++;
+            return r;
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanConfig;
+import sk.antons.iban.IbanConfigRepository;
+import sk.antons.iban.IbanRoutingIndex;
+
+/**
+ * Routing of iban to value by bank code and branch. Compares
+ * IbanRoutingIndex with HashMap keyed by extracted strings.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class RoutingBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int entries;
+
+    Map<String, Integer> map;
+    IbanRoutingIndex<Integer> index;
+    Iban[] ibans;
+    int position;
+
+    @Setup
+    public void setup() {
+        List<IbanConfig> configs = new ArrayList<>();
+        for(IbanConfig config : IbanConfigRepository.all()) {
+            if((config.pattern().indexOf('b') >= 0) || (config.pattern().indexOf('q') >= 0)) configs.add(config);
+        }
+        Random random = new Random(1);
+        IbanRoutingIndex.Builder<Integer> builder = IbanRoutingIndex.builder();
+        map = new HashMap<>();
+        List<Iban> list = new ArrayList<>();
+        for(int i = 0; i < entries; i++) {
+            IbanConfig config = configs.get(random.nextInt(configs.size()));
+            String pattern = config.pattern();
+            StringBuilder sb = new StringBuilder(config.id());
+            for(int j = 2; j < config.length(); j++) {
+                char c = pattern.charAt(j);
+                sb.append(c == 'q' ? (char)('A' + random.nextInt(26)) : (char)('0' + random.nextInt(10)));
+            }
+            Iban iban = Iban.instance(sb.toString(), config);
+            String bank = bank(iban);
+            String branch = iban.branch();
+            if((branch != null) && random.nextBoolean()) {
+                builder.put(config.id(), bank, branch, i);
+                map.put(config.id() + bank + branch, i);
+            } else {
+                builder.put(config.id(), bank, i);
+                map.put(config.id() + bank, i);
+            }
+            if(list.size() < 4096) list.add(iban);
+        }
+        index = builder.build();
+        ibans = list.toArray(new Iban[list.size()]);
+    }
+
+    private static String bank(Iban iban) {
+        String bank = iban.nationalBankNumber();
+        return bank == null ? iban.bic() : bank;
+    }
+
+    private Iban next() {
+        Iban iban = ibans[position];
+        position = (position + 1) & (ibans.length - 1);
+        return iban;
+    }
+
+    @Benchmark
+    public Integer hashMap() {
+        Iban iban = next();
+        String country = iban.iban().substring(0, 2);
+        String bank = bank(iban);
+        String branch = iban.branch();
+        Integer value = branch == null ? null : map.get(country + bank + branch);
+        if(value == null) value = map.get(country + bank);
+        return value;
+    }
+
+    @Benchmark
+    public Integer routingIndex() {
+        return index.get(next());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.Iban;
+import sk.antons.iban.IbanScanner;
+import sk.antons.iban.IbanStatus;
+
+/**
+ * Searching ibans in large free text document. Compares IbanScanner with
+ * regular expression followed by validation of each candidate.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class ScannerBenchmark {
+
+    private static final String[] WORDS = {
+        "payment", "for", "invoice", "Nr.", "please", "transfer", "the", "amount", "to",
+        "account", "EUR", "Thank", "you", "IBAN:", "BIC", "reference", "VS", "2024", "order",
+        "Dear", "Sir", "regards", "due", "date", "SK", "DE", "total", "-", "ABC"
+    };
+
+    /** Approximate number of text characters per one iban. */
+    @Param({"2000"})
+    public int density;
+
+    @Param({"4000000"})
+    public int size;
+
+    String text;
+    byte[] bytes;
+    IbanScanner scanner;
+    Pattern pattern;
+
+    @Setup
+    public void setup() {
+        String[] ibans = Corpus.of("mixed", 1000);
+        Random random = new Random(1);
+        StringBuilder sb = new StringBuilder(size + 100);
+        int next = 0;
+        while(sb.length() < size) {
+            if(random.nextInt(density / 6) == 0) sb.append(ibans[next++ % ibans.length]);
+            else sb.append(WORDS[random.nextInt(WORDS.length)]);
+            sb.append(random.nextInt(10) == 0 ? ".\n" : " ");
+        }
+        text = sb.toString();
+        bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        scanner = IbanScanner.instance();
+        pattern = Pattern.compile("\\b[A-Z]{2}[0-9]{2}(?:[ -]?[A-Z0-9]){11,30}\\b");
+    }
+
+    private static final class Counter implements IbanScanner.Listener {
+        int count;
+        @Override public void found(int start, int end) { count++; }
+    }
+
+    @Benchmark
+    public int scanner() {
+        Counter counter = new Counter();
+        scanner.scan(text, counter);
+        return counter.count;
+    }
+
+    @Benchmark
+    public int scannerBytes() {
+        Counter counter = new Counter();
+        scanner.scan(bytes, 0, bytes.length, counter);
+        return counter.count;
+    }
+
+    @Benchmark
+    public int regex() {
+        int count = 0;
+        Matcher m = pattern.matcher(text);
+        while(m.find()) {
+            String candidate = m.group().replace("-", "");
+            if(Iban.validate(candidate) == IbanStatus.OK) count++;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sk.antons.iban.IbanBinaryRegistry;
+import sk.antons.iban.IbanConfig;
+import sk.antons.iban.IbanConfigRepository;
+import sk.antons.iban.IbanRegistry;
+
+/**
+ * Time to first validated iban. Each invocation loads library classes
+ * by new class loader, so static initialization is repeated. Compares
+ * static IbanConfigRepository with binary and text registry.
+ *
+ * @author antons
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 40)
+@Fork(3)
+@State(Scope.Thread)
+public class StartupBenchmark {
+
+    private static final String IBAN = "SK8975000000000012345671";
+
+    URL[] classpath;
+    Path binary;
+    Path text;
+    URLClassLoader loader;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        classpath = new URL[] {IbanConfig.class.getProtectionDomain().getCodeSource().getLocation()};
+        binary = Files.createTempFile("iban-registry", ".bin");
+        IbanBinaryRegistry.write(IbanConfigRepository.all(), binary);
+        text = Files.createTempFile("iban-registry", ".txt");
+        try(Writer writer = Files.newBufferedWriter(text, StandardCharsets.UTF_8)) {
+            IbanRegistry.instance().write(writer);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        Files.deleteIfExists(binary);
+        Files.deleteIfExists(text);
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        loader = new URLClassLoader(classpath, null);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        loader.close();
+    }
+
+    @Benchmark
+    public Object staticInitializer() throws Exception {
+        Class<?> iban = loader.loadClass("sk.antons.iban.Iban");
+        return iban.getMethod("validate", CharSequence.class).invoke(null, IBAN);
+    }
+
+    @Benchmark
+    public Object binaryResource() throws Exception {
+        Class<?> registry = loader.loadClass("sk.antons.iban.IbanRegistry");
+        Object instance = registry.getMethod("precompiled").invoke(null);
+        return registry.getMethod("validate", CharSequence.class).invoke(instance, IBAN);
+    }
+
+    @Benchmark
+    public Object binaryFile() throws Exception {
+        return load("loadBinary", binary);
+    }
+
+    @Benchmark
+    public Object textFile() throws Exception {
+        return load("load", text);
+    }
+
+    private Object load(String method, Path file) throws Exception {
+        Class<?> registry = loader.loadClass("sk.antons.iban.IbanRegistry");
+        Object instance = registry.getMethod("empty").invoke(null);
+        Method load = registry.getMethod(method, Path.class);
+        load.invoke(instance, file);
+        return registry.getMethod("validate", CharSequence.class).invoke(instance, IBAN);
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validator for one IbanConfig. Substring checks are compiled to table of
+ * allowed character classes per position, so spaces stripping, length,
+ * format and checksum are validated in one pass without creating any
+ * intermediate string and without calling check predicates.
+ * <p>
+ * Instance is immutable and can be shared between threads. Changes of
+ * IbanConfig made after compilation are not reflected.
+ * <pre>
+ * CompiledIbanValidator validator = IbanConfigRepository.SK.compile();
+ * IbanStatus status = validator.validate("SK89 7500 0000 0000 1234 5671");
+ * </pre>
+ *
+ * @author antons
+ */
+public final class CompiledIbanValidator {
+
+    private static final byte DIGIT = 1;
+    private static final byte UPPER = 2;
+    private static final byte LOWER = 4;
+    private static final byte OTHER = 8;
+    private static final byte ANY = DIGIT | UPPER | LOWER | OTHER;
+    // position checks can not be expressed by classes
+    private static final byte CUSTOM = 16;
+
+    private static final byte[] CLASSES = new byte[128];
+    private static final int[] POW10 = new int[9];
+    static {
+        for(int i = 0; i < CLASSES.length; i++) {
+            if(('0' <= i) && (i <= '9')) CLASSES[i] = DIGIT;
+            else if(('A' <= i) && (i <= 'Z')) CLASSES[i] = UPPER;
+            else if(('a' <= i) && (i <= 'z')) CLASSES[i] = LOWER;
+            else CLASSES[i] = OTHER;
+        }
+        POW10[0] = 1;
+        for(int i = 1; i < POW10.length; i++) POW10[i] = (POW10[i - 1] * 10) % 97;
+    }
+
+    private final String country;
+    private final char country1;
+    private final char country2;
+    private final int length;
+    private final byte[] masks;
+    private final IbanSubstringCheck[][] checks;
+
+    CompiledIbanValidator(IbanConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Creates validator with class masks computed before (by binary
+     * registry), so check predicates are not evaluated for all classes.
+     * @param config compiled config
+     * @param masks allowed classes per position or null if they should be computed
+     */
+    CompiledIbanValidator(IbanConfig config, byte[] masks) {
+        this.country = config.id();
+        this.country1 = config.id().charAt(0);
+        this.country2 = config.id().charAt(1);
+        this.length = config.length();
+        if((masks != null) && (masks.length != length)) throw new IllegalArgumentException("expected " + length + " masks for " + country + " but was " + masks.length);
+        this.masks = masks == null ? new byte[length] : masks;
+        this.checks = new IbanSubstringCheck[length][];
+        for(int pos = 0; pos < length; pos++) {
+            List<IbanSubstringCheck> list = new ArrayList<>();
+            if(config.substringChecks() != null) {
+                for(IbanSubstringCheck check : config.substringChecks()) {
+                    if((check.startPos <= pos) && (pos < check.endPos)) list.add(check);
+                }
+            }
+            checks[pos] = list.toArray(new IbanSubstringCheck[list.size()]);
+            if(masks == null) this.masks[pos] = mask(checks[pos]);
+        }
+    }
+
+    /**
+     * Allowed character classes per position. (for binary registry)
+     * @return copy of masks
+     */
+    byte[] masks() { return masks.clone(); }
+
+    private static byte mask(IbanSubstringCheck[] checks) {
+        if(checks.length == 0) return ANY;
+        byte mask = 0;
+        for(byte cls = DIGIT; cls <= OTHER; cls <<= 1) {
+            int passed = 0;
+            int count = 0;
+            for(int c = 0; c < CLASSES.length; c++) {
+                if(CLASSES[c] != cls) continue;
+                count++;
+                if(test(checks, (char)c)) passed++;
+            }
+            if(passed == count) mask |= cls;
+            else if(passed > 0) mask |= CUSTOM;
+        }
+        return mask;
+    }
+
+    private static boolean test(IbanSubstringCheck[] checks, char c) {
+        for(IbanSubstringCheck check : checks) {
+            if(!check.check.test(c)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Country code of compiled config.
+     * @return country code
+     */
+    public String country() { return country; }
+    /**
+     * Length of iban defined in compiled config.
+     * @return length
+     */
+    public int length() { return length; }
+
+    boolean allowed(int pos, char c) {
+        byte mask = masks[pos];
+        if(c < 128) {
+            if((mask & CUSTOM) == 0) return (CLASSES[c] & mask) != 0;
+        } else if(mask == ANY) {
+            return true;
+        }
+        return test(checks[pos], c);
+    }
+
+    /**
+     * Check if given iban (without spaces) has correct format. Only
+     * positions defined by config length are checked.
+     * @param iban checked iban
+     * @return true if format is correct
+     */
+    public boolean formatCheck(CharSequence iban) {
+        if(iban == null) return false;
+        int len = iban.length();
+        if(len < length) {
+            for(int pos = len; pos < length; pos++) {
+                if(masks[pos] != ANY) return false;
+            }
+        } else {
+            len = length;
+        }
+        for(int pos = 0; pos < len; pos++) {
+            if(!allowed(pos, iban.charAt(pos))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Validates given iban. Spaces are ignored. Length, format and
+     * checksum are checked. Iban must start with country code of this
+     * validator.
+     * @param iban validated iban
+     * @return validation status
+     */
+    public IbanStatus validate(CharSequence iban) {
+        if(iban == null) return IbanStatus.UNKNOWN_COUNTRY;
+        return validate(iban, iban.length());
+    }
+
+    /**
+     * Validates iban stored in given part of array. Spaces are ignored.
+     * @param iban array with iban
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return validation status
+     */
+    public IbanStatus validate(char[] iban, int offset, int length) {
+        if(iban == null) return IbanStatus.UNKNOWN_COUNTRY;
+        return validate(null, iban, null, null, offset, length);
+    }
+
+    /**
+     * Validates iban stored in given part of array as ascii characters.
+     * Spaces are ignored.
+     * @param iban array with iban
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return validation status
+     */
+    public IbanStatus validate(byte[] iban, int offset, int length) {
+        if(iban == null) return IbanStatus.UNKNOWN_COUNTRY;
+        return validate(null, null, iban, null, offset, length);
+    }
+
+    /**
+     * Validates iban stored as ascii characters in remaining part of given
+     * buffer. Buffer position is not changed. Spaces are ignored.
+     * @param iban buffer with iban
+     * @return validation status
+     */
+    public IbanStatus validate(ByteBuffer iban) {
+        if(iban == null) return IbanStatus.UNKNOWN_COUNTRY;
+        if(iban.hasArray()) return validate(null, null, iban.array(), null, iban.arrayOffset() + iban.position(), iban.remaining());
+        return validate(null, null, null, iban, iban.position(), iban.remaining());
+    }
+
+    /**
+     * Character from one of given sources. Exactly one source is not null.
+     * (It allows to have only one validation loop for all input types.)
+     */
+    static char charAt(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int index) {
+        if(chars != null) return chars[index];
+        if(bytes != null) return (char)(bytes[index] & 0xff);
+        if(seq != null) return seq.charAt(index);
+        return (char)(buffer.get(index) & 0xff);
+    }
+
+    /**
+     * Fast path for valid ibans. Any unexpected character leads to
+     * generic validation which determines correct status. (Class mask
+     * of position contains only classes allowed for all characters, so
+     * it never accepts invalid character.)
+     */
+    private IbanStatus validate(CharSequence seq, int len) {
+        int i = 0;
+        int pos = 0;
+        int head = 0; // at most 8 digits (no modulo needed)
+        int headDigits = 0;
+        for(; (i < len) && (pos < 4); i++) {
+            char c = seq.charAt(i);
+            if(c == ' ') continue;
+            if((pos == 0) && (c != country1)) return IbanStatus.UNKNOWN_COUNTRY;
+            if((pos == 1) && (c != country2)) return IbanStatus.UNKNOWN_COUNTRY;
+            if(c >= 128) return validate(seq, null, null, null, -1, len);
+            int cls = CLASSES[c] & masks[pos];
+            if(cls == DIGIT) {
+                head = head * 10 + (c - '0');
+                headDigits++;
+            } else if(cls == UPPER) {
+                head = head * 100 + (c - 'A' + 10);
+                headDigits += 2;
+            } else {
+                return validate(seq, null, null, null, -1, len);
+            }
+            pos++;
+        }
+        long body = 0;
+        for(; i < len; i++) {
+            char c = seq.charAt(i);
+            if(c == ' ') continue;
+            if(pos >= length) return IbanStatus.BAD_LENGTH;
+            if(c >= 128) return validate(seq, null, null, null, -1, len);
+            int cls = CLASSES[c] & masks[pos];
+            if(cls == DIGIT) {
+                body = body * 10 + (c - '0');
+            } else if(cls == UPPER) {
+                body = body * 100 + (c - 'A' + 10);
+            } else {
+                return validate(seq, null, null, null, -1, len);
+            }
+            if(body >= Iban.MOD97_LIMIT) body %= 97;
+            pos++;
+        }
+        if(pos < 2) return IbanStatus.UNKNOWN_COUNTRY;
+        if(pos != length) return IbanStatus.BAD_LENGTH;
+        int mod = (int)(((body % 97) * POW10[headDigits] + head % 97) % 97);
+        return mod == 1 ? IbanStatus.OK : IbanStatus.BAD_CHECKSUM;
+    }
+
+    /**
+     * Generic validation of given source. Exactly one source is not null.
+     * Offset -1 means whole CharSequence validated without fast path.
+     */
+    IbanStatus validate(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int offset, int len) {
+        if(seq != null) {
+            if(offset == 0) return validate(seq, len);
+            if(offset < 0) offset = 0;
+        }
+        int pos = 0;
+        boolean format = true;
+        boolean alnum = true;
+        int head = 0; // at most 8 digits (no modulo needed)
+        int headDigits = 0;
+        long body = 0;
+        int end = offset + len;
+        for(int i = offset; i < end; i++) {
+            char c = charAt(seq, chars, bytes, buffer, i);
+            if(c == ' ') continue;
+            if(pos >= length) return IbanStatus.BAD_LENGTH;
+            if((pos == 0) && (c != country1)) return IbanStatus.UNKNOWN_COUNTRY;
+            if((pos == 1) && (c != country2)) return IbanStatus.UNKNOWN_COUNTRY;
+            if(format && !allowed(pos, c)) format = false;
+            if(format && alnum) {
+                if(('0' <= c) && (c <= '9')) {
+                    if(pos < 4) {
+                        head = head * 10 + (c - '0');
+                        headDigits++;
+                    } else {
+                        body = body * 10 + (c - '0');
+                        if(body >= Iban.MOD97_LIMIT) body %= 97;
+                    }
+                } else if(('A' <= c) && (c <= 'Z')) {
+                    if(pos < 4) {
+                        head = head * 100 + (c - 'A' + 10);
+                        headDigits += 2;
+                    } else {
+                        body = body * 100 + (c - 'A' + 10);
+                        if(body >= Iban.MOD97_LIMIT) body %= 97;
+                    }
+                } else {
+                    alnum = false;
+                }
+            }
+            pos++;
+        }
+        if(pos < 2) return IbanStatus.UNKNOWN_COUNTRY;
+        if(pos != length) return IbanStatus.BAD_LENGTH;
+        if(!format) return IbanStatus.BAD_FORMAT;
+        if(!alnum) return IbanStatus.BAD_CHECKSUM;
+        int mod = (int)(((body % 97) * POW10[headDigits] + head % 97) % 97);
+        return mod == 1 ? IbanStatus.OK : IbanStatus.BAD_CHECKSUM;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledIbanValidator{" + "country=" + country + ", length=" + length + '}';
+    }
+
+}
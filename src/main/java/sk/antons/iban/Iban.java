@@ -15,7 +15,8 @@
  */
 package sk.antons.iban;
 
-import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Iban helper for parsing format by given pattern.
@@ -26,7 +27,7 @@ public class Iban {
     String iban;
     IbanConfig config;
 
-    private Iban(String iban, IbanConfig config) {
+    Iban(String iban, IbanConfig config) {
         this.iban = iban;
         this.config = config;
         if(this.config == null) throw new IllegalArgumentException("unable to create iban from " + iban);
@@ -42,6 +43,52 @@ public class Iban {
         return instance(iban, IbanConfigRepository.parse(iban));
     }
 
+    /**
+     * Create iban for known country. Country is detemined by first two letters.
+     * @param iban account number ina iban format.
+     * @return new instance
+     */
+    public static Iban instance(CharSequence iban) {
+        return instance(iban == null ? null : iban.toString());
+    }
+
+    /**
+     * Create iban for known country from given part of array.
+     * @param iban array with account number ina iban format.
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return new instance
+     */
+    public static Iban instance(char[] iban, int offset, int length) {
+        return instance(iban == null ? null : new String(iban, offset, length));
+    }
+
+    /**
+     * Create iban for known country from given part of array with ascii
+     * characters.
+     * @param iban array with account number ina iban format.
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return new instance
+     */
+    public static Iban instance(byte[] iban, int offset, int length) {
+        return instance(iban == null ? null : new String(iban, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Create iban for known country from remaining part of given buffer
+     * with ascii characters. Buffer position is not changed.
+     * @param iban buffer with account number ina iban format.
+     * @return new instance
+     */
+    public static Iban instance(ByteBuffer iban) {
+        if(iban == null) return instance((String)null);
+        if(iban.hasArray()) return instance(iban.array(), iban.arrayOffset() + iban.position(), iban.remaining());
+        byte[] bytes = new byte[iban.remaining()];
+        iban.duplicate().get(bytes);
+        return instance(bytes, 0, bytes.length);
+    }
+
     /**
      * Create iban for any country.
      * @param iban account number ina iban format.
@@ -82,19 +129,31 @@ public class Iban {
      * @return
      */
     public String ibanPretty() {
-        StringBuilder sb = new StringBuilder();
         int len = iban.length();
-        int spacePos = 0;
+        if(len == 0) return iban;
+        char[] chars = new char[len + (len - 1) / 4];
+        int pos = 0;
         for(int i = 0; i < len; i++) {
-            if(spacePos == 4) {
-                sb.append(' ');
-                spacePos = 0;
-            }
-            char c = iban.charAt(i);
-            sb.append(c);
-            spacePos++;
+            if((i > 0) && ((i & 3) == 0)) chars[pos++] = ' ';
+            chars[pos++] = iban.charAt(i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Appends iban in space separated form to given builder. (see
+     * IbanFormatter for other forms)
+     * @param sb target builder
+     * @return given builder
+     */
+    public StringBuilder ibanPretty(StringBuilder sb) {
+        int len = iban.length();
+        sb.ensureCapacity(sb.length() + len + len / 4);
+        for(int i = 0; i < len; i += 4) {
+            if(i > 0) sb.append(' ');
+            sb.append(iban, i, Math.min(i + 4, len));
         }
-        return sb.toString();
+        return sb;
     }
 
     /**
@@ -102,7 +161,10 @@ public class Iban {
      * @return true if length is correct
      */
     public boolean lengthCheck() {
-        return iban.length() == config.length();
+        boolean rv = iban.length() == config.length();
+        IbanMetricsSink sink = IbanMetrics.sink;
+        if(sink != null) sink.checked(IbanMetricsSink.Check.LENGTH, config, rv ? IbanStatus.OK : IbanStatus.BAD_LENGTH, -1);
+        return rv;
     }
 
     /**
@@ -110,7 +172,134 @@ public class Iban {
      * @return true if format is correct
      */
     public boolean formatCheck() {
-        return config.formatCheck(iban);
+        IbanMetricsSink sink = IbanMetrics.sink;
+        if(sink == null) return config.formatCheck(iban);
+        long start = IbanMetrics.start(sink);
+        boolean rv = config.formatCheck(iban);
+        sink.checked(IbanMetricsSink.Check.FORMAT, config, rv ? IbanStatus.OK : IbanStatus.BAD_FORMAT, IbanMetrics.elapsed(start));
+        return rv;
+    }
+
+    /**
+     * Validates this iban. Same as lengthCheck(), formatCheck() and
+     * ibanCheck() together.
+     * @return validation status
+     */
+    public IbanStatus validate() {
+        IbanMetricsSink sink = IbanMetrics.sink;
+        if(sink == null) return config.compile().validate(iban);
+        long start = IbanMetrics.start(sink);
+        IbanStatus status = config.compile().validate(iban);
+        sink.checked(IbanMetricsSink.Check.VALIDATE, config, status, IbanMetrics.elapsed(start));
+        return status;
+    }
+
+    /**
+     * Validates given iban without creating Iban instance. Spaces after
+     * country code are ignored (same as Iban.instance()). No exception is
+     * thrown for malformed input.
+     * @param iban given iban
+     * @return validation status
+     */
+    public static IbanStatus validate(CharSequence iban) {
+        return validate(iban, IbanConfigRepository.TABLE);
+    }
+
+    /**
+     * Validates iban using configs from given country table.
+     * @param iban validated iban
+     * @param table configs indexed by IbanConfig.index()
+     * @return validation status
+     */
+    static IbanStatus validate(CharSequence iban, IbanConfig[] table) {
+        IbanMetricsSink sink = IbanMetrics.sink;
+        if(sink == null) {
+            IbanConfig config = config(iban, table);
+            return config == null ? IbanStatus.UNKNOWN_COUNTRY : config.compile().validate(iban);
+        }
+        long start = IbanMetrics.start(sink);
+        IbanConfig config = config(iban, table);
+        IbanStatus status = config == null ? IbanStatus.UNKNOWN_COUNTRY : config.compile().validate(iban);
+        sink.checked(IbanMetricsSink.Check.VALIDATE, config, status, IbanMetrics.elapsed(start));
+        return status;
+    }
+
+    /**
+     * Config of country defined by first two characters. (Spaces before
+     * or inside country code are not allowed, as in IbanConfigRepository.parse())
+     * @return config or null if country is not known
+     */
+    private static IbanConfig config(CharSequence iban, IbanConfig[] table) {
+        if((iban == null) || (iban.length() < 2)) return null;
+        int index = IbanConfig.index(iban.charAt(0), iban.charAt(1));
+        return index < 0 ? null : table[index];
+    }
+
+    /**
+     * Validates iban stored in given part of array.
+     * @param iban array with iban
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return validation status
+     */
+    public static IbanStatus validate(char[] iban, int offset, int length) {
+        if(iban == null) return IbanStatus.UNKNOWN_COUNTRY;
+        return status(null, iban, null, null, offset, length);
+    }
+
+    /**
+     * Validates iban stored as ascii characters in given part of array.
+     * @param iban array with iban
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return validation status
+     */
+    public static IbanStatus validate(byte[] iban, int offset, int length) {
+        if(iban == null) return IbanStatus.UNKNOWN_COUNTRY;
+        return status(null, null, iban, null, offset, length);
+    }
+
+    /**
+     * Validates iban stored as ascii characters in remaining part of given
+     * buffer. Buffer position is not changed.
+     * @param iban buffer with iban
+     * @return validation status
+     */
+    public static IbanStatus validate(ByteBuffer iban) {
+        if(iban == null) return IbanStatus.UNKNOWN_COUNTRY;
+        if(iban.hasArray()) return status(null, null, iban.array(), null, iban.arrayOffset() + iban.position(), iban.remaining());
+        return status(null, null, null, iban, iban.position(), iban.remaining());
+    }
+
+    /**
+     * Validates one iban using compiled validator of its country. Exactly
+     * one of sources must be not null. (same as validate(CharSequence) for
+     * other sources)
+     * @return status
+     */
+    static IbanStatus status(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int offset, int length) {
+        IbanMetricsSink sink = IbanMetrics.sink;
+        if(sink == null) {
+            IbanConfig config = config(seq, chars, bytes, buffer, offset, length);
+            return config == null ? IbanStatus.UNKNOWN_COUNTRY : config.compile().validate(seq, chars, bytes, buffer, offset, length);
+        }
+        long start = IbanMetrics.start(sink);
+        IbanConfig config = config(seq, chars, bytes, buffer, offset, length);
+        IbanStatus status = config == null ? IbanStatus.UNKNOWN_COUNTRY : config.compile().validate(seq, chars, bytes, buffer, offset, length);
+        sink.checked(IbanMetricsSink.Check.VALIDATE, config, status, IbanMetrics.elapsed(start));
+        return status;
+    }
+
+    /**
+     * Config of country defined by first two characters. Exactly one of
+     * sources must be not null.
+     * @return config or null if country is not known
+     */
+    private static IbanConfig config(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int offset, int length) {
+        if(length < 2) return null;
+        char c1 = CompiledIbanValidator.charAt(seq, chars, bytes, buffer, offset);
+        char c2 = CompiledIbanValidator.charAt(seq, chars, bytes, buffer, offset + 1);
+        return IbanConfigRepository.find(c1, c2);
     }
 
     /**
@@ -127,58 +316,180 @@ public class Iban {
      * @return true if iban cheksum is correct
      */
     public static boolean ibanCheck(String iban) {
+        return ibanCheck((CharSequence)iban);
+    }
+
+    /**
+     * Check if given iban has correct IBAN checksum digits.
+     * @param iban given iban
+     * @return true if iban cheksum is correct
+     */
+    public static boolean ibanCheck(CharSequence iban) {
         if(iban == null) return false;
-        if(iban.length() < 4) return false;
-        StringBuilder sb = new StringBuilder();
-        int len = iban.length();
-        for(int i = 4; i < len; i++) {
-            char c = iban.charAt(i);
-            addIbanCharAsNumber(sb, c);
-        }
-        for(int i = 0; i < 4; i++) {
-            char c = iban.charAt(i);
-            addIbanCharAsNumber(sb, c);
-        }
-        BigInteger bi = new BigInteger(sb.toString());
-        BigInteger mod = bi.mod(BigInteger.valueOf(97));
-        return mod.intValue() == 1;
+        return ibanCheck(iban, null, null, null, 0, iban.length());
+    }
+
+    /**
+     * Check if iban stored in given part of array has correct IBAN checksum digits.
+     * @param iban array with iban
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return true if iban cheksum is correct
+     */
+    public static boolean ibanCheck(char[] iban, int offset, int length) {
+        if(iban == null) return false;
+        return ibanCheck(null, iban, null, null, offset, length);
+    }
+
+    /**
+     * Check if iban stored as ascii characters in given part of array has
+     * correct IBAN checksum digits.
+     * @param iban array with iban
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return true if iban cheksum is correct
+     */
+    public static boolean ibanCheck(byte[] iban, int offset, int length) {
+        if(iban == null) return false;
+        return ibanCheck(null, null, iban, null, offset, length);
+    }
+
+    /**
+     * Check if iban stored as ascii characters in remaining part of given
+     * buffer has correct IBAN checksum digits. Buffer position is not changed.
+     * @param iban buffer with iban
+     * @return true if iban cheksum is correct
+     */
+    public static boolean ibanCheck(ByteBuffer iban) {
+        if(iban == null) return false;
+        if(iban.hasArray()) return ibanCheck(null, null, iban.array(), null, iban.arrayOffset() + iban.position(), iban.remaining());
+        return ibanCheck(null, null, null, iban, iban.position(), iban.remaining());
+    }
+
+    private static boolean ibanCheck(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int offset, int length) {
+        IbanMetricsSink sink = IbanMetrics.sink;
+        if(sink == null) return checksum(seq, chars, bytes, buffer, offset, length);
+        long start = IbanMetrics.start(sink);
+        boolean rv = checksum(seq, chars, bytes, buffer, offset, length);
+        long nanos = IbanMetrics.elapsed(start);
+        IbanConfig config = config(seq, chars, bytes, buffer, offset, length);
+        sink.checked(IbanMetricsSink.Check.CHECKSUM, config, rv ? IbanStatus.OK : IbanStatus.BAD_CHECKSUM, nanos);
+        return rv;
+    }
+
+    private static boolean checksum(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int offset, int length) {
+        if(length < 4) return false;
+        int mod = mod97(0, seq, chars, bytes, buffer, offset + 4, offset + length);
+        if(mod < 0) return false;
+        mod = mod97(mod, seq, chars, bytes, buffer, offset, offset + 4);
+        return mod == 1;
     }
 
     /**
      * Returns same given iban with fiched checksum digits.
      * @param iban iban to be fixed
-     * @return fixed iban.
+     * @return fixed iban or null if iban contains characters other than
+     * digits and capital letters.
      */
     public static String ibanFix(String iban) {
         if(iban == null) return null;
-        if(iban.length() < 4) return null;
-        StringBuilder sb = new StringBuilder();
         int len = iban.length();
-        for(int i = 4; i < len; i++) {
-            char c = iban.charAt(i);
-            addIbanCharAsNumber(sb, c);
-        }
-        for(int i = 0; i < 2; i++) {
-            char c = iban.charAt(i);
-            addIbanCharAsNumber(sb, c);
-        }
-        sb.append("00");
-        BigInteger bi = new BigInteger(sb.toString());
-        BigInteger mod = bi.mod(BigInteger.valueOf(97));
-        int modi = mod.intValue();
-        int checksum = 98 - modi;
+        if(len < 4) return null;
+        int mod = mod97(0, iban, 4, len);
+        if(mod < 0) return null;
+        mod = mod97(mod, iban, 0, 2);
+        if(mod < 0) return null;
+        mod = (mod * 100) % 97;
+        int checksum = 98 - mod;
         if(checksum < 10) return iban.substring(0, 2) + "0" + checksum + iban.substring(4);
         else return iban.substring(0, 2) + checksum + iban.substring(4);
     }
 
-    private static void addIbanCharAsNumber(StringBuilder sb, char c) {
-        if(('0'<= c) && (c <= '9')) {
-            sb.append(c);
-        } else {
-            sb.append(c-'A'+10);
+    /**
+     * Computes modulo 97 of number created from given characters. Digits
+     * are used as they are and capital letters are replaced by numbers
+     * 10 (A) to 35 (Z) as defined in ISO 13616. No rotation of country code
+     * and check digits is done here.
+     * @param value characters to be converted
+     * @param from start position (inclusive)
+     * @param to end position (exclusive)
+     * @return modulo 97 or -1 if there is a character other than digit
+     * or capital letter.
+     */
+    public static int mod97(CharSequence value, int from, int to) {
+        return mod97(0, value, from, to);
+    }
+
+    /**
+     * Computes modulo 97 of number created from given characters. (see
+     * mod97(CharSequence, int, int))
+     * @param value characters to be converted
+     * @param from start position (inclusive)
+     * @param to end position (exclusive)
+     * @return modulo 97 or -1 if there is a character other than digit
+     * or capital letter.
+     */
+    public static int mod97(char[] value, int from, int to) {
+        return mod97(0, null, value, null, null, from, to);
+    }
+
+    /**
+     * Computes modulo 97 of number created from given ascii characters.
+     * (see mod97(CharSequence, int, int))
+     * @param value characters to be converted
+     * @param from start position (inclusive)
+     * @param to end position (exclusive)
+     * @return modulo 97 or -1 if there is a character other than digit
+     * or capital letter.
+     */
+    public static int mod97(byte[] value, int from, int to) {
+        return mod97(0, null, null, value, null, from, to);
+    }
+
+    /**
+     * Continues computation of modulo 97 from given accumulated value.
+     * @param mod accumulated modulo of preceding characters
+     * @return new accumulated modulo or -1 if there is invalid character
+     */
+    static int mod97(int mod, CharSequence value, int from, int to) {
+        long acc = mod;
+        for(int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if(('0'<= c) && (c <= '9')) {
+                acc = acc * 10 + (c - '0');
+            } else if(('A'<= c) && (c <= 'Z')) {
+                acc = acc * 100 + (c - 'A' + 10);
+            } else {
+                return -1;
+            }
+            if(acc >= MOD97_LIMIT) acc %= 97;
+        }
+        return (int)(acc % 97);
+    }
+
+    static int mod97(int mod, CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int from, int to) {
+        if(seq != null) return mod97(mod, seq, from, to);
+        long acc = mod;
+        for(int i = from; i < to; i++) {
+            char c = CompiledIbanValidator.charAt(seq, chars, bytes, buffer, i);
+            if(('0'<= c) && (c <= '9')) {
+                acc = acc * 10 + (c - '0');
+            } else if(('A'<= c) && (c <= 'Z')) {
+                acc = acc * 100 + (c - 'A' + 10);
+            } else {
+                return -1;
+            }
+            if(acc >= MOD97_LIMIT) acc %= 97;
         }
+        return (int)(acc % 97);
     }
 
+    /**
+     * Accumulator used for modulo 97 computation is reduced only when it
+     * reaches this limit. (it still can be multiplied by 100 without overflow)
+     */
+    static final long MOD97_LIMIT = 1_000_000_000_000_000L;
+
     /**
      * Pattern defined in config.
      * @return pattern
@@ -191,6 +502,13 @@ public class Iban {
      */
     public String format() { return config.format(); }
 
+    /**
+     * Appends format defined in config to given builder.
+     * @param sb target builder
+     * @return given builder
+     */
+    public StringBuilder format(StringBuilder sb) { return config.format(sb); }
+
     /**
      * Finds part of iban defined in pattern by character 'c'.
      * @return selected iban part or null if it is not exists
@@ -238,35 +556,65 @@ public class Iban {
      */
     public String patternPart(char c) { return config.resolver(c).resolve(iban); }
 
-    public static void main(String[] argv) {
-        Iban iban = Iban.instance("SK17 0900 0000 0000 2404 1632");
-        System.out.println(" iban: " + iban.iban());
-        System.out.println(" iban pretty : " + iban.ibanPretty());
-        System.out.println(" iban pattern : " + iban.pattern());
-        System.out.println(" iban format : " + iban.format());
-        System.out.println(" iban check length : " + iban.lengthCheck());
-        System.out.println(" iban check format : " + iban.formatCheck());
-        System.out.println(" iban check iban : " + iban.ibanCheck());
-        System.out.println(" iban accountNumber : " + iban.accountNumber());
-        System.out.println(" iban accountNumberPrefix : " + iban.accountNumberPrefix());
-        System.out.println(" iban nationalBankNumber : " + iban.nationalBankNumber());
-        System.out.println(" iban bic : " + iban.bic());
-        System.out.println(" iban currency : " + iban.currency());
-        System.out.println(" iban branch : " + iban.branch());
-        System.out.println(" iban accountType : " + iban.accountType());
-        System.out.println(" iban checkDigits : " + iban.checkDigits());
-        System.out.println(" iban patternPart : " + iban.patternPart('b'));
-        String ib = "SK1709000000000024041632";
-        String ibf = ibanFix(ib);
-        System.out.println(" iban "+ib+" check : " + iban.ibanCheck(ib));
-        System.out.println(" iban "+ibf+" check : " + iban.ibanCheck(ibf));
-        ib = "SK1509000000000024041632";
-        ibf = ibanFix(ib);
-        System.out.println(" iban "+ib+" check : " + iban.ibanCheck(ib));
-        System.out.println(" iban "+ibf+" check : " + iban.ibanCheck(ibf));
-        ib = "SK7509000000000024041632";
-        ibf = ibanFix(ib);
-        System.out.println(" iban "+ib+" check : " + iban.ibanCheck(ib));
-        System.out.println(" iban "+ibf+" check : " + iban.ibanCheck(ibf));
+    /**
+     * Start position of part of iban defined in pattern by given character.
+     * No substring is created.
+     * @param c given character
+     * @return start position or -1 if part does not exist or is not continuous
+     */
+    public int partStart(char c) { return config.resolver(c).start(); }
+    /**
+     * End position (exclusive) of part of iban defined in pattern by given
+     * character. No substring is created.
+     * @param c given character
+     * @return end position or -1 if part does not exist or is not continuous
+     */
+    public int partEnd(char c) { return config.resolver(c).end(); }
+    /**
+     * Compares part of iban defined in pattern by given character with
+     * given value. No substring is created.
+     * @param c given character
+     * @param value compared value
+     * @return true if part is equal to value (null value is equal to not existing part)
+     */
+    public boolean partEquals(char c, CharSequence value) { return config.resolver(c).partEquals(iban, value); }
+    /**
+     * Hash of part of iban defined in pattern by given character. It is
+     * same as patternPart(c).hashCode(), but no substring is created.
+     * @param c given character
+     * @return hash or 0 if part does not exist
+     */
+    public int partHash(char c) { return config.resolver(c).partHash(iban); }
+    /**
+     * Compares national bank number (pattern character 'b') with given value.
+     * @param value compared value
+     * @return true if bank code is equal to value
+     */
+    public boolean bankCodeEquals(CharSequence value) { return partEquals('b', value); }
+    /**
+     * Hash of national bank number (pattern character 'b'). Same as
+     * nationalBankNumber().hashCode().
+     * @return hash or 0 if bank code does not exist
+     */
+    public int bankCodeHash() { return partHash('b'); }
+    /**
+     * Compares branch (pattern character 's') with given value.
+     * @param value compared value
+     * @return true if branch is equal to value
+     */
+    public boolean branchEquals(CharSequence value) { return partEquals('s', value); }
+    /**
+     * Hash of branch (pattern character 's'). Same as branch().hashCode().
+     * @return hash or 0 if branch does not exist
+     */
+    public int branchHash() { return partHash('s'); }
+
+    /**
+     * Validates ibans from file. (see IbanFileValidator.main())
+     * @param argv arguments
+     * @throws Exception if file can not be processed
+     */
+    public static void main(String[] argv) throws Exception {
+        IbanFileValidator.main(argv);
     }
 }
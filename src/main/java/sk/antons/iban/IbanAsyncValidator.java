@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Validates ibans asynchronously in micro batches on given executor, so
+ * calling thread (event loop) is not blocked. Results have same order as
+ * input.
+ * <pre>
+ * IbanAsyncValidator validator = IbanAsyncValidator.instance()
+ *     .executor(workers)
+ *     .batchSize(256);
+ * validator.validate(beneficiaries).thenAccept(results -&gt; ...);
+ * </pre>
+ * On Java 9+ IbanFlowProcessor provides same validation for
+ * java.util.concurrent.Flow pipelines.
+ * @author antons
+ */
+public class IbanAsyncValidator {
+
+    private Executor executor = ForkJoinPool.commonPool();
+    private int batchSize = 256;
+
+    protected IbanAsyncValidator() {}
+
+    /**
+     * New validator using common fork join pool.
+     * @return new instance
+     */
+    public static IbanAsyncValidator instance() { return new IbanAsyncValidator(); }
+
+    /**
+     * Executor used for validation of micro batches. (default is common
+     * fork join pool)
+     * @param value executor
+     * @return this
+     */
+    public IbanAsyncValidator executor(Executor value) {
+        if(value == null) throw new IllegalArgumentException("executor is null");
+        this.executor = value;
+        return this;
+    }
+    /**
+     * Maximal number of ibans validated by one executor task. (default 256)
+     * @param value batch size
+     * @return this
+     */
+    public IbanAsyncValidator batchSize(int value) { this.batchSize = Math.max(1, value); return this; }
+
+    /**
+     * Validates given ibans.
+     * @param ibans ibans to be validated
+     * @return future with results in input order
+     */
+    public CompletableFuture<List<IbanResult>> validate(CharSequence[] ibans) {
+        if(ibans == null) return CompletableFuture.completedFuture(Collections.<IbanResult>emptyList());
+        return validate(Arrays.asList(ibans));
+    }
+
+    /**
+     * Validates given ibans. List must not be modified until returned
+     * future is completed.
+     * @param ibans ibans to be validated
+     * @return future with results in input order
+     */
+    public CompletableFuture<List<IbanResult>> validate(List<? extends CharSequence> ibans) {
+        if((ibans == null) || ibans.isEmpty()) return CompletableFuture.completedFuture(Collections.<IbanResult>emptyList());
+        int size = ibans.size();
+        IbanResult[] results = new IbanResult[size];
+        List<CompletableFuture<Void>> batches = new ArrayList<>(size / batchSize + 1);
+        for(int from = 0; from < size; from += batchSize) {
+            int start = from;
+            int end = Math.min(size, from + batchSize);
+            batches.add(CompletableFuture.runAsync(() -> validate(ibans, start, end, results), executor));
+        }
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]))
+            .thenApply(v -> Collections.unmodifiableList(Arrays.asList(results)));
+    }
+
+    /**
+     * Validates one iban on executor.
+     * @param iban iban to be validated
+     * @return future with result
+     */
+    public CompletableFuture<IbanResult> validate(CharSequence iban) {
+        return CompletableFuture.supplyAsync(() -> IbanResult.of(iban), executor);
+    }
+
+    /**
+     * Validates one micro batch into given result positions.
+     */
+    static void validate(List<? extends CharSequence> ibans, int from, int to, IbanResult[] results) {
+        for(int i = from; i < to; i++) results[i] = IbanResult.of(ibans.get(i));
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Validates many ibans at once. Validation is same as Iban.instance()
+ * followed by lengthCheck(), formatCheck() and ibanCheck() but no Iban
+ * instances, strings or exceptions are created for individual ibans.
+ * (Iban of known country which is too short for Iban.instance() is
+ * reported as BAD_LENGTH.)
+ * <pre>
+ * IbanBatchValidator.Result result = IbanBatchValidator.instance()
+ *     .parallel(true)
+ *     .validate(ibans);
+ * for(int i = result.valid().nextClearBit(0); i &lt; result.size(); i = result.valid().nextClearBit(i + 1)) {
+ *     System.out.println(ibans[i] + " " + result.reason(i));
+ * }
+ * </pre>
+ * @author antons
+ */
+public class IbanBatchValidator {
+
+    // reason codes are same as IbanStatus codes
+
+    /** Iban is valid. */
+    public static final byte OK = 0;
+    /** Country can not be identified from first two characters. */
+    public static final byte UNKNOWN_COUNTRY = 1;
+    /** Length differs from length defined for country. */
+    public static final byte BAD_LENGTH = 2;
+    /** Iban does not match format defined for country. */
+    public static final byte BAD_FORMAT = 3;
+    /** Iban checksum digits are not correct. */
+    public static final byte BAD_CHECKSUM = 4;
+
+    private boolean parallel = false;
+    private ForkJoinPool pool;
+    private int batchSize = 4096;
+
+    protected IbanBatchValidator() {}
+
+    /**
+     * Create new validator with sequential processing.
+     * @return new instance
+     */
+    public static IbanBatchValidator instance() { return new IbanBatchValidator(); }
+
+    /**
+     * Input is split to chunks validated in fork join pool.
+     * @param value true for parallel validation
+     * @return this
+     */
+    public IbanBatchValidator parallel(boolean value) { this.parallel = value; return this; }
+    /**
+     * Pool used for parallel validation. (common pool is used if not specified)
+     * @param value pool
+     * @return this
+     */
+    public IbanBatchValidator pool(ForkJoinPool value) { this.pool = value; return this; }
+    /**
+     * Minimal number of ibans validated by one parallel task.
+     * @param value chunk size
+     * @return this
+     */
+    public IbanBatchValidator batchSize(int value) { this.batchSize = Math.max(1, value); return this; }
+
+    /**
+     * Validates given ibans.
+     * @param ibans ibans to be validated (null items are invalid)
+     * @return validation result with same indexes as input
+     */
+    public Result validate(CharSequence[] ibans) {
+        return validate(new Input() {
+            @Override public int size() { return ibans.length; }
+            @Override public CharSequence get(int index) { return ibans[index]; }
+        });
+    }
+
+    /**
+     * Validates given ibans.
+     * @param ibans ibans to be validated (null items are invalid)
+     * @return validation result with same indexes as input
+     */
+    public Result validate(List<? extends CharSequence> ibans) {
+        return validate(new Input() {
+            @Override public int size() { return ibans.size(); }
+            @Override public CharSequence get(int index) { return ibans.get(index); }
+        });
+    }
+
+    /**
+     * Validates given ibans. Stream is consumed to array first.
+     * @param ibans ibans to be validated (null items are invalid)
+     * @return validation result with same indexes as stream encounter order
+     */
+    public Result validate(Stream<? extends CharSequence> ibans) {
+        return validate(ibans.toArray(CharSequence[]::new));
+    }
+
+    private Result validate(Input input) {
+        int size = input.size();
+        byte[] reasons = new byte[size];
+        if(parallel && (size > batchSize)) {
+            ForkJoinPool p = pool == null ? ForkJoinPool.commonPool() : pool;
+            p.invoke(new Task(input, reasons, 0, size, batchSize));
+        } else {
+            validate(input, reasons, 0, size);
+        }
+        BitSet valid = new BitSet(size);
+        for(int i = 0; i < size; i++) {
+            if(reasons[i] == OK) valid.set(i);
+        }
+        return new Result(valid, reasons);
+    }
+
+    private static void validate(Input input, byte[] reasons, int from, int to) {
+        for(int i = from; i < to; i++) {
+            reasons[i] = Iban.validate(input.get(i)).code();
+        }
+    }
+
+    private interface Input {
+        int size();
+        CharSequence get(int index);
+    }
+
+    private static class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        Input input;
+        byte[] reasons;
+        int from;
+        int to;
+        int batchSize;
+
+        Task(Input input, byte[] reasons, int from, int to, int batchSize) {
+            this.input = input;
+            this.reasons = reasons;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= batchSize) {
+                validate(input, reasons, from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Task(input, reasons, from, middle, batchSize)
+                    , new Task(input, reasons, middle, to, batchSize));
+            }
+        }
+    }
+
+    /**
+     * Result of batch validation.
+     */
+    public static class Result {
+        BitSet valid;
+        byte[] reasons;
+
+        Result(BitSet valid, byte[] reasons) {
+            this.valid = valid;
+            this.reasons = reasons;
+        }
+
+        /**
+         * Number of validated ibans.
+         * @return size
+         */
+        public int size() { return reasons.length; }
+        /**
+         * Set of indexes of valid ibans.
+         * @return valid ibans
+         */
+        public BitSet valid() { return valid; }
+        /**
+         * Number of valid ibans.
+         * @return valid count
+         */
+        public int validCount() { return valid.cardinality(); }
+        /**
+         * Check if iban with given index is valid.
+         * @param index iban index
+         * @return true if valid
+         */
+        public boolean valid(int index) { return valid.get(index); }
+        /**
+         * Reason code for iban with given index. (OK, UNKNOWN_COUNTRY,
+         * BAD_LENGTH, BAD_FORMAT or BAD_CHECKSUM)
+         * @param index iban index
+         * @return reason code
+         */
+        public byte reason(int index) { return reasons[index]; }
+        /**
+         * Status for iban with given index.
+         * @param index iban index
+         * @return status
+         */
+        public IbanStatus status(int index) { return IbanStatus.of(reasons[index]); }
+
+        @Override
+        public String toString() {
+            return "Result{" + "size=" + size() + ", valid=" + validCount() + '}';
+        }
+
+    }
+
+}
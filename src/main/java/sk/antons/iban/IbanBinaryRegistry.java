@@ -0,0 +1,285 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Binary form of iban configs. Besides configs it contains precompiled
+ * data (allowed character classes per position and resolver offsets per
+ * pattern letter), so configs can be loaded from one read or memory
+ * mapped file without evaluating check predicates and without
+ * initialization of IbanConfigRepository.
+ *
+ * <p>
+ * Layout (all numbers are unsigned bytes if not stated otherwise)
+ * <pre>
+ * int magic "IBRG", short version, short count
+ * count times:
+ *   id[2] length pattern[length] masks[length]
+ *   checkCount (type start end)[checkCount]     type: 0 - digits, 1 - capitals, 2 - letters
+ *   resolverCount (char start end)[resolverCount]  start = end = 255 for non continuous letters
+ * </pre>
+ *
+ * Binary file is generated during build from built in configs as class
+ * path resource {@value #RESOURCE}. It can be also generated from command
+ * line using registry text notation (see IbanRegistry)
+ * <pre>
+ * java -cp iban-parser.jar sk.antons.iban.IbanBinaryRegistry [registry.txt] registry.bin
+ * </pre>
+ * @author antons
+ */
+public class IbanBinaryRegistry {
+
+    /**
+     * Class path resource with built in configs.
+     */
+    public static final String RESOURCE = "sk/antons/iban/iban-registry.bin";
+
+    private static final int MAGIC = ('I' << 24) | ('B' << 16) | ('R' << 8) | 'G';
+    private static final int VERSION = 1;
+    private static final int NOT_CONTINUOUS = 0xff;
+
+    /**
+     * Writes configs in binary form.
+     * @param configs written configs
+     * @param os output (not closed)
+     * @throws IOException if output fails
+     */
+    public static void write(Collection<IbanConfig> configs, OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(configs.size());
+        for(IbanConfig config : configs) {
+            String id = config.id();
+            int length = config.length();
+            String pattern = config.pattern();
+            if(IbanConfig.index(id) < 0) throw new IllegalArgumentException("bad country code " + id);
+            if((length < 2) || (length > 250)) throw new IllegalArgumentException("bad length " + length + " of " + id);
+            if((pattern == null) || (pattern.length() != length)) throw new IllegalArgumentException("pattern of " + id + " does not have length " + length);
+            out.write(id.charAt(0));
+            out.write(id.charAt(1));
+            out.write(length);
+            for(int i = 0; i < length; i++) {
+                char c = pattern.charAt(i);
+                if(c >= 128) throw new IllegalArgumentException("pattern of " + id + " is not ascii");
+                out.write(c);
+            }
+            out.write(config.compile().masks());
+
+            List<IbanSubstringCheck> checks = config.substringChecks();
+            int checkCount = checks == null ? 0 : checks.size();
+            out.write(checkCount);
+            for(int i = 0; i < checkCount; i++) {
+                IbanSubstringCheck check = checks.get(i);
+                out.write(checkType(id, check));
+                out.write(check.startPos);
+                out.write(check.endPos);
+            }
+
+            StringBuilder letters = new StringBuilder();
+            for(int i = 0; i < length; i++) {
+                char c = pattern.charAt(i);
+                if(letters.indexOf(String.valueOf(c)) < 0) letters.append(c);
+            }
+            out.write(letters.length());
+            for(int i = 0; i < letters.length(); i++) {
+                char c = letters.charAt(i);
+                IbanSubstringResolver resolver = config.resolver(c);
+                out.write(c);
+                if(resolver instanceof IbanSubstringResolver.Substring) {
+                    IbanSubstringResolver.Substring substring = (IbanSubstringResolver.Substring)resolver;
+                    out.write(substring.startPos);
+                    out.write(substring.endPos);
+                } else {
+                    out.write(NOT_CONTINUOUS);
+                    out.write(NOT_CONTINUOUS);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes configs in binary form to given file.
+     * @param configs written configs
+     * @param file output file
+     * @throws IOException if output fails
+     */
+    public static void write(Collection<IbanConfig> configs, Path file) throws IOException {
+        try(OutputStream os = Files.newOutputStream(file)) {
+            write(configs, os);
+        }
+    }
+
+    /**
+     * Reads configs from binary form. Configs are frozen and have
+     * precompiled validators. Buffer position is moved after read data.
+     * @param buffer buffer with binary configs
+     * @return list of configs
+     * @throws IllegalArgumentException if buffer does not contain valid data
+     */
+    public static List<IbanConfig> read(ByteBuffer buffer) {
+        try {
+            if(buffer.getInt() != MAGIC) throw new IllegalArgumentException("not a binary iban registry");
+            int version = buffer.getShort() & 0xffff;
+            if(version != VERSION) throw new IllegalArgumentException("unsupported binary iban registry version " + version);
+            int count = buffer.getShort() & 0xffff;
+            List<IbanConfig> list = new ArrayList<>(count);
+            IbanSubstringResolver none = IbanSubstringResolver.None.instance();
+            byte[] ascii = new byte[256];
+            for(int n = 0; n < count; n++) {
+                char c1 = (char)(buffer.get() & 0xff);
+                char c2 = (char)(buffer.get() & 0xff);
+                if(IbanConfig.index(c1, c2) < 0) throw new IllegalArgumentException("bad country code at " + buffer.position());
+                int length = buffer.get() & 0xff;
+                buffer.get(ascii, 0, length);
+                String pattern = new String(ascii, 0, length, StandardCharsets.ISO_8859_1);
+                byte[] masks = new byte[length];
+                buffer.get(masks);
+                IbanConfig config = IbanConfig.instance(new String(new char[] {c1, c2})).length(length).pattern(pattern);
+
+                int checkCount = buffer.get() & 0xff;
+                for(int i = 0; i < checkCount; i++) {
+                    int type = buffer.get() & 0xff;
+                    int start = buffer.get() & 0xff;
+                    int end = buffer.get() & 0xff;
+                    if(type == 0) config.numeric(start, end);
+                    else if(type == 1) config.capitals(start, end);
+                    else if(type == 2) config.letters(start, end);
+                    else throw new IllegalArgumentException("bad check type " + type + " of " + config.id());
+                }
+
+                IbanSubstringResolver[] resolvers = new IbanSubstringResolver[128];
+                for(int i = 0; i < resolvers.length; i++) resolvers[i] = none;
+                int resolverCount = buffer.get() & 0xff;
+                for(int i = 0; i < resolverCount; i++) {
+                    char c = (char)(buffer.get() & 0x7f);
+                    int start = buffer.get() & 0xff;
+                    int end = buffer.get() & 0xff;
+                    resolvers[c] = start == NOT_CONTINUOUS
+                        ? IbanSubstringResolver.Pattern.instance(c, pattern)
+                        : IbanSubstringResolver.Substring.instance(start, end);
+                }
+
+                config.freeze();
+                config.precompiled(resolvers, masks);
+                list.add(config);
+            }
+            return list;
+        } catch(BufferUnderflowException e) {
+            throw new IllegalArgumentException("binary iban registry is truncated", e);
+        }
+    }
+
+    /**
+     * Reads configs from binary file. Small files are read at once,
+     * large ones are memory mapped.
+     * @param file binary file
+     * @return list of configs
+     * @throws IOException if file can not be read
+     */
+    public static List<IbanConfig> read(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if(size > 64 * 1024) return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            ByteBuffer buffer = ByteBuffer.allocate((int)size);
+            while(buffer.hasRemaining()) {
+                if(channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            return read(buffer);
+        }
+    }
+
+    /**
+     * Reads configs from binary stream. Stream is not closed.
+     * @param is binary stream
+     * @return list of configs
+     * @throws IOException if stream can not be read
+     */
+    public static List<IbanConfig> read(InputStream is) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 * 1024);
+        byte[] buff = new byte[8 * 1024];
+        int len;
+        while((len = is.read(buff)) > 0) bytes.write(buff, 0, len);
+        return read(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    /**
+     * Reads built in configs from class path resource {@value #RESOURCE}.
+     * @return list of configs or null if resource is not available
+     * @throws IOException if resource can not be read
+     */
+    public static List<IbanConfig> builtIn() throws IOException {
+        try(InputStream is = IbanBinaryRegistry.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if(is == null) return null;
+            return read(is);
+        }
+    }
+
+    private static int checkType(String id, IbanSubstringCheck check) {
+        if("0".equals(check.type)) return 0;
+        if("A".equals(check.type)) return 1;
+        if("Aa0".equals(check.type)) return 2;
+        throw new IllegalArgumentException("check " + check + " of " + id + " has unknown type");
+    }
+
+    /**
+     * Generates binary registry file.
+     * <pre>
+     * IbanBinaryRegistry [registry.txt] registry.bin
+     * </pre>
+     * Built in configs are used if text registry is not specified.
+     * @param argv arguments
+     * @throws IOException if files can not be read or written
+     */
+    public static void main(String[] argv) throws IOException {
+        if((argv.length < 1) || (argv.length > 2)) {
+            System.err.println("usage: IbanBinaryRegistry [registry.txt] registry.bin");
+            System.exit(2);
+            return;
+        }
+        List<IbanConfig> configs;
+        if(argv.length == 2) {
+            try(Reader reader = Files.newBufferedReader(Paths.get(argv[0]), StandardCharsets.UTF_8)) {
+                configs = IbanRegistry.read(reader);
+            }
+        } else {
+            configs = IbanConfigRepository.all();
+        }
+        Path out = Paths.get(argv[argv.length - 1]);
+        if(out.getParent() != null) Files.createDirectories(out.getParent());
+        write(configs, out);
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * Probabilistic set of ibans for screening against large block lists.
+ * Contains check can return false positive (with configured rate), but
+ * never false negative. Ibans are compared in canonical form (see
+ * IbanNormalizer, check digits are not recomputed) and check creates no
+ * objects.
+ * <p>
+ * Filter is blocked bloom filter. Bits of one iban are in one 512 bit
+ * block (one cache line), so each check reads one block only. Size and
+ * number of bits per iban are computed from expected size and false
+ * positive rate (about 10 bits per iban for 1%, so 10M ibans needs
+ * 12 MB). Filter can be written to file and memory mapped by other
+ * processes, so it can be shared between service replicas.
+ * <p>
+ * Filter can be checked from many threads. Adding is not thread safe.
+ * <pre>
+ * IbanBloomFilter filter = IbanBloomFilter.of(lines.stream(), 50_000_000L, 0.001);
+ * filter.write(Paths.get("blocklist.bloom"));
+ *
+ * IbanBloomFilter mapped = IbanBloomFilter.map(Paths.get("blocklist.bloom"));
+ * if(mapped.mightContain(iban)) checkExactly(iban);
+ * </pre>
+ * @author antons
+ */
+public class IbanBloomFilter {
+
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_WORDS = BLOCK_BITS / 64;
+    private static final long MAGIC = 0x314d4c424e414249L; // IBANBLM1
+    private static final int VERSION = 1;
+    private static final int HEADER = 32;
+    // header and data must fit into one mapped buffer (Integer.MAX_VALUE bytes)
+    private static final int MAX_BLOCKS = (Integer.MAX_VALUE - HEADER) / (BLOCK_BITS / 8);
+    private static final IbanNormalizer NORMALIZER = IbanNormalizer.instance();
+
+    private final LongBuffer data;
+    private final int blocks;
+    private final int hashes;
+    private final boolean readOnly;
+    private long size;
+
+    protected IbanBloomFilter(LongBuffer data, int blocks, int hashes, long size, boolean readOnly) {
+        this.data = data;
+        this.blocks = blocks;
+        this.hashes = hashes;
+        this.size = size;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Creates empty filter.
+     * @param expectedSize expected number of ibans
+     * @param falsePositiveRate rate of false positives when filter contains
+     * expected number of ibans (for example 0.01 for 1%)
+     * @return new filter
+     */
+    public static IbanBloomFilter instance(long expectedSize, double falsePositiveRate) {
+        if(expectedSize < 0) throw new IllegalArgumentException("wrong expected size " + expectedSize);
+        if(!((falsePositiveRate > 0) && (falsePositiveRate < 1))) throw new IllegalArgumentException("wrong false positive rate " + falsePositiveRate);
+        // smallest bits per iban with sufficient rate
+        double bits = 1;
+        int hashes = 1;
+        for(; bits < 64; bits += 0.1) {
+            hashes = hashes(bits, falsePositiveRate);
+            if(hashes > 0) break;
+        }
+        if(hashes <= 0) hashes = best(bits);
+        long blocks = Math.max(1, (long)Math.ceil(expectedSize * bits / BLOCK_BITS));
+        if(blocks > MAX_BLOCKS) throw new IllegalArgumentException("filter is too big for " + expectedSize + " ibans");
+        LongBuffer data = LongBuffer.wrap(new long[(int)blocks * BLOCK_WORDS]);
+        return new IbanBloomFilter(data, (int)blocks, hashes, 0, false);
+    }
+
+    /**
+     * Creates filter with all ibans from given stream. Ibans which can
+     * not be normalized are ignored.
+     * @param ibans added ibans
+     * @param expectedSize expected number of ibans
+     * @param falsePositiveRate rate of false positives
+     * @return new filter
+     */
+    public static IbanBloomFilter of(Stream<? extends CharSequence> ibans, long expectedSize, double falsePositiveRate) {
+        IbanBloomFilter filter = instance(expectedSize, falsePositiveRate);
+        ibans.forEachOrdered(iban -> filter.add(NORMALIZER.fingerprint(iban)));
+        return filter;
+    }
+
+    // number of hashes with given rate or 0 if rate can not be reached
+    private static int hashes(double bits, double falsePositiveRate) {
+        for(int k = 1; k <= 24; k++) {
+            if(falsePositiveRate(bits, k) <= falsePositiveRate) return k;
+        }
+        return 0;
+    }
+
+    private static int best(double bits) {
+        int best = 1;
+        for(int k = 2; k <= 24; k++) {
+            if(falsePositiveRate(bits, k) < falsePositiveRate(bits, best)) best = k;
+        }
+        return best;
+    }
+
+    /**
+     * False positive rate of blocked filter. Number of ibans in block has
+     * Poisson distribution, so rate of classic filter is averaged over
+     * block loads.
+     */
+    static double falsePositiveRate(double bitsPerIban, int hashes) {
+        double lambda = BLOCK_BITS / bitsPerIban;
+        int max = (int)(lambda + 10 * Math.sqrt(lambda) + 20);
+        double logP = -lambda;
+        double sum = 0;
+        for(int j = 0; j <= max; j++) {
+            if(j > 0) logP += Math.log(lambda) - Math.log(j);
+            double set = 1 - Math.pow(1 - 1.0 / BLOCK_BITS, (double)j * hashes);
+            sum += Math.exp(logP) * Math.pow(set, hashes);
+        }
+        return sum;
+    }
+
+    /**
+     * Number of added ibans. (Ibans which did not change filter are not
+     * counted, so duplicates are not counted.)
+     * @return size
+     */
+    public long size() { return size; }
+    /**
+     * Number of bits set for each iban.
+     * @return hashes
+     */
+    public int hashes() { return hashes; }
+    /**
+     * Size of filter data.
+     * @return size in bytes
+     */
+    public long memory() { return (long)blocks * BLOCK_BITS / 8; }
+    /**
+     * Expected false positive rate for current size.
+     * @return rate
+     */
+    public double falsePositiveRate() {
+        if(size == 0) return 0;
+        return falsePositiveRate((double)blocks * BLOCK_BITS / size, hashes);
+    }
+
+    /**
+     * Adds iban. Spaces and dashes are ignored.
+     * @param iban added iban
+     * @return true if filter changed (iban was not in filter)
+     * @throws IllegalArgumentException if iban can not be normalized
+     * @throws IllegalStateException if filter is memory mapped
+     */
+    public boolean add(CharSequence iban) {
+        long fingerprint = NORMALIZER.fingerprint(iban);
+        if(fingerprint == 0) throw new IllegalArgumentException("unable to normalize iban " + iban);
+        return add(fingerprint);
+    }
+
+    /**
+     * Adds iban.
+     * @param iban added iban
+     * @return true if filter changed (iban was not in filter)
+     */
+    public boolean add(Iban iban) {
+        if(iban == null) throw new IllegalArgumentException("iban is null");
+        return add(iban.iban());
+    }
+
+    private boolean add(long fingerprint) {
+        if(readOnly) throw new IllegalStateException("filter is read only");
+        if(fingerprint == 0) return false;
+        int base = block(fingerprint) * BLOCK_WORDS;
+        boolean changed = false;
+        long h = fingerprint;
+        for(int i = 0; i < hashes; i++) {
+            h *= 0x9e3779b97f4a7c15L;
+            int bit = (int)(h >>> 55);
+            int index = base + (bit >>> 6);
+            long word = data.get(index);
+            long value = word | (1L << bit);
+            if(value != word) {
+                data.put(index, value);
+                changed = true;
+            }
+        }
+        if(changed) size++;
+        return changed;
+    }
+
+    /**
+     * Checks if iban can be in filter. Spaces and dashes are ignored.
+     * @param iban checked iban
+     * @return false if iban is not in filter, true if iban is in filter
+     * or it is false positive
+     */
+    public boolean mightContain(CharSequence iban) {
+        return test(NORMALIZER.fingerprint(iban));
+    }
+
+    /**
+     * Checks if iban can be in filter.
+     * @param iban checked iban
+     * @return false if iban is not in filter
+     */
+    public boolean mightContain(Iban iban) {
+        if(iban == null) return false;
+        return test(NORMALIZER.fingerprint(iban.iban()));
+    }
+
+    /**
+     * Checks if iban stored in part of array can be in filter.
+     * @param iban checked iban
+     * @param offset start of iban
+     * @param length length of iban
+     * @return false if iban is not in filter
+     */
+    public boolean mightContain(char[] iban, int offset, int length) {
+        return test(NORMALIZER.fingerprint(iban, offset, length));
+    }
+
+    /**
+     * Checks if iban stored as ascii characters in part of array can be
+     * in filter.
+     * @param iban checked iban
+     * @param offset start of iban
+     * @param length length of iban
+     * @return false if iban is not in filter
+     */
+    public boolean mightContain(byte[] iban, int offset, int length) {
+        return test(NORMALIZER.fingerprint(iban, offset, length));
+    }
+
+    private boolean test(long fingerprint) {
+        if(fingerprint == 0) return false;
+        int base = block(fingerprint) * BLOCK_WORDS;
+        long h = fingerprint;
+        for(int i = 0; i < hashes; i++) {
+            h *= 0x9e3779b97f4a7c15L;
+            int bit = (int)(h >>> 55);
+            if((data.get(base + (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    // low half of fingerprint selects block, bits are taken from products
+    private int block(long fingerprint) {
+        return (int)(((fingerprint & 0xffffffffL) * blocks) >>> 32);
+    }
+
+    /**
+     * Writes filter to file. (32 bytes header and little endian data)
+     * @param file target file
+     * @throws IOException if file can not be written
+     */
+    public void write(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putLong(MAGIC).putInt(VERSION).putInt(hashes).putLong(blocks).putLong(size);
+            for(int i = 0, n = blocks * BLOCK_WORDS; i < n; i++) {
+                if(!buffer.hasRemaining()) write(channel, buffer);
+                buffer.putLong(data.get(i));
+            }
+            write(channel, buffer);
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Reads filter from file into heap.
+     * @param file file written by write()
+     * @return filter
+     * @throws IOException if file can not be read or it is not filter file
+     */
+    public static IbanBloomFilter read(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            read(channel, buffer, HEADER);
+            long[] header = header(buffer, channel.size());
+            long[] words = new long[(int)header[1] * BLOCK_WORDS];
+            for(int i = 0; i < words.length; i++) {
+                if(!buffer.hasRemaining()) read(channel, buffer, (int)Math.min(buffer.capacity(), (words.length - i) * 8L));
+                words[i] = buffer.getLong();
+            }
+            return new IbanBloomFilter(LongBuffer.wrap(words), (int)header[1], (int)header[0], header[2], false);
+        }
+    }
+
+    // reads exactly given number of bytes
+    private static void read(FileChannel channel, ByteBuffer buffer, int length) throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer) < 0) throw new IOException("unexpected end of filter file");
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Memory maps filter file. Mapped filter is read only and its data
+     * are shared with other processes mapping same file.
+     * @param file file written by write()
+     * @return read only filter
+     * @throws IOException if file can not be mapped or it is not filter file
+     */
+    public static IbanBloomFilter map(Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            long[] header = header(buffer, channel.size());
+            LongBuffer data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            return new IbanBloomFilter(data, (int)header[1], (int)header[0], header[2], true);
+        }
+    }
+
+    // hashes, blocks and size from header (buffer position is moved after header)
+    private static long[] header(ByteBuffer buffer, long fileSize) throws IOException {
+        if((fileSize < HEADER) || (buffer.getLong() != MAGIC)) throw new IOException("not an iban filter file");
+        int version = buffer.getInt();
+        if(version != VERSION) throw new IOException("unsupported filter version " + version);
+        int hashes = buffer.getInt();
+        long blocks = buffer.getLong();
+        long size = buffer.getLong();
+        if((hashes < 1) || (hashes > 24) || (blocks < 1) || (blocks > MAX_BLOCKS) || (size < 0)) throw new IOException("corrupted filter file");
+        if(fileSize != HEADER + blocks * BLOCK_BITS / 8) throw new IOException("wrong size of filter file " + fileSize);
+        return new long[] {hashes, blocks, size};
+    }
+
+    @Override
+    public String toString() {
+        return "IbanBloomFilter{" + "size=" + size + ", memory=" + memory() + ", hashes=" + hashes + '}';
+    }
+}
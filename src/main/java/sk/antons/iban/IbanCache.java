@@ -0,0 +1,353 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional bounded cache of parsed and validated ibans. It is useful if
+ * same ibans are processed repeatedly. Cache is divided to stripes with
+ * own lock and least recently used eviction. Entries can expire also after
+ * given time from creation. Iban class itself does not use the cache.
+ * <pre>
+ * IbanCache cache = IbanCache.instance()
+ *     .maxSize(10_000)
+ *     .expireAfterWrite(1, TimeUnit.HOURS);
+ * IbanStatus status = cache.validate(value); // same as Iban.validate(value)
+ * Iban iban = cache.iban(value);             // same as Iban.instance(value)
+ * </pre>
+ * @author antons
+ */
+public class IbanCache {
+
+    private int maxSize = 10_000;
+    private long expireNanos = 0;
+    private int stripeCount = 16;
+    private volatile Stripe[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    protected IbanCache() {}
+
+    /**
+     * Creates new cache with max size 10000, 16 stripes and no time expiration.
+     * @return new cache
+     */
+    public static IbanCache instance() { return new IbanCache(); }
+
+    /**
+     * Maximal number of cached ibans. Changing of configuration clears cache.
+     * @param value max size
+     * @return this
+     */
+    public IbanCache maxSize(int value) {
+        if(value < 1) throw new IllegalArgumentException("max size must be positive");
+        this.maxSize = value;
+        this.stripes = null;
+        return this;
+    }
+    /**
+     * Entries expire after given time from creation. Zero means no
+     * expiration. Changing of configuration clears cache.
+     * @param duration duration
+     * @param unit time unit of duration
+     * @return this
+     */
+    public IbanCache expireAfterWrite(long duration, TimeUnit unit) {
+        if(duration < 0) throw new IllegalArgumentException("duration must not be negative");
+        this.expireNanos = unit.toNanos(duration);
+        this.stripes = null;
+        return this;
+    }
+    /**
+     * Number of independently locked parts of cache. It is rounded up to
+     * power of two. Changing of configuration clears cache.
+     * @param value number of stripes
+     * @return this
+     */
+    public IbanCache stripes(int value) {
+        if(value < 1) throw new IllegalArgumentException("stripe count must be positive");
+        int count = 1;
+        while(count < value) count <<= 1;
+        this.stripeCount = count;
+        this.stripes = null;
+        return this;
+    }
+
+    /**
+     * Cached result for given iban.
+     * @param iban iban
+     * @return cached result
+     */
+    public Result get(String iban) {
+        if(iban == null) return Result.NULL;
+        Stripe[] s = stripes();
+        Stripe stripe = s[spread(iban.hashCode()) & (s.length - 1)];
+        Result result = stripe.get(iban);
+        if(result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        // computed out of lock, concurrent misses of same iban may compute it twice
+        result = Result.of(iban, expireNanos == 0 ? 0 : System.nanoTime() + expireNanos);
+        stripe.put(iban, result);
+        return result;
+    }
+
+    /**
+     * Cached equivalent of Iban.validate(iban).
+     * @param iban validated iban
+     * @return validation status
+     */
+    public IbanStatus validate(CharSequence iban) {
+        if(iban == null) return IbanStatus.UNKNOWN_COUNTRY;
+        return get(iban.toString()).status();
+    }
+
+    /**
+     * Cached equivalent of Iban.instance(iban).
+     * @param iban iban
+     * @return iban instance
+     * @throws IllegalArgumentException if iban can not be parsed
+     */
+    public Iban iban(String iban) {
+        Iban value = get(iban).iban();
+        if(value == null) return Iban.instance(iban);
+        return value;
+    }
+
+    /**
+     * Removes iban from cache.
+     * @param iban removed iban
+     */
+    public void invalidate(String iban) {
+        if(iban == null) return;
+        Stripe[] s = stripes();
+        s[spread(iban.hashCode()) & (s.length - 1)].remove(iban);
+    }
+
+    /**
+     * Removes all ibans from cache. Counters are not reset.
+     */
+    public void clear() {
+        for(Stripe stripe : stripes()) stripe.clear();
+    }
+
+    /**
+     * Number of cached ibans.
+     * @return size
+     */
+    public int size() {
+        int size = 0;
+        for(Stripe stripe : stripes()) size += stripe.size();
+        return size;
+    }
+
+    /**
+     * Number of requests served from cache.
+     * @return number of hits
+     */
+    public long hits() { return hits.sum(); }
+    /**
+     * Number of requests not found in cache.
+     * @return number of misses
+     */
+    public long misses() { return misses.sum(); }
+    /**
+     * Number of entries removed because of size or time limit.
+     * @return number of evictions
+     */
+    public long evictions() { return evictions.sum(); }
+
+    /**
+     * Stripes are created lazily (after configuration). Concurrent first
+     * calls may create more arrays but only one is published. (no monitor,
+     * so virtual threads are not pinned)
+     */
+    private Stripe[] stripes() {
+        Stripe[] s = stripes;
+        if(s == null) {
+            s = new Stripe[stripeCount];
+            // first stripes takes the remainder, so sum of stripe sizes is max size
+            int stripeSize = maxSize / stripeCount;
+            int remainder = maxSize % stripeCount;
+            for(int i = 0; i < s.length; i++) s[i] = new Stripe(Math.max(1, stripeSize + (i < remainder ? 1 : 0)));
+            if(!STRIPES.compareAndSet(this, null, s)) return stripes();
+        }
+        return s;
+    }
+
+    private static final AtomicReferenceFieldUpdater<IbanCache, Stripe[]> STRIPES
+        = AtomicReferenceFieldUpdater.newUpdater(IbanCache.class, Stripe[].class, "stripes");
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "IbanCache{" + "size=" + size() + ", hits=" + hits() + ", misses=" + misses() + ", evictions=" + evictions() + '}';
+    }
+
+    /**
+     * Part of cache with own lock.
+     */
+    private class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Result> map;
+
+        Stripe(int maxSize) {
+            this.map = new LinkedHashMap<String, Result>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+                    if(size() <= maxSize) return false;
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+
+        Result get(String iban) {
+            lock.lock();
+            try {
+                Result result = map.get(iban);
+                if((result != null) && result.expired()) {
+                    map.remove(iban);
+                    evictions.increment();
+                    return null;
+                }
+                return result;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String iban, Result result) {
+            lock.lock();
+            try {
+                map.put(iban, result);
+                if(expireNanos > 0) removeExpired();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // entries are in access order, so only head of map is checked
+        private void removeExpired() {
+            Iterator<Result> iter = map.values().iterator();
+            int checked = 0;
+            while(iter.hasNext() && (checked++ < 4)) {
+                if(!iter.next().expired()) continue;
+                iter.remove();
+                evictions.increment();
+            }
+        }
+
+        void remove(String iban) {
+            lock.lock();
+            try {
+                map.remove(iban);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                map.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Memoized result of parsing and validation of one iban.
+     */
+    public static final class Result {
+        static final Result NULL = new Result(null, IbanStatus.UNKNOWN_COUNTRY, 0);
+
+        private final Iban iban;
+        private final IbanStatus status;
+        private final long expires;
+
+        private Result(Iban iban, IbanStatus status, long expires) {
+            this.iban = iban;
+            this.status = status;
+            this.expires = expires;
+        }
+
+        static Result of(String value, long expires) {
+            IbanStatus status = Iban.validate(value);
+            Iban iban = null;
+            if(status != IbanStatus.UNKNOWN_COUNTRY) {
+                try {
+                    iban = Iban.instance(value);
+                } catch(IllegalArgumentException e) {
+                    // not parseable
+                }
+            }
+            return new Result(iban, status, expires);
+        }
+
+        boolean expired() {
+            return (expires != 0) && (System.nanoTime() - expires > 0);
+        }
+
+        /**
+         * Parsed iban.
+         * @return iban or null if it can not be parsed
+         */
+        public Iban iban() { return iban; }
+        /**
+         * Validation status.
+         * @return status
+         */
+        public IbanStatus status() { return status; }
+        /**
+         * True if iban is valid.
+         * @return true if status is OK
+         */
+        public boolean valid() { return status == IbanStatus.OK; }
+
+        @Override
+        public String toString() {
+            return "Result{" + "iban=" + iban + ", status=" + status + '}';
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package sk.antons.iban;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -27,6 +28,7 @@ public class IbanConfig {
     int length;
     String pattern;
     List<IbanSubstringCheck> substringChecks;
+    boolean frozen;
 
     protected IbanConfig(String countryCode) {
         this.id = countryCode;
@@ -49,13 +51,13 @@ public class IbanConfig {
      * @return length
      */
     public int length() { return length; }
-    public IbanConfig length(int value) { this.length = value; return this; }
+    public IbanConfig length(int value) { checkNotFrozen(); this.length = value; this.validator = null; return this; }
     /**
      * Pattern of iban. something like "SKkkbbbbppppppcccccccccc".
      * @return
      */
     public String pattern() { return pattern; }
-    public IbanConfig pattern(String value) { this.pattern = value; return this; }
+    public IbanConfig pattern(String value) { checkNotFrozen(); this.pattern = value; this.resolvers = null; return this; }
     public List<IbanSubstringCheck> substringChecks() { return substringChecks; }
     /**
      * Add new format check
@@ -64,8 +66,11 @@ public class IbanConfig {
      */
     public IbanConfig substringCheck(IbanSubstringCheck value) {
         if(value == null) return this;
+        checkNotFrozen();
         if(this.substringChecks == null) this.substringChecks = new ArrayList<>();
         this.substringChecks.add(value);
+        this.validator = null;
+        this.format = null;
         return this;
     }
     /**
@@ -96,36 +101,99 @@ public class IbanConfig {
         return substringCheck(IbanSubstringCheck.letters(startPos, endPos));
     }
 
+    /**
+     * Makes this config unmodifiable. All setters throws
+     * IllegalStateException after this call.
+     * @return this
+     */
+    public IbanConfig freeze() {
+        if(frozen) return this;
+        if(substringChecks != null) substringChecks = Collections.unmodifiableList(substringChecks);
+        frozen = true;
+        return this;
+    }
+    /**
+     * True if config is unmodifiable.
+     * @return true if frozen
+     */
+    public boolean frozen() { return frozen; }
 
-    private int cachedResolversSize = 0;
-    private char[] cachedResolverChars;
-    private IbanSubstringResolver[] cachedResolvers;
+    /**
+     * Creates modifiable copy of this config.
+     * @return new IbanConfig instance
+     */
+    public IbanConfig copy() {
+        IbanConfig config = new IbanConfig(id);
+        config.length = length;
+        config.pattern = pattern;
+        if(substringChecks != null) config.substringChecks = new ArrayList<>(substringChecks);
+        return config;
+    }
 
-    protected synchronized IbanSubstringResolver resolver(char c) {
-        if(cachedResolversSize == 0) {
-            cachedResolverChars = new char[30];
-            cachedResolvers = new IbanSubstringResolver[30];
-        }
-        if(cachedResolversSize == cachedResolvers.length) {
-            char[] newcachedResolverChars = new char[cachedResolversSize + 30];
-            IbanSubstringResolver[] newcachedResolvers = new IbanSubstringResolver[cachedResolversSize + 30];
-            System.arraycopy(cachedResolverChars, 0, newcachedResolverChars, 0, cachedResolversSize);
-            System.arraycopy(cachedResolvers, 0, newcachedResolvers, 0, cachedResolversSize);
-            cachedResolverChars = newcachedResolverChars;
-            cachedResolvers = newcachedResolvers;
-        }
+    /**
+     * Index of country code in lookup tables. Country code must be in
+     * capital letters.
+     * @return index in range 0-675 or -1 if characters are not capital letters
+     */
+    static int index(char c1, char c2) {
+        int i1 = c1 - 'A';
+        int i2 = c2 - 'A';
+        if(((i1 | i2) & ~31) != 0) return -1;
+        if((i1 >= 26) || (i2 >= 26)) return -1;
+        return i1 * 26 + i2;
+    }
+
+    static int index(String id) {
+        if((id == null) || (id.length() != 2)) return -1;
+        return index(id.charAt(0), id.charAt(1));
+    }
+
+    private void checkNotFrozen() {
+        if(frozen) throw new IllegalStateException("config " + id + " is frozen");
+    }
+
+
+    private volatile IbanSubstringResolver[] resolvers;
 
-        int pos = -1;
-        for(int i = 0; i < cachedResolversSize; i++) {
-            if(cachedResolverChars[i] == c) return cachedResolvers[i];
+    /**
+     * Resolver for pattern part defined by given character. Resolvers for
+     * all ascii characters are computed at first call and published as
+     * immutable table so lookup is lock free.
+     * @param c pattern character
+     * @return resolver (never null)
+     */
+    protected IbanSubstringResolver resolver(char c) {
+        IbanSubstringResolver[] table = resolvers;
+        if(table == null) {
+            table = resolverTable();
+            resolvers = table;
         }
+        if(c < table.length) return table[c];
+        return resolveResolver(c);
+    }
 
-        IbanSubstringResolver r = resolveResolver(c);
-        cachedResolverChars[cachedResolversSize] = c;
-        cachedResolvers[cachedResolversSize] = r;
-        cachedResolversSize++;
+    // class masks loaded from binary registry (see CompiledIbanValidator)
+    private byte[] masks;
 
-        return r;
+    /**
+     * Installs precomputed resolver table and validator class masks. (for
+     * binary registry)
+     */
+    void precompiled(IbanSubstringResolver[] resolvers, byte[] masks) {
+        this.resolvers = resolvers;
+        this.masks = masks;
+    }
+
+    private IbanSubstringResolver[] resolverTable() {
+        IbanSubstringResolver[] table = new IbanSubstringResolver[128];
+        IbanSubstringResolver none = IbanSubstringResolver.None.instance();
+        for(int i = 0; i < table.length; i++) table[i] = none;
+        int len = pattern.length();
+        for(int i = 0; i < len; i++) {
+            char c = pattern.charAt(i);
+            if((c < table.length) && (table[c] == none)) table[c] = resolveResolver(c);
+        }
+        return table;
     }
 
     private IbanSubstringResolver resolveResolver(char c) {
@@ -165,22 +233,62 @@ public class IbanConfig {
     }
 
 
+    private volatile CompiledIbanValidator validator;
+
+    /**
+     * Validator compiled from this config. It is created at first call
+     * and reused until config is changed.
+     * @return validator
+     */
+    public CompiledIbanValidator compile() {
+        CompiledIbanValidator v = validator;
+        if(v == null) {
+            v = new CompiledIbanValidator(this, masks);
+            validator = v;
+        }
+        return v;
+    }
+
     protected boolean formatCheck(String iban) {
+        return formatCheck((CharSequence)iban);
+    }
+
+    protected boolean formatCheck(CharSequence iban) {
         if(substringChecks == null) return true;
-        for(IbanSubstringCheck substringCheck : substringChecks) {
-            if(!substringCheck.validate(iban)) return false;
-        }
-        return true;
+        return compile().formatCheck(iban);
     }
 
+    private volatile String format;
+
+    /**
+     * Description of format checks like "0[4-8],Aa0[8-24]". It is
+     * created at first call and reused until checks are changed.
+     * @return format or null if there is no check
+     */
     protected String format() {
         if(substringChecks == null) return null;
-        StringBuilder sb = new StringBuilder();
-        for(IbanSubstringCheck substringCheck : substringChecks) {
-            if(sb.length() > 0) sb.append(",");
-            sb.append(substringCheck);
+        String value = format;
+        if(value == null) {
+            value = format(new StringBuilder(substringChecks.size() * 12)).toString();
+            format = value;
+        }
+        return value;
+    }
+
+    /**
+     * Appends description of format checks to given builder.
+     * @param sb target builder
+     * @return given builder
+     */
+    protected StringBuilder format(StringBuilder sb) {
+        if(substringChecks == null) return sb;
+        boolean first = true;
+        for(IbanSubstringCheck check : substringChecks) {
+            if(!first) sb.append(',');
+            first = false;
+            sb.append(check.type).append('[').append(check.startPos).append('-').append(check.endPos).append(']');
         }
-        return sb.toString();
+        return sb;
     }
 
 }
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removes duplicates from data sets of ibans which does not fit into
+ * memory. Ibans are normalized (see IbanNormalizer) and stored as records
+ * (fingerprint and PackedIban words) in memory. When given number of
+ * records is reached, they are sorted and written to temporary file.
+ * finish() merges sorted files and reports each canonical iban once.
+ * <p>
+ * Records are ordered by fingerprint, but whole packed iban is compared,
+ * so result is exact even if two ibans has same fingerprint. Memory usage
+ * is 32 bytes per record in one run and disk usage is 32 bytes per unique
+ * iban in one run. Deduplicator is not thread safe.
+ * <pre>
+ * try(IbanDeduplicator dedup = IbanDeduplicator.instance()
+ *         .normalizer(IbanNormalizer.instance().fixCheckDigits(true))
+ *         .runSize(4_000_000)) {
+ *     for(String iban : ibans) dedup.add(iban);
+ *     dedup.finish((fingerprint, iban, length) -&gt; out.append(new String(iban, 0, length)));
+ * }
+ * </pre>
+ * @author antons
+ */
+public class IbanDeduplicator implements Closeable {
+
+    private static final int R = 1 + PackedIban.WORDS;
+
+    private IbanNormalizer normalizer = IbanNormalizer.instance();
+    private int runSize = 1 << 21;
+    private Path directory = null;
+    private int bufferSize = 64 * 1024;
+
+    private long[] records = new long[1024 * R];
+    private int count;
+    private final List<Path> runs = new ArrayList<>();
+    private long added;
+    private long rejected;
+    private long unique;
+    private long collisions;
+    private final char[] chars = new char[IbanNormalizer.MAX_LENGTH];
+    private final CharBuffer view = CharBuffer.wrap(chars);
+    private final long[] pivot = new long[R];
+
+    protected IbanDeduplicator() {}
+
+    /**
+     * Creates deduplicator with default normalizer, 2M records per run
+     * and runs stored in default temporary directory.
+     * @return new instance
+     */
+    public static IbanDeduplicator instance() { return new IbanDeduplicator(); }
+
+    /**
+     * Normalizer used for canonical form and fingerprint of iban.
+     * @param value normalizer
+     * @return this
+     */
+    public IbanDeduplicator normalizer(IbanNormalizer value) {
+        if(value == null) throw new IllegalArgumentException("normalizer is null");
+        this.normalizer = value;
+        return this;
+    }
+    /**
+     * Max number of records kept in memory. (32 bytes per record)
+     * @param value number of records
+     * @return this
+     */
+    public IbanDeduplicator runSize(int value) {
+        if((value < 1) || (value > Integer.MAX_VALUE / R)) throw new IllegalArgumentException("wrong run size " + value);
+        this.runSize = value;
+        return this;
+    }
+    /**
+     * Directory for temporary files. (default is system temporary directory)
+     * @param value directory
+     * @return this
+     */
+    public IbanDeduplicator directory(Path value) { this.directory = value; return this; }
+    /**
+     * Size of buffer used for reading and writing of one temporary file.
+     * @param value size in bytes
+     * @return this
+     */
+    public IbanDeduplicator bufferSize(int value) { this.bufferSize = Math.max(R * 8, value / (R * 8) * (R * 8)); return this; }
+
+    /**
+     * Number of added ibans (including rejected ones).
+     * @return count
+     */
+    public long added() { return added; }
+    /**
+     * Number of ibans which can not be normalized. They are not reported.
+     * @return count
+     */
+    public long rejected() { return rejected; }
+    /**
+     * Number of unique ibans reported by last finish().
+     * @return count
+     */
+    public long unique() { return unique; }
+    /**
+     * Number of unique ibans with same fingerprint as other iban found by
+     * last finish(). (expected to be 0)
+     * @return count
+     */
+    public long collisions() { return collisions; }
+    /**
+     * Number of temporary files written so far.
+     * @return count
+     */
+    public int runs() { return runs.size(); }
+
+    /**
+     * Receives unique ibans.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called once for each unique iban.
+         * @param fingerprint fingerprint of iban
+         * @param iban canonical iban (array is reused for next ibans)
+         * @param length length of iban
+         */
+        void unique(long fingerprint, char[] iban, int length);
+    }
+
+    /**
+     * Adds iban. Sorted run is written to temporary file if run is full.
+     * @param iban added iban
+     * @return false if iban can not be normalized
+     * @throws IOException if temporary file can not be written
+     */
+    public boolean add(CharSequence iban) throws IOException {
+        added++;
+        int length = normalizer.normalize(iban, chars, 0);
+        if(length < 0) {
+            rejected++;
+            return false;
+        }
+        view.clear();
+        view.limit(length);
+        if(count >= runSize) spill();
+        int offset = count * R;
+        if(offset == records.length) {
+            long[] bigger = new long[(int)Math.min((long)runSize * R, (long)records.length * 2)];
+            System.arraycopy(records, 0, bigger, 0, records.length);
+            records = bigger;
+        }
+        if(!PackedIban.pack(view, records, offset + 1)) {
+            rejected++;
+            return false;
+        }
+        records[offset] = normalizer.fingerprint(chars, 0, length);
+        count++;
+        return true;
+    }
+
+    /**
+     * Reports all unique ibans ordered by fingerprint and removes them
+     * together with temporary files, so deduplicator can be used again.
+     * @param listener receiver of unique ibans
+     * @return number of unique ibans
+     * @throws IOException if temporary files can not be read or written
+     */
+    public long finish(Listener listener) throws IOException {
+        unique = 0;
+        collisions = 0;
+        try {
+            sort(0, count);
+            if(runs.isEmpty()) {
+                Emitter emitter = new Emitter(listener);
+                for(int i = 0; i < count; i++) emitter.emit(records, i * R);
+            } else {
+                if(count > 0) spill();
+                merge(listener);
+            }
+        } finally {
+            count = 0;
+            close();
+        }
+        return unique;
+    }
+
+    /**
+     * Deletes temporary files.
+     * @throws IOException if file can not be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        IOException error = null;
+        for(Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch(IOException e) {
+                error = e;
+            }
+        }
+        runs.clear();
+        if(error != null) throw error;
+    }
+
+    private void spill() throws IOException {
+        sort(0, count);
+        Path run = directory == null
+            ? Files.createTempFile("iban-dedup-", ".run")
+            : Files.createTempFile(directory, "iban-dedup-", ".run");
+        runs.add(run);
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        try(FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            for(int i = 0; i < count; i++) {
+                int offset = i * R;
+                // duplicates are removed already in run
+                if((i > 0) && (compare(records, offset, records, offset - R) == 0)) continue;
+                if(!buffer.hasRemaining()) write(channel, buffer);
+                for(int j = 0; j < R; j++) buffer.putLong(records[offset + j]);
+            }
+            write(channel, buffer);
+        }
+        count = 0;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void merge(Listener listener) throws IOException {
+        Emitter emitter = new Emitter(listener);
+        Run[] heap = new Run[runs.size()];
+        int size = 0;
+        try {
+            for(Path path : runs) {
+                Run run = new Run(path, bufferSize);
+                if(run.next()) heap[size++] = run;
+                else run.close();
+            }
+            for(int i = size / 2 - 1; i >= 0; i--) down(heap, size, i);
+            while(size > 0) {
+                Run top = heap[0];
+                emitter.emit(top.record, 0);
+                if(!top.next()) {
+                    top.close();
+                    heap[0] = heap[--size];
+                    heap[size] = null;
+                }
+                down(heap, size, 0);
+            }
+        } finally {
+            for(int i = 0; i < size; i++) heap[i].close();
+        }
+    }
+
+    private static void down(Run[] heap, int size, int i) {
+        Run run = heap[i];
+        while(true) {
+            int child = 2 * i + 1;
+            if(child >= size) break;
+            if((child + 1 < size) && (compare(heap[child + 1].record, 0, heap[child].record, 0) < 0)) child++;
+            if(compare(heap[child].record, 0, run.record, 0) >= 0) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = run;
+    }
+
+    /**
+     * Reports sorted records, equal records only once.
+     */
+    private class Emitter {
+        final Listener listener;
+        final long[] last = new long[R];
+        final char[][] buffers = new char[PackedIban.MAX_LENGTH + 1][];
+        boolean first = true;
+
+        Emitter(Listener listener) {
+            this.listener = listener;
+        }
+
+        void emit(long[] record, int offset) {
+            if(!first) {
+                if(compare(record, offset, last, 0) == 0) return;
+                if(record[offset] == last[0]) collisions++;
+            }
+            first = false;
+            System.arraycopy(record, offset, last, 0, R);
+            unique++;
+            if(listener == null) return;
+            int length = PackedIban.length(record[offset + 1]);
+            char[] chars = buffers[length];
+            if(chars == null) chars = buffers[length] = new char[length];
+            PackedIban.unpack(record[offset + 1], record[offset + 2], record[offset + 3], chars);
+            listener.unique(record[offset], chars, length);
+        }
+    }
+
+    /**
+     * Sequential reader of one temporary file.
+     */
+    private static class Run implements Closeable {
+        final FileChannel channel;
+        final ByteBuffer buffer;
+        final long[] record = new long[R];
+
+        Run(Path path, int bufferSize) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocate(bufferSize);
+            buffer.flip();
+        }
+
+        boolean next() throws IOException {
+            if(buffer.remaining() < R * 8) {
+                buffer.compact();
+                while(buffer.position() < R * 8) {
+                    if(channel.read(buffer) < 0) break;
+                }
+                buffer.flip();
+                if(buffer.remaining() < R * 8) return false;
+            }
+            for(int i = 0; i < R; i++) record[i] = buffer.getLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static int compare(long[] a, int i, long[] b, int j) {
+        for(int k = 0; k < R; k++) {
+            int c = Long.compare(a[i + k], b[j + k]);
+            if(c != 0) return c;
+        }
+        return 0;
+    }
+
+    // quicksort of records from (inclusive) to (exclusive)
+    private void sort(int from, int to) {
+        long[] a = records;
+        while(to - from > 16) {
+            int mid = (from + to - 1) >>> 1;
+            int lo = from * R;
+            int hi = (to - 1) * R;
+            int m = mid * R;
+            // median of three, so pivot is never last record
+            if(compare(a, m, a, lo) < 0) swap(a, m, lo);
+            if(compare(a, hi, a, m) < 0) {
+                swap(a, hi, m);
+                if(compare(a, m, a, lo) < 0) swap(a, m, lo);
+            }
+            System.arraycopy(a, m, pivot, 0, R);
+            int i = from - 1;
+            int j = to;
+            while(true) {
+                do i++; while(compare(a, i * R, pivot, 0) < 0);
+                do j--; while(compare(a, j * R, pivot, 0) > 0);
+                if(i >= j) break;
+                swap(a, i * R, j * R);
+            }
+            // smaller part recursively, so stack depth is logarithmic
+            if(j + 1 - from < to - j - 1) {
+                sort(from, j + 1);
+                from = j + 1;
+            } else {
+                sort(j + 1, to);
+                to = j + 1;
+            }
+        }
+        for(int i = from + 1; i < to; i++) {
+            for(int j = i; (j > from) && (compare(a, j * R, a, (j - 1) * R) < 0); j--) {
+                swap(a, j * R, (j - 1) * R);
+            }
+        }
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        for(int k = 0; k < R; k++) {
+            long v = a[i + k];
+            a[i + k] = a[j + k];
+            a[j + k] = v;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Validates ibans stored in line delimited or CSV file. Ibans are validated
+ * directly in read (or memory mapped) bytes, so memory usage does not
+ * depend on file size. Failing lines are written to report as
+ * "line;status" lines (or "line;MISSING_COLUMN" if line has not enough
+ * columns).
+ * <pre>
+ * IbanFileValidator.Summary summary = IbanFileValidator.instance()
+ *     .separator(';')
+ *     .column(3)
+ *     .header(true)
+ *     .validate(Paths.get("accounts.csv"), report);
+ * </pre>
+ * @author antons
+ */
+public class IbanFileValidator {
+
+    /**
+     * Reason reported for lines without iban column.
+     */
+    public static final String MISSING_COLUMN = "MISSING_COLUMN";
+
+    private char separator = ',';
+    private int column = 0;
+    private boolean header = false;
+    private long mapThreshold = 1024 * 1024;
+    private int mapWindow = 64 * 1024 * 1024;
+    private int bufferSize = 64 * 1024;
+    private int maxLineLength = 1024 * 1024;
+
+    protected IbanFileValidator() {}
+
+    /**
+     * Create new validator. By default first column of comma separated
+     * file without header is validated.
+     * @return new instance
+     */
+    public static IbanFileValidator instance() { return new IbanFileValidator(); }
+
+    /**
+     * Column separator.
+     * @param value separator
+     * @return this
+     */
+    public IbanFileValidator separator(char value) { this.separator = value; return this; }
+    /**
+     * Index of column with iban (starting from 0).
+     * @param value column index
+     * @return this
+     */
+    public IbanFileValidator column(int value) { this.column = value; return this; }
+    /**
+     * First line is header and it is not validated.
+     * @param value true if file has header
+     * @return this
+     */
+    public IbanFileValidator header(boolean value) { this.header = value; return this; }
+    /**
+     * Files bigger than this size are memory mapped.
+     * @param value size in bytes
+     * @return this
+     */
+    public IbanFileValidator mapThreshold(long value) { this.mapThreshold = value; return this; }
+    /**
+     * Size of one memory mapped part of file.
+     * @param value size in bytes
+     * @return this
+     */
+    public IbanFileValidator mapWindow(int value) { this.mapWindow = value; return this; }
+    /**
+     * Initial size of buffer used for reading not mapped data.
+     * @param value size in bytes
+     * @return this
+     */
+    public IbanFileValidator bufferSize(int value) { this.bufferSize = value; return this; }
+    /**
+     * Max length of one line. It limits memory used for reading.
+     * @param value length in bytes
+     * @return this
+     */
+    public IbanFileValidator maxLineLength(int value) { this.maxLineLength = value; return this; }
+
+    /**
+     * Validates ibans from given file.
+     * @param file validated file
+     * @param report where invalid lines are reported (can be null)
+     * @return summary
+     * @throws IOException if file can not be read or report written
+     */
+    public Summary validate(Path file, Appendable report) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if(channel.size() > mapThreshold) return validateMapped(channel, report);
+            return validate(channel, report);
+        }
+    }
+
+    /**
+     * Validates ibans from given channel. Channel is not closed.
+     * @param channel validated data
+     * @param report where invalid lines are reported (can be null)
+     * @return summary
+     * @throws IOException if channel can not be read or report written
+     */
+    public Summary validate(ReadableByteChannel channel, Appendable report) throws IOException {
+        Summary summary = new Summary();
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        boolean eof = false;
+        while(!eof) {
+            if(!buffer.hasRemaining()) {
+                if(buffer.capacity() >= maxLineLength) throw new IOException("line " + (summary.lines + 1) + " is longer than " + maxLineLength);
+                ByteBuffer bigger = ByteBuffer.allocate(Math.min(maxLineLength, buffer.capacity() * 2));
+                buffer.flip();
+                bigger.put(buffer);
+                buffer = bigger;
+            }
+            eof = channel.read(buffer) < 0;
+            buffer.flip();
+            byte[] bytes = buffer.array();
+            int end = buffer.limit();
+            int start = lines(null, bytes, 0, end, eof, summary, report);
+            buffer.position(start);
+            buffer.compact();
+        }
+        return summary;
+    }
+
+    private Summary validateMapped(FileChannel channel, Appendable report) throws IOException {
+        Summary summary = new Summary();
+        long size = channel.size();
+        long position = 0;
+        while(position < size) {
+            long windowSize = Math.min(mapWindow, size - position);
+            boolean last = position + windowSize == size;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            int processed = lines(window, null, 0, (int)windowSize, last, summary, report);
+            if(processed == 0) throw new IOException("line " + (summary.lines + 1) + " is longer than " + windowSize);
+            position += processed;
+        }
+        return summary;
+    }
+
+    /**
+     * Validates all complete lines in given bytes. Exactly one of buffer and
+     * bytes is not null.
+     * @param last true if there are no more data (last line can be
+     * without new line)
+     * @return position after last processed line
+     */
+    private int lines(ByteBuffer buffer, byte[] bytes, int start, int end, boolean last, Summary summary, Appendable report) throws IOException {
+        int lineStart = start;
+        for(int i = start; i < end; i++) {
+            if(byteAt(buffer, bytes, i) != '\n') continue;
+            line(buffer, bytes, lineStart, i, summary, report);
+            lineStart = i + 1;
+        }
+        if(last && (lineStart < end)) {
+            line(buffer, bytes, lineStart, end, summary, report);
+            lineStart = end;
+        }
+        return lineStart;
+    }
+
+    private void line(ByteBuffer buffer, byte[] bytes, int start, int end, Summary summary, Appendable report) throws IOException {
+        long line = ++summary.lines;
+        if((line == 1) && header) return;
+        if((end > start) && (byteAt(buffer, bytes, end - 1) == '\r')) end--;
+        if(end == start) return;
+
+        // locate column
+        int col = 0;
+        int fieldStart = start;
+        int fieldEnd = end;
+        boolean quoted = false;
+        for(int i = start; i < end; i++) {
+            int b = byteAt(buffer, bytes, i);
+            if(b == '"') {
+                quoted = !quoted;
+            } else if((b == separator) && !quoted) {
+                if(col == column) {
+                    fieldEnd = i;
+                    break;
+                }
+                col++;
+                fieldStart = i + 1;
+            }
+        }
+        if(col < column) {
+            // csv shape error, not an iban error
+            summary.missing++;
+            if(report != null) report.append(Long.toString(line)).append(';').append(MISSING_COLUMN).append('\n');
+            return;
+        }
+        while((fieldStart < fieldEnd) && isBlank(byteAt(buffer, bytes, fieldStart))) fieldStart++;
+        while((fieldStart < fieldEnd) && isBlank(byteAt(buffer, bytes, fieldEnd - 1))) fieldEnd--;
+        if((fieldEnd - fieldStart >= 2) && (byteAt(buffer, bytes, fieldStart) == '"') && (byteAt(buffer, bytes, fieldEnd - 1) == '"')) {
+            fieldStart++;
+            fieldEnd--;
+            while((fieldStart < fieldEnd) && isBlank(byteAt(buffer, bytes, fieldStart))) fieldStart++;
+            while((fieldStart < fieldEnd) && isBlank(byteAt(buffer, bytes, fieldEnd - 1))) fieldEnd--;
+        }
+        IbanStatus status = Iban.status(null, null, bytes, buffer, fieldStart, fieldEnd - fieldStart);
+        summary.counts[status.ordinal()]++;
+        if((status != IbanStatus.OK) && (report != null)) {
+            report.append(Long.toString(line)).append(';').append(status.name()).append('\n');
+        }
+    }
+
+    private static int byteAt(ByteBuffer buffer, byte[] bytes, int index) {
+        if(bytes != null) return bytes[index];
+        return buffer.get(index);
+    }
+
+    private static boolean isBlank(int b) {
+        return (b == ' ') || (b == '\t');
+    }
+
+    /**
+     * Result of file validation.
+     */
+    public static class Summary {
+        long lines;
+        long missing;
+        long[] counts = new long[IbanStatus.values().length];
+
+        /**
+         * Number of lines in file.
+         * @return lines
+         */
+        public long lines() { return lines; }
+        /**
+         * Number of ibans with given status.
+         * @param status status
+         * @return count
+         */
+        public long count(IbanStatus status) { return counts[status.ordinal()]; }
+        /**
+         * Number of lines without iban column. They are reported as
+         * MISSING_COLUMN and they are not validated.
+         * @return count
+         */
+        public long missing() { return missing; }
+        /**
+         * Number of validated ibans. (empty lines, lines without iban column
+         * and header are not validated)
+         * @return count
+         */
+        public long validated() {
+            long sum = 0;
+            for(long count : counts) sum += count;
+            return sum;
+        }
+        /**
+         * Number of invalid ibans.
+         * @return count
+         */
+        public long invalid() { return validated() - count(IbanStatus.OK); }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("lines: ").append(lines).append(", validated: ").append(validated());
+            for(IbanStatus status : IbanStatus.values()) {
+                sb.append(", ").append(status).append(": ").append(counts[status.ordinal()]);
+            }
+            sb.append(", ").append(MISSING_COLUMN).append(": ").append(missing);
+            return sb.toString();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("usage: IbanFileValidator [-s separator] [-c column] [-h] file [report]");
+        System.err.println("  -s separator  column separator (default ,)");
+        System.err.println("  -c column     index of column with iban starting from 0 (default 0)");
+        System.err.println("  -h            file has header line");
+        System.err.println("  report        file with invalid lines (default standard output)");
+    }
+
+    /**
+     * Command line validation of file.
+     * @param argv arguments (see usage)
+     * @throws Exception if file can not be processed
+     */
+    public static void main(String[] argv) throws Exception {
+        IbanFileValidator validator = IbanFileValidator.instance();
+        String input = null;
+        String output = null;
+        for(int i = 0; i < argv.length; i++) {
+            String arg = argv[i];
+            if("-s".equals(arg) && (i + 1 < argv.length)) {
+                String value = argv[++i];
+                validator.separator("\\t".equals(value) ? '\t' : value.charAt(0));
+            } else if("-c".equals(arg) && (i + 1 < argv.length)) {
+                validator.column(Integer.parseInt(argv[++i]));
+            } else if("-h".equals(arg)) {
+                validator.header(true);
+            } else if(input == null) {
+                input = arg;
+            } else if(output == null) {
+                output = arg;
+            } else {
+                usage();
+                System.exit(2);
+            }
+        }
+        if(input == null) {
+            usage();
+            System.exit(2);
+        }
+        Writer report = output == null
+            ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+            : Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8);
+        Summary summary;
+        try {
+            summary = validator.validate(Paths.get(input), report);
+        } finally {
+            if(output == null) report.flush();
+            else report.close();
+        }
+        System.err.println(summary);
+        if((summary.invalid() > 0) || (summary.missing() > 0)) System.exit(1);
+    }
+
+}
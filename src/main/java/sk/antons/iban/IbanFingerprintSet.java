@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of iban fingerprints (see IbanNormalizer) stored outside of java
+ * heap. Open addressing with linear probing is used and table is filled
+ * up to 75%, so memory is 11 - 21 bytes per fingerprint and set does
+ * not add garbage collection work. 200 millions of fingerprints needs
+ * 2 GB of direct memory (see -XX:MaxDirectMemorySize). Memory is released
+ * when set is garbage collected.
+ * <p>
+ * Set is not thread safe.
+ * <pre>
+ * IbanNormalizer normalizer = IbanNormalizer.instance().fixCheckDigits(true);
+ * IbanFingerprintSet set = IbanFingerprintSet.instance(200_000_000L);
+ * long fingerprint = normalizer.fingerprint(iban);
+ * if(fingerprint == 0) rejected++;              // not an iban
+ * else if(!set.add(fingerprint)) duplicates++;
+ * </pre>
+ * @author antons
+ */
+public class IbanFingerprintSet {
+
+    // one direct buffer has 2^27 longs (1 GB)
+    private static final int SEGMENT_BITS = 27;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+    private static final int MAX_BITS = 40;
+
+    private LongBuffer[] segments;
+    private int bits;
+    private long mask;
+    private long size;
+    private long threshold;
+
+    protected IbanFingerprintSet(long expectedSize) {
+        int bits = 4;
+        while((bits < MAX_BITS) && (expectedSize > threshold(1L << bits))) bits++;
+        init(bits);
+    }
+
+    /**
+     * Creates empty set.
+     * @return new set
+     */
+    public static IbanFingerprintSet instance() { return new IbanFingerprintSet(0); }
+    /**
+     * Creates empty set with capacity for given number of fingerprints.
+     * @param expectedSize expected number of fingerprints
+     * @return new set
+     */
+    public static IbanFingerprintSet instance(long expectedSize) { return new IbanFingerprintSet(expectedSize); }
+
+    private static long threshold(long capacity) {
+        return capacity / 4 * 3;
+    }
+
+    private void init(int bits) {
+        long capacity = 1L << bits;
+        int count = (int)((capacity + SEGMENT_MASK) >>> SEGMENT_BITS);
+        segments = new LongBuffer[count];
+        for(int i = 0; i < count; i++) {
+            int longs = (int)Math.min(capacity - ((long)i << SEGMENT_BITS), 1 << SEGMENT_BITS);
+            segments[i] = ByteBuffer.allocateDirect(longs * 8).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+        this.bits = bits;
+        mask = capacity - 1;
+        threshold = threshold(capacity);
+    }
+
+    /**
+     * Number of fingerprints in set.
+     * @return size
+     */
+    public long size() { return size; }
+    /**
+     * True if set is empty.
+     * @return true if there is no fingerprint
+     */
+    public boolean isEmpty() { return size == 0; }
+    /**
+     * Number of slots in table.
+     * @return capacity
+     */
+    public long capacity() { return mask + 1; }
+    /**
+     * Size of direct memory used by table.
+     * @return size in bytes
+     */
+    public long memory() { return capacity() * 8; }
+
+    /**
+     * Adds fingerprint to set. Fingerprint 0 (iban which can not be
+     * normalized) is ignored.
+     * @param fingerprint added fingerprint
+     * @return true if fingerprint was not in set before, false for
+     * duplicate and for 0
+     */
+    public boolean add(long fingerprint) {
+        if(fingerprint == 0) return false;
+        long slot = slot(fingerprint);
+        if(get(slot) != 0) return false;
+        if(size >= threshold) {
+            grow();
+            slot = slot(fingerprint);
+        }
+        set(slot, fingerprint);
+        size++;
+        return true;
+    }
+
+    /**
+     * Checks if fingerprint is in set.
+     * @param fingerprint checked fingerprint
+     * @return true if fingerprint is in set
+     */
+    public boolean contains(long fingerprint) {
+        if(fingerprint == 0) return false;
+        return get(slot(fingerprint)) != 0;
+    }
+
+    /**
+     * Removes all fingerprints.
+     */
+    public void clear() {
+        for(LongBuffer segment : segments) {
+            for(int i = 0, n = segment.capacity(); i < n; i++) segment.put(i, 0);
+        }
+        size = 0;
+    }
+
+    /**
+     * Calls consumer for each fingerprint in set. Order is not defined.
+     * @param consumer receiver of fingerprints
+     */
+    public void forEach(LongConsumer consumer) {
+        for(LongBuffer segment : segments) {
+            for(int i = 0, n = segment.capacity(); i < n; i++) {
+                long value = segment.get(i);
+                if(value != 0) consumer.accept(value);
+            }
+        }
+    }
+
+    private long get(long slot) {
+        return segments[(int)(slot >>> SEGMENT_BITS)].get((int)slot & SEGMENT_MASK);
+    }
+
+    private void set(long slot, long value) {
+        segments[(int)(slot >>> SEGMENT_BITS)].put((int)slot & SEGMENT_MASK, value);
+    }
+
+    // slot with given fingerprint or first empty slot
+    private long slot(long fingerprint) {
+        // multiplication spreads also values which are not well mixed
+        long slot = (fingerprint * 0x9e3779b97f4a7c15L) >>> (64 - bits);
+        while(true) {
+            long v = get(slot);
+            if((v == 0) || (v == fingerprint)) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        if(bits >= MAX_BITS) throw new IllegalStateException("set is full");
+        LongBuffer[] old = segments;
+        init(bits + 1);
+        for(LongBuffer segment : old) {
+            for(int i = 0, n = segment.capacity(); i < n; i++) {
+                long value = segment.get(i);
+                if(value != 0) set(slot(value), value);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IbanFingerprintSet{" + "size=" + size + ", capacity=" + capacity() + '}';
+    }
+}
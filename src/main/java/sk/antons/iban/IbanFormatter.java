@@ -0,0 +1,251 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.IOException;
+
+/**
+ * Writes iban in printable form directly to given output. Characters are
+ * grouped (4 characters separated by space by default) and optionally
+ * masked. Spaces in input are ignored. Formatter can be shared between
+ * threads once it is configured.
+ * <pre>
+ * IbanFormatter formatter = IbanFormatter.instance().mask(4, 4);
+ * formatter.format("SK8975000000000012345671", writer); // SK89 **** **** **** **** 5671
+ * </pre>
+ * @author antons
+ */
+public class IbanFormatter {
+
+    private int groupSize = 4;
+    private char separator = ' ';
+    private char maskChar = '*';
+    private int showFirst = -1;
+    private int showLast = -1;
+
+    protected IbanFormatter() {}
+
+    /**
+     * Creates formatter with groups of 4 characters separated by space and
+     * no masking.
+     * @return new formatter
+     */
+    public static IbanFormatter instance() { return new IbanFormatter(); }
+
+    /**
+     * Number of characters in group. Zero means no grouping.
+     * @param value group size
+     * @return this
+     */
+    public IbanFormatter groupSize(int value) {
+        if(value < 0) throw new IllegalArgumentException("group size must not be negative");
+        this.groupSize = value;
+        return this;
+    }
+    /**
+     * Separator of groups.
+     * @param value separator
+     * @return this
+     */
+    public IbanFormatter separator(char value) { this.separator = value; return this; }
+    /**
+     * Character used instead of masked characters.
+     * @param value mask character
+     * @return this
+     */
+    public IbanFormatter maskChar(char value) { this.maskChar = value; return this; }
+    /**
+     * Enables masking. Only given number of first and last characters are
+     * shown, others are replaced by mask character.
+     * @param showFirst number of shown characters at start
+     * @param showLast number of shown characters at end
+     * @return this
+     */
+    public IbanFormatter mask(int showFirst, int showLast) {
+        if((showFirst < 0) || (showLast < 0)) throw new IllegalArgumentException("shown characters must not be negative");
+        this.showFirst = showFirst;
+        this.showLast = showLast;
+        return this;
+    }
+    /**
+     * Disables masking.
+     * @return this
+     */
+    public IbanFormatter unmasked() {
+        this.showFirst = -1;
+        this.showLast = -1;
+        return this;
+    }
+
+    private static int compactLength(CharSequence iban) {
+        int len = iban.length();
+        int count = 0;
+        for(int i = 0; i < len; i++) {
+            if(iban.charAt(i) != ' ') count++;
+        }
+        return count;
+    }
+
+    private int formattedLength(int count) {
+        if((groupSize == 0) || (count == 0)) return count;
+        return count + (count - 1) / groupSize;
+    }
+
+    /**
+     * Length of formatted iban.
+     * @param iban formatted iban
+     * @return number of characters written by format methods
+     */
+    public int length(CharSequence iban) {
+        if(iban == null) return 0;
+        return formattedLength(compactLength(iban));
+    }
+
+    /**
+     * Formats iban to new String.
+     * @param iban formatted iban
+     * @return formatted iban or null if iban is null
+     */
+    public String format(CharSequence iban) {
+        if(iban == null) return null;
+        char[] chars = new char[length(iban)];
+        format(iban, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Formats iban to new String.
+     * @param iban formatted iban
+     * @return formatted iban or null if iban is null
+     */
+    public String format(Iban iban) {
+        if(iban == null) return null;
+        return format(iban.iban());
+    }
+
+    /**
+     * Writes formatted iban to given array.
+     * @param iban formatted iban
+     * @param target target array
+     * @param offset position of first written character
+     * @return number of written characters
+     * @throws IndexOutOfBoundsException if there is not enough space in array
+     */
+    public int format(CharSequence iban, char[] target, int offset) {
+        if(iban == null) return 0;
+        int count = compactLength(iban);
+        int length = formattedLength(count);
+        if((offset < 0) || (offset + length > target.length)) throw new IndexOutOfBoundsException("no space for " + length + " characters at " + offset);
+        int len = iban.length();
+        int maskFrom = showFirst < 0 ? count : showFirst;
+        int maskTo = showLast < 0 ? count : count - showLast;
+        int group = groupSize > 0 ? groupSize : Integer.MAX_VALUE;
+        int inGroup = 0;
+        int pos = offset;
+        int n = 0;
+        for(int i = 0; i < len; i++) {
+            char c = iban.charAt(i);
+            if(c == ' ') continue;
+            if(inGroup == group) {
+                target[pos++] = separator;
+                inGroup = 0;
+            }
+            target[pos++] = ((n >= maskFrom) && (n < maskTo)) ? maskChar : c;
+            inGroup++;
+            n++;
+        }
+        return length;
+    }
+
+    /**
+     * Appends formatted iban to given builder.
+     * @param iban formatted iban
+     * @param sb target builder
+     * @return given builder
+     */
+    public StringBuilder format(CharSequence iban, StringBuilder sb) {
+        if(iban == null) return sb;
+        int count = compactLength(iban);
+        sb.ensureCapacity(sb.length() + formattedLength(count));
+        if(count != iban.length()) {
+            try {
+                format(iban, (Appendable)sb);
+            } catch(IOException e) {
+                // StringBuilder does not throw IOException
+                throw new IllegalStateException(e);
+            }
+            return sb;
+        }
+        // no spaces - whole groups are appended at once
+        int maskFrom = showFirst < 0 ? count : Math.min(showFirst, count);
+        int maskTo = showLast < 0 ? count : Math.max(maskFrom, count - showLast);
+        int group = groupSize > 0 ? groupSize : count;
+        for(int start = 0; start < count; start += group) {
+            if(start > 0) sb.append(separator);
+            int end = Math.min(start + group, count);
+            int from = Math.max(start, Math.min(maskFrom, end));
+            int to = Math.max(from, Math.min(maskTo, end));
+            if(from > start) sb.append(iban, start, from);
+            for(int i = from; i < to; i++) sb.append(maskChar);
+            if(end > to) sb.append(iban, to, end);
+        }
+        return sb;
+    }
+
+    /**
+     * Writes formatted iban to given output.
+     * @param iban formatted iban
+     * @param out output
+     * @throws IOException if output fails
+     */
+    public void format(CharSequence iban, Appendable out) throws IOException {
+        if(iban == null) return;
+        int count = (showLast < 0) ? -1 : compactLength(iban);
+        int maskFrom = showFirst < 0 ? Integer.MAX_VALUE : showFirst;
+        int maskTo = showLast < 0 ? Integer.MAX_VALUE : count - showLast;
+        int group = groupSize > 0 ? groupSize : Integer.MAX_VALUE;
+        int inGroup = 0;
+        int len = iban.length();
+        int n = 0;
+        for(int i = 0; i < len; i++) {
+            char c = iban.charAt(i);
+            if(c == ' ') continue;
+            if(inGroup == group) {
+                out.append(separator);
+                inGroup = 0;
+            }
+            out.append(((n >= maskFrom) && (n < maskTo)) ? maskChar : c);
+            inGroup++;
+            n++;
+        }
+    }
+
+    /**
+     * Writes formatted iban to given output.
+     * @param iban formatted iban
+     * @param out output
+     * @throws IOException if output fails
+     */
+    public void format(Iban iban, Appendable out) throws IOException {
+        if(iban == null) return;
+        format(iban.iban(), out);
+    }
+
+    @Override
+    public String toString() {
+        return "IbanFormatter{" + "groupSize=" + groupSize + ", separator=" + separator + ", maskChar=" + maskChar + ", showFirst=" + showFirst + ", showLast=" + showLast + '}';
+    }
+}
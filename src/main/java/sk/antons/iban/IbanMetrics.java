@@ -0,0 +1,361 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts validation outcomes per country and per failure reason and
+ * optionally measures duration of checks. Metrics are collected only when
+ * some sink is installed, otherwise hooks in validation code are reduced
+ * to one null check.
+ * <pre>
+ * IbanMetrics metrics = IbanMetrics.instance().timing(true).install();
+ * metrics.register(); // JMX sk.antons.iban:type=IbanMetrics
+ * ...
+ * long badLength = metrics.count(IbanStatus.BAD_LENGTH);
+ * long p99 = metrics.latencyPercentile(0.99);
+ * </pre>
+ * Counters are LongAdders created lazily for used countries only, so
+ * concurrent validation threads do not contend on one counter.
+ * @author antons
+ */
+public class IbanMetrics implements IbanMetricsSink {
+
+    /** Installed sink. (null means no metrics) */
+    static volatile IbanMetricsSink sink;
+
+    private static final int COUNTRIES = 26 * 26;
+    private static final int UNKNOWN = COUNTRIES;
+    private static final IbanStatus[] STATUSES = IbanStatus.values();
+    private static final Check[] CHECKS = Check.values();
+
+    private final AtomicReferenceArray<LongAdder> parsed = new AtomicReferenceArray<>(COUNTRIES + 1);
+    private final AtomicReferenceArray<LongAdder> outcomes = new AtomicReferenceArray<>((COUNTRIES + 1) * STATUSES.length);
+    private final LongAdder[] checks = new LongAdder[CHECKS.length];
+    private final Histogram latency = new Histogram();
+    private volatile boolean timing = false;
+    private ObjectName registered;
+
+    protected IbanMetrics() {
+        for(int i = 0; i < checks.length; i++) checks[i] = new LongAdder();
+    }
+
+    /**
+     * New metrics without duration measurement.
+     * @return new instance
+     */
+    public static IbanMetrics instance() { return new IbanMetrics(); }
+
+    /**
+     * If true, duration of format, checksum and validate checks is
+     * recorded in latency histogram. (default false, each measurement
+     * costs two System.nanoTime() calls)
+     * @param value true for timing
+     * @return this
+     */
+    public IbanMetrics timing(boolean value) { this.timing = value; return this; }
+
+    /**
+     * Installs this instance as global sink.
+     * @return this
+     */
+    public IbanMetrics install() {
+        sink(this);
+        return this;
+    }
+
+    /**
+     * Installs global sink. Null disables metrics.
+     * @param value sink
+     */
+    public static void sink(IbanMetricsSink value) { sink = value; }
+    /**
+     * Currently installed global sink.
+     * @return sink or null
+     */
+    public static IbanMetricsSink sink() { return sink; }
+    /**
+     * Disables metrics. (same as sink(null))
+     */
+    public static void uninstall() { sink = null; }
+
+    /**
+     * Start time of measured check or 0 if sink does not measure time.
+     */
+    static long start(IbanMetricsSink sink) {
+        return sink.timing() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Duration of check started at given start() or -1 if it is not measured.
+     */
+    static long elapsed(long start) {
+        return start == 0 ? -1 : System.nanoTime() - start;
+    }
+
+    @Override
+    public boolean timing() { return timing; }
+
+    @Override
+    public void parsed(IbanConfig config) {
+        adder(parsed, index(config)).increment();
+    }
+
+    @Override
+    public void checked(Check check, IbanConfig config, IbanStatus status, long nanos) {
+        checks[check.ordinal()].increment();
+        adder(outcomes, index(config) * STATUSES.length + status.ordinal()).increment();
+        if(nanos >= 0) latency.record(nanos);
+    }
+
+    private static int index(IbanConfig config) {
+        if(config == null) return UNKNOWN;
+        int index = IbanConfig.index(config.id());
+        return index < 0 ? UNKNOWN : index;
+    }
+
+    private static LongAdder adder(AtomicReferenceArray<LongAdder> array, int index) {
+        LongAdder adder = array.get(index);
+        if(adder == null) {
+            adder = new LongAdder();
+            if(!array.compareAndSet(index, null, adder)) adder = array.get(index);
+        }
+        return adder;
+    }
+
+    private static long sum(AtomicReferenceArray<LongAdder> array, int index) {
+        LongAdder adder = array.get(index);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static int index(String country) {
+        if(country == null) return UNKNOWN;
+        int index = IbanConfig.index(country);
+        return index < 0 ? UNKNOWN : index;
+    }
+
+    private static String country(int index) {
+        return new String(new char[] {(char)('A' + index / 26), (char)('A' + index % 26)});
+    }
+
+    /**
+     * Number of parsed ibans with known country.
+     * @return count
+     */
+    public long parsedCount() {
+        long sum = 0;
+        for(int i = 0; i < COUNTRIES; i++) sum += sum(parsed, i);
+        return sum;
+    }
+
+    /**
+     * Number of parsed ibans of given country.
+     * @param country country code (null for unknown countries)
+     * @return count
+     */
+    public long parsedCount(String country) { return sum(parsed, index(country)); }
+
+    /**
+     * Number of check outcomes with given status for all countries.
+     * @param status outcome
+     * @return count
+     */
+    public long count(IbanStatus status) {
+        long sum = 0;
+        for(int i = 0; i <= COUNTRIES; i++) sum += sum(outcomes, i * STATUSES.length + status.ordinal());
+        return sum;
+    }
+
+    /**
+     * Number of check outcomes with given status for given country.
+     * @param country country code (null for unknown countries)
+     * @param status outcome
+     * @return count
+     */
+    public long count(String country, IbanStatus status) {
+        return sum(outcomes, index(country) * STATUSES.length + status.ordinal());
+    }
+
+    /**
+     * Number of checks of given type.
+     * @param check type of check
+     * @return count
+     */
+    public long count(Check check) { return checks[check.ordinal()].sum(); }
+
+    /**
+     * Number of check outcomes per country. (only countries with nonzero
+     * count are present)
+     * @return map country code to count
+     */
+    public Map<String, Long> countries() {
+        Map<String, Long> map = new TreeMap<>();
+        for(int i = 0; i < COUNTRIES; i++) {
+            long sum = 0;
+            for(int s = 0; s < STATUSES.length; s++) sum += sum(outcomes, i * STATUSES.length + s);
+            if(sum > 0) map.put(country(i), sum);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Number of measured checks.
+     * @return count
+     */
+    public long latencyCount() { return latency.count(); }
+
+    /**
+     * Duration of checks at given percentile. Value is upper bound of
+     * histogram bucket (at most 1/16 higher than real value).
+     * @param percentile percentile in range 0..1 (0.99 for 99th percentile)
+     * @return duration in nanoseconds or 0 if nothing was measured
+     */
+    public long latencyPercentile(double percentile) { return latency.percentile(percentile); }
+
+    /**
+     * Resets all counters. Concurrently recorded values may be lost.
+     */
+    public void reset() {
+        for(int i = 0; i < parsed.length(); i++) parsed.set(i, null);
+        for(int i = 0; i < outcomes.length(); i++) outcomes.set(i, null);
+        for(LongAdder check : checks) check.reset();
+        latency.reset();
+    }
+
+    /**
+     * Registers this instance in platform MBean server as
+     * sk.antons.iban:type=IbanMetrics.
+     * @return this
+     */
+    public IbanMetrics register() {
+        return register("sk.antons.iban:type=IbanMetrics");
+    }
+
+    /**
+     * Registers this instance in platform MBean server with given name.
+     * @param name object name
+     * @return this
+     */
+    public synchronized IbanMetrics register(String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new MXBean(), objectName);
+            registered = objectName;
+        } catch(JMException e) {
+            throw new IllegalStateException("unable to register " + name, e);
+        }
+        return this;
+    }
+
+    /**
+     * Unregisters this instance from platform MBean server.
+     */
+    public synchronized void unregister() {
+        if(registered == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registered);
+        } catch(JMException e) {
+            throw new IllegalStateException("unable to unregister " + registered, e);
+        }
+        registered = null;
+    }
+
+    private class MXBean implements IbanMetricsMXBean {
+        @Override public long getParsed() { return parsedCount(); }
+        @Override public long getUnknownCountry() { return count(IbanStatus.UNKNOWN_COUNTRY); }
+        @Override public long getOk() { return count(IbanStatus.OK); }
+        @Override public long getBadLength() { return count(IbanStatus.BAD_LENGTH); }
+        @Override public long getBadFormat() { return count(IbanStatus.BAD_FORMAT); }
+        @Override public long getBadChecksum() { return count(IbanStatus.BAD_CHECKSUM); }
+        @Override public Map<String, Long> getCountries() { return countries(); }
+        @Override public long getLatencyCount() { return latencyCount(); }
+        @Override public long getLatencyP50() { return latencyPercentile(0.5); }
+        @Override public long getLatencyP90() { return latencyPercentile(0.9); }
+        @Override public long getLatencyP99() { return latencyPercentile(0.99); }
+        @Override public long getLatencyP999() { return latencyPercentile(0.999); }
+        @Override public void reset() { IbanMetrics.this.reset(); }
+    }
+
+    /**
+     * Log-linear histogram. Each power of two is split to 16 buckets, so
+     * relative error is at most 1/16. Values below 16 have own buckets.
+     */
+    static class Histogram {
+        private static final int SUB_BITS = 4;
+        private static final int SUB = 1 << SUB_BITS;
+        private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>((64 - SUB_BITS) * SUB);
+
+        static int bucket(long value) {
+            if(value < SUB) return (int)Math.max(0, value);
+            int exp = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int)(value >>> (exp - SUB_BITS)) & (SUB - 1);
+            return (exp - SUB_BITS + 1) * SUB + sub;
+        }
+
+        static long lower(int bucket) {
+            if(bucket < SUB) return bucket;
+            int exp = bucket / SUB + SUB_BITS - 1;
+            return (long)(SUB + bucket % SUB) << (exp - SUB_BITS);
+        }
+
+        static long upper(int bucket) {
+            if(bucket + 1 >= (64 - SUB_BITS) * SUB) return Long.MAX_VALUE;
+            return lower(bucket + 1) - 1;
+        }
+
+        void record(long value) {
+            adder(buckets, bucket(value)).increment();
+        }
+
+        long count() {
+            long sum = 0;
+            for(int i = 0; i < buckets.length(); i++) sum += sum(buckets, i);
+            return sum;
+        }
+
+        long percentile(double percentile) {
+            long[] counts = new long[buckets.length()];
+            long total = 0;
+            for(int i = 0; i < counts.length; i++) {
+                counts[i] = sum(buckets, i);
+                total += counts[i];
+            }
+            if(total == 0) return 0;
+            long target = Math.max(1, (long)Math.ceil(Math.min(1, Math.max(0, percentile)) * total));
+            long acc = 0;
+            for(int i = 0; i < counts.length; i++) {
+                acc += counts[i];
+                if(acc >= target) return upper(i);
+            }
+            return upper(counts.length - 1);
+        }
+
+        void reset() {
+            for(int i = 0; i < buckets.length(); i++) buckets.set(i, null);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.Map;
+
+/**
+ * JMX view of IbanMetrics. (see IbanMetrics.register())
+ * @author antons
+ */
+public interface IbanMetricsMXBean {
+    /** @return number of parsed ibans with known country */
+    long getParsed();
+    /** @return number of outcomes with unknown country */
+    long getUnknownCountry();
+    /** @return number of successful checks */
+    long getOk();
+    /** @return number of checks failed on length */
+    long getBadLength();
+    /** @return number of checks failed on format */
+    long getBadFormat();
+    /** @return number of checks failed on checksum */
+    long getBadChecksum();
+    /** @return number of outcomes per country */
+    Map<String, Long> getCountries();
+    /** @return number of measured checks */
+    long getLatencyCount();
+    /** @return median duration of checks in nanoseconds */
+    long getLatencyP50();
+    /** @return 90th percentile of check duration in nanoseconds */
+    long getLatencyP90();
+    /** @return 99th percentile of check duration in nanoseconds */
+    long getLatencyP99();
+    /** @return 99.9th percentile of check duration in nanoseconds */
+    long getLatencyP999();
+    /** Resets all counters. */
+    void reset();
+}
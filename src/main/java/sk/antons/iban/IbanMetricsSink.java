@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+/**
+ * Receives validation outcomes when installed by IbanMetrics.sink().
+ * Methods are called from validation hot path, so implementation must be
+ * fast and thread safe. No sink is installed by default.
+ * @author antons
+ */
+public interface IbanMetricsSink {
+
+    /** Type of check which produced outcome. */
+    public static enum Check {
+        /** Iban.validate() and static validate methods. */
+        VALIDATE,
+        /** Iban.lengthCheck() */
+        LENGTH,
+        /** Iban.formatCheck() */
+        FORMAT,
+        /** Iban.ibanCheck() and static ibanCheck methods. */
+        CHECKSUM
+    }
+
+    /**
+     * Country identified by IbanConfigRepository.parse() or tryParse()
+     * (also Iban.instance()).
+     * @param config identified config or null if country is not known
+     */
+    default void parsed(IbanConfig config) {}
+
+    /**
+     * Outcome of one check.
+     * @param check type of check
+     * @param config config of iban country or null if country is not known
+     * @param status outcome (OK or status of failure)
+     * @param nanos duration of check or -1 if it is not measured
+     */
+    default void checked(Check check, IbanConfig config, IbanStatus status, long nanos) {}
+
+    /**
+     * If true, duration of checks is measured.
+     * @return true if nanos should be provided
+     */
+    default boolean timing() { return false; }
+
+}
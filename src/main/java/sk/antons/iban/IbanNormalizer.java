@@ -0,0 +1,243 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+/**
+ * Converts ibans written in different forms (spaces, dashes, small
+ * letters, optionally wrong check digits) to one canonical form and
+ * computes 64 bit fingerprint of canonical form. Fingerprint is computed
+ * in one pass over input without creating objects, so it can be used for
+ * deduplication of large data sets (see IbanFingerprintSet and
+ * IbanDeduplicator).
+ * <p>
+ * Iban is not validated, only country code must be letters, other
+ * characters must be letters or digits and canonical length must be
+ * 5 - 34 characters. Normalizer can be shared between threads once
+ * it is configured.
+ * <pre>
+ * IbanNormalizer normalizer = IbanNormalizer.instance().fixCheckDigits(true);
+ * String iban = normalizer.normalize("sk00 7500-0000 0000 1234 5671"); // SK8975000000000012345671
+ * long fingerprint = normalizer.fingerprint("SK89 7500 0000 0000 1234 5671");
+ * </pre>
+ * @author antons
+ */
+public class IbanNormalizer {
+
+    /**
+     * Maximal length of canonical iban.
+     */
+    public static final int MAX_LENGTH = 34;
+
+    private static final int MIN_LENGTH = 5;
+    private static final byte INVALID = -1;
+    private static final byte SEPARATOR = -2;
+
+    // base 36 codes of ascii characters, separators and invalid characters
+    private final byte[] codes = new byte[128];
+    private boolean fixCheckDigits = false;
+
+    protected IbanNormalizer() {
+        for(int i = 0; i < codes.length; i++) {
+            if(('0' <= i) && (i <= '9')) codes[i] = (byte)(i - '0');
+            else if(('A' <= i) && (i <= 'Z')) codes[i] = (byte)(i - 'A' + 10);
+            else if(('a' <= i) && (i <= 'z')) codes[i] = (byte)(i - 'a' + 10);
+            else codes[i] = INVALID;
+        }
+        separators(" -");
+    }
+
+    /**
+     * Creates normalizer which ignores spaces and dashes and keeps check
+     * digits.
+     * @return new instance
+     */
+    public static IbanNormalizer instance() { return new IbanNormalizer(); }
+
+    /**
+     * Characters ignored in input. (default is space and dash)
+     * @param value ascii separators (empty for none)
+     * @return this
+     */
+    public IbanNormalizer separators(String value) {
+        for(int i = 0; i < codes.length; i++) {
+            if(codes[i] == SEPARATOR) codes[i] = INVALID;
+        }
+        if(value != null) {
+            for(int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if(c >= 128) throw new IllegalArgumentException("only ascii separators are supported " + c);
+                if(codes[c] >= 0) throw new IllegalArgumentException("separator must not be letter or digit " + c);
+                codes[c] = SEPARATOR;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Check digits are recomputed from other characters (same as
+     * Iban.ibanFix()), so ibans which differs only in check digits have
+     * same canonical form. (default false)
+     * @param value true if check digits should be recomputed
+     * @return this
+     */
+    public IbanNormalizer fixCheckDigits(boolean value) { this.fixCheckDigits = value; return this; }
+
+    /**
+     * Canonical form of iban.
+     * @param iban normalized iban
+     * @return canonical iban or null if iban can not be normalized
+     */
+    public String normalize(CharSequence iban) {
+        if(iban == null) return null;
+        char[] chars = new char[MAX_LENGTH];
+        int length = (int)run(iban, null, null, 0, iban.length(), chars, 0);
+        return length < 0 ? null : new String(chars, 0, length);
+    }
+
+    /**
+     * Writes canonical form of iban into given array.
+     * @param iban normalized iban
+     * @param target array with room for canonical iban (max 34 characters)
+     * @param offset position of first written character
+     * @return length of canonical iban or -1 if iban can not be normalized
+     */
+    public int normalize(CharSequence iban, char[] target, int offset) {
+        if(iban == null) return -1;
+        return (int)run(iban, null, null, 0, iban.length(), target, offset);
+    }
+
+    /**
+     * Fingerprint of canonical form of iban. Different forms of same iban
+     * have same fingerprint. Different ibans have different fingerprint
+     * with high probability (64 bit hash, so collision is expected after
+     * billions of ibans).
+     * @param iban iban
+     * @return fingerprint (never 0) or 0 if iban can not be normalized
+     */
+    public long fingerprint(CharSequence iban) {
+        if(iban == null) return 0;
+        return run(iban, null, null, 0, iban.length(), null, 0);
+    }
+
+    /**
+     * Fingerprint of canonical form of iban stored in part of array.
+     * @param iban iban
+     * @param offset start of iban
+     * @param length length of iban
+     * @return fingerprint (never 0) or 0 if iban can not be normalized
+     */
+    public long fingerprint(char[] iban, int offset, int length) {
+        if(iban == null) return 0;
+        return run(null, iban, null, offset, offset + length, null, 0);
+    }
+
+    /**
+     * Fingerprint of canonical form of iban stored as ascii characters
+     * in part of array.
+     * @param iban iban
+     * @param offset start of iban
+     * @param length length of iban
+     * @return fingerprint (never 0) or 0 if iban can not be normalized
+     */
+    public long fingerprint(byte[] iban, int offset, int length) {
+        if(iban == null) return 0;
+        return run(null, null, iban, offset, offset + length, null, 0);
+    }
+
+    /**
+     * Normalizes iban in one pass. Check digits are processed after other
+     * characters, so they can be recomputed without second pass.
+     * @return length of canonical iban if target is given, fingerprint
+     * otherwise (-1 or 0 if iban can not be normalized)
+     */
+    private long run(CharSequence seq, char[] chars, byte[] bytes, int from, int to, char[] target, int offset) {
+        long failed = target == null ? 0 : -1;
+        int count = 0;
+        int country1 = 0;
+        int country2 = 0;
+        int check1 = 0;
+        int check2 = 0;
+        long acc = 0;
+        long word = 0;
+        int wordLength = 0;
+        long hash = 0;
+        for(int i = from; i < to; i++) {
+            char c = CompiledIbanValidator.charAt(seq, chars, bytes, null, i);
+            int code = c < 128 ? codes[c] : INVALID;
+            if(code < 0) {
+                if(code == SEPARATOR) continue;
+                return failed;
+            }
+            if(count >= 4) {
+                if(count >= MAX_LENGTH) return failed;
+                if(code < 10) acc = acc * 10 + code;
+                else acc = acc * 100 + code;
+                if(acc >= Iban.MOD97_LIMIT) acc %= 97;
+                // 12 base 36 characters fits into one long
+                word = word * 36 + code;
+                if(++wordLength == 12) {
+                    hash = mix(hash, word);
+                    word = 0;
+                    wordLength = 0;
+                }
+            } else if(count >= 2) {
+                if(count == 2) check1 = code;
+                else check2 = code;
+            } else {
+                if(code < 10) return failed;
+                if(count == 0) country1 = code;
+                else country2 = code;
+            }
+            if(target != null) target[offset + count] = code < 10 ? c : (char)('A' + code - 10);
+            count++;
+        }
+        if(count < MIN_LENGTH) return failed;
+        if(fixCheckDigits) {
+            acc = acc % 97 * 100 + country1;
+            acc = acc * 100 + country2;
+            int check = 98 - (int)(acc * 100 % 97);
+            check1 = check / 10;
+            check2 = check % 10;
+            if(target != null) {
+                target[offset + 2] = (char)('0' + check1);
+                target[offset + 3] = (char)('0' + check2);
+            }
+        }
+        if(target != null) return count;
+        if(wordLength > 0) hash = mix(hash, word);
+        long tail = (((country1 * 36L + country2) * 36 + check1) * 36 + check2) * 64 + count;
+        hash = fmix(mix(hash, tail));
+        return hash == 0 ? 1 : hash;
+    }
+
+    // murmur3 block mixing and finalization
+    private static long mix(long hash, long block) {
+        block *= 0x87c37b91114253d5L;
+        block = Long.rotateLeft(block, 31);
+        block *= 0x4cf5ad432745937fL;
+        hash ^= block;
+        return Long.rotateLeft(hash, 27) * 5 + 0x52dce729;
+    }
+
+    private static long fmix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb3fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
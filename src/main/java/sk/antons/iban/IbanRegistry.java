@@ -0,0 +1,456 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registry of iban configs which can be changed at runtime. Configs are
+ * published as immutable snapshots. Each change creates new snapshot and
+ * replaces the old one atomically, so lookups and validations never lock
+ * and never see partially loaded registry.
+ *
+ * <p>
+ * Configs can be loaded from text where each line describes one country
+ * using registry notation
+ * <pre>
+ * # id length pattern bban-format
+ * SK 24 SKkkbbbbppppppcccccccccc 4n,6n,10n
+ * AD 24 ADkkbbbbsssscccccccccccc 4n,4n,12c
+ * </pre>
+ * Bban format is list of lengths with type (n - digits, a - capital letters,
+ * c - digits or letters) starting at position 4. It can be omitted or
+ * written as '-' if no format check is required. Empty lines and lines
+ * starting with '#' are ignored.
+ *
+ * <pre>
+ * IbanRegistry registry = IbanRegistry.instance();
+ * registry.load(Paths.get("iban-registry.txt"));
+ * IbanStatus status = registry.validate("SK8975000000000012345671");
+ * </pre>
+ * @author antons
+ */
+public class IbanRegistry {
+
+    private final AtomicReference<Snapshot> snapshot;
+
+    protected IbanRegistry(Snapshot snapshot) {
+        this.snapshot = new AtomicReference<>(snapshot);
+    }
+
+    /**
+     * Creates registry initialized with configs from IbanConfigRepository.
+     * @return new registry
+     */
+    public static IbanRegistry instance() { return new IbanRegistry(Snapshot.of(freeze(IbanConfigRepository.all()))); }
+    /**
+     * Creates registry initialized with built in configs loaded from
+     * precompiled binary resource (see IbanBinaryRegistry). It is faster
+     * than instance() as IbanConfigRepository is not initialized. If
+     * resource is not available configs from IbanConfigRepository are used.
+     * @return new registry
+     */
+    public static IbanRegistry precompiled() {
+        List<IbanConfig> configs;
+        try {
+            configs = IbanBinaryRegistry.builtIn();
+        } catch(IOException e) {
+            configs = null;
+        }
+        if(configs == null) return instance();
+        return new IbanRegistry(Snapshot.of(configs));
+    }
+    /**
+     * Creates registry without configs.
+     * @return new registry
+     */
+    public static IbanRegistry empty() { return new IbanRegistry(Snapshot.of(Collections.<IbanConfig>emptyList())); }
+
+    /**
+     * Finds config for given country code characters. Letters are case
+     * insensitive.
+     * @param c1 first letter of country code
+     * @param c2 second letter of country code
+     * @return config or null if country is not known
+     */
+    public IbanConfig lookup(char c1, char c2) {
+        int index = IbanConfig.index((char)(c1 & 0xffdf), (char)(c2 & 0xffdf));
+        return index < 0 ? null : snapshot.get().table[index];
+    }
+
+    /**
+     * Finds config for given country code.
+     * @param id country code
+     * @return config or null if country is not known
+     */
+    public IbanConfig config(String id) {
+        if((id == null) || (id.length() != 2)) return null;
+        return lookup(id.charAt(0), id.charAt(1));
+    }
+
+    /**
+     * Finds config using first two letters of given iban.
+     * @param iban given iban
+     * @return config
+     * @throws IllegalArgumentException if country is not known
+     */
+    public IbanConfig parse(CharSequence iban) {
+        if(iban == null) return null;
+        IbanConfig config = tryParse(iban);
+        if(config == null) {
+            CharSequence country = iban.length() < 2 ? iban : iban.subSequence(0, 2);
+            throw new IllegalArgumentException("unable to identify country from " + country);
+        }
+        return config;
+    }
+
+    /**
+     * Finds config using first two letters of given iban. Same as parse()
+     * but no exception is thrown.
+     * @param iban given iban
+     * @return config or null if country is not known
+     */
+    public IbanConfig tryParse(CharSequence iban) {
+        if((iban == null) || (iban.length() < 2)) return null;
+        int index = IbanConfig.index(iban.charAt(0), iban.charAt(1));
+        return index < 0 ? null : snapshot.get().table[index];
+    }
+
+    /**
+     * Creates Iban instance using config from this registry.
+     * @param iban iban value
+     * @return iban instance
+     * @throws IllegalArgumentException if country is not known
+     */
+    public Iban iban(String iban) {
+        return Iban.instance(iban, parse(iban));
+    }
+
+    /**
+     * Validates given iban using configs from this registry. Spaces after
+     * country code are ignored. No exception is thrown for malformed input.
+     * @param iban given iban
+     * @return validation status
+     */
+    public IbanStatus validate(CharSequence iban) {
+        return Iban.validate(iban, snapshot.get().table);
+    }
+
+    /**
+     * Country table of current snapshot. (indexed by IbanConfig.index())
+     * @return table which must not be modified
+     */
+    IbanConfig[] table() { return snapshot.get().table; }
+
+    /**
+     * All configs in current snapshot.
+     * @return unmodifiable list of configs
+     */
+    public List<IbanConfig> all() {
+        return snapshot.get().all;
+    }
+
+    /**
+     * Number of configs in current snapshot.
+     * @return number of configs
+     */
+    public int size() {
+        return snapshot.get().all.size();
+    }
+
+    /**
+     * Adds or replaces configs. Registry stores frozen copies of given configs.
+     * @param configs added configs
+     * @return this
+     */
+    public IbanRegistry register(IbanConfig... configs) {
+        if(configs == null) return this;
+        return register(Arrays.asList(configs));
+    }
+
+    /**
+     * Adds or replaces configs. Registry stores frozen copies of given configs.
+     * @param configs added configs
+     * @return this
+     */
+    public IbanRegistry register(Collection<IbanConfig> configs) {
+        if(configs == null) return this;
+        List<IbanConfig> frozen = freeze(configs);
+        update(s -> s.with(frozen));
+        return this;
+    }
+
+    /**
+     * Removes config for given country code.
+     * @param id country code
+     * @return this
+     */
+    public IbanRegistry remove(String id) {
+        if(id == null) return this;
+        update(s -> s.without(id.toUpperCase()));
+        return this;
+    }
+
+    /**
+     * Replaces all configs in registry by given ones.
+     * @param configs new configs
+     * @return this
+     */
+    public IbanRegistry replace(Collection<IbanConfig> configs) {
+        Snapshot s = Snapshot.of(freeze(configs == null ? Collections.<IbanConfig>emptyList() : configs));
+        snapshot.set(s);
+        return this;
+    }
+
+    /**
+     * Replaces all configs in registry by configs read from given file.
+     * Current snapshot is used until whole file is successfully read.
+     * @param file file with configs
+     * @return this
+     * @throws IOException if file can not be read
+     * @throws IllegalArgumentException if file has wrong format
+     */
+    public IbanRegistry load(Path file) throws IOException {
+        try(Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return replace(read(reader));
+        }
+    }
+
+    /**
+     * Replaces all configs in registry by configs read from given binary
+     * file (see IbanBinaryRegistry).
+     * @param file binary file with configs
+     * @return this
+     * @throws IOException if file can not be read
+     * @throws IllegalArgumentException if file has wrong format
+     */
+    public IbanRegistry loadBinary(Path file) throws IOException {
+        return replace(IbanBinaryRegistry.read(file));
+    }
+
+    /**
+     * Replaces all configs in registry by configs read from given stream.
+     * Stream is not closed.
+     * @param is stream with configs in UTF-8
+     * @return this
+     * @throws IOException if stream can not be read
+     * @throws IllegalArgumentException if stream has wrong format
+     */
+    public IbanRegistry load(InputStream is) throws IOException {
+        return replace(read(new InputStreamReader(is, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Replaces all configs in registry by configs read from given class
+     * path resource.
+     * @param resource resource name
+     * @return this
+     * @throws IOException if resource can not be read
+     * @throws IllegalArgumentException if resource does not exist or has wrong format
+     */
+    public IbanRegistry loadResource(String resource) throws IOException {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        if(cl == null) cl = IbanRegistry.class.getClassLoader();
+        try(InputStream is = cl.getResourceAsStream(resource)) {
+            if(is == null) throw new IllegalArgumentException("resource " + resource + " not found");
+            return load(is);
+        }
+    }
+
+    /**
+     * Writes all configs in registry notation.
+     * @param out output
+     * @throws IOException if output fails
+     */
+    public void write(Appendable out) throws IOException {
+        for(IbanConfig config : all()) {
+            out.append(line(config)).append('\n');
+        }
+    }
+
+    /**
+     * Reads configs in registry notation. Reader is not closed.
+     * @param reader source of configs
+     * @return list of modifiable configs
+     * @throws IOException if reader fails
+     * @throws IllegalArgumentException if text has wrong format
+     */
+    public static List<IbanConfig> read(Reader reader) throws IOException {
+        List<IbanConfig> list = new ArrayList<>();
+        BufferedReader br = reader instanceof BufferedReader ? (BufferedReader)reader : new BufferedReader(reader);
+        String line;
+        int lineNo = 0;
+        while((line = br.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            if(line.isEmpty() || line.startsWith("#")) continue;
+            try {
+                list.add(parseLine(line));
+            } catch(IllegalArgumentException e) {
+                throw new IllegalArgumentException("line " + lineNo + ": " + e.getMessage(), e);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Parses one config in registry notation.
+     * @param line something like "SK 24 SKkkbbbbppppppcccccccccc 4n,6n,10n"
+     * @return modifiable config
+     * @throws IllegalArgumentException if line has wrong format
+     */
+    public static IbanConfig parseLine(String line) {
+        String[] parts = line.trim().split("\\s+");
+        if((parts.length < 3) || (parts.length > 4)) throw new IllegalArgumentException("expected 'id length pattern [format]' but was '" + line + "'");
+        String id = parts[0];
+        if(IbanConfig.index(id) < 0) {
+            throw new IllegalArgumentException("bad country code " + id);
+        }
+        int length;
+        try {
+            length = Integer.parseInt(parts[1]);
+        } catch(NumberFormatException e) {
+            throw new IllegalArgumentException("bad length " + parts[1]);
+        }
+        String pattern = parts[2];
+        if(!pattern.startsWith(id)) throw new IllegalArgumentException("pattern " + pattern + " does not start with " + id);
+        if(pattern.length() != length) throw new IllegalArgumentException("pattern " + pattern + " does not have length " + length);
+        IbanConfig config = IbanConfig.instance(id).length(length).pattern(pattern);
+        if((parts.length == 4) && !"-".equals(parts[3])) {
+            int position = 4;
+            for(String item : parts[3].split(",")) {
+                if(item.length() < 2) throw new IllegalArgumentException("bad format item '" + item + "'");
+                int len;
+                try {
+                    len = Integer.parseInt(item.substring(0, item.length() - 1));
+                } catch(NumberFormatException e) {
+                    throw new IllegalArgumentException("bad format item '" + item + "'");
+                }
+                char type = item.charAt(item.length() - 1);
+                if(type == 'n') config.numeric(position, position + len);
+                else if(type == 'a') config.capitals(position, position + len);
+                else if(type == 'c') config.letters(position, position + len);
+                else throw new IllegalArgumentException("bad format type '" + item + "'");
+                position = position + len;
+            }
+            if(position > length) throw new IllegalArgumentException("format is longer than " + length);
+        }
+        return config;
+    }
+
+    /**
+     * Formats config in registry notation.
+     * @param config formatted config
+     * @return something like "SK 24 SKkkbbbbppppppcccccccccc 4n,6n,10n"
+     * @throws IllegalArgumentException if config checks can not be expressed in registry notation
+     */
+    public static String line(IbanConfig config) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(config.id()).append(' ').append(config.length()).append(' ').append(config.pattern()).append(' ');
+        List<IbanSubstringCheck> checks = config.substringChecks();
+        if((checks == null) || checks.isEmpty()) return sb.append('-').toString();
+        int position = 4;
+        for(IbanSubstringCheck check : checks) {
+            if(check.startPos != position) throw new IllegalArgumentException("check " + check + " of " + config.id() + " does not follow previous one");
+            if(position > 4) sb.append(',');
+            sb.append(check.endPos - check.startPos);
+            if("0".equals(check.type)) sb.append('n');
+            else if("A".equals(check.type)) sb.append('a');
+            else if("Aa0".equals(check.type)) sb.append('c');
+            else throw new IllegalArgumentException("check " + check + " of " + config.id() + " has unknown type");
+            position = check.endPos;
+        }
+        return sb.toString();
+    }
+
+    private void update(UnaryOperator<Snapshot> change) {
+        while(true) {
+            Snapshot current = snapshot.get();
+            if(snapshot.compareAndSet(current, change.apply(current))) return;
+        }
+    }
+
+    private static List<IbanConfig> freeze(Collection<IbanConfig> configs) {
+        List<IbanConfig> list = new ArrayList<>(configs.size());
+        for(IbanConfig config : configs) {
+            if(config == null) continue;
+            String id = config.id();
+            if(IbanConfig.index(id) < 0) {
+                throw new IllegalArgumentException("bad country code " + id);
+            }
+            if(config.pattern() == null) throw new IllegalArgumentException("config " + id + " has no pattern");
+            list.add(config.frozen() ? config : config.copy().freeze());
+        }
+        return list;
+    }
+
+    /**
+     * Immutable set of configs.
+     */
+    protected static class Snapshot {
+        final IbanConfig[] table;
+        final List<IbanConfig> all;
+
+        private Snapshot(IbanConfig[] table) {
+            this.table = table;
+            List<IbanConfig> list = new ArrayList<>();
+            for(IbanConfig config : table) {
+                if(config != null) list.add(config);
+            }
+            this.all = Collections.unmodifiableList(list);
+        }
+
+        static Snapshot of(Collection<IbanConfig> configs) {
+            IbanConfig[] table = new IbanConfig[26 * 26];
+            for(IbanConfig config : configs) {
+                table[IbanConfig.index(config.id())] = config;
+            }
+            return new Snapshot(table);
+        }
+
+        Snapshot with(List<IbanConfig> configs) {
+            IbanConfig[] copy = table.clone();
+            for(IbanConfig config : configs) {
+                copy[IbanConfig.index(config.id())] = config;
+            }
+            return new Snapshot(copy);
+        }
+
+        Snapshot without(String id) {
+            if(id.length() != 2) return this;
+            int index = IbanConfig.index(id.charAt(0), id.charAt(1));
+            if((index < 0) || (table[index] == null)) return this;
+            IbanConfig[] copy = table.clone();
+            copy[index] = null;
+            return new Snapshot(copy);
+        }
+    }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Suggests corrections of invalid ibans. Single character substitutions
+ * and transpositions of adjacent characters are tried, candidate is
+ * accepted if it has correct checksum and matches country format.
+ * Suggestions are ranked by likelihood of mistake (visually similar
+ * characters, neighbouring keys, swapped characters). Iban.ibanFix() is
+ * used as last suggestion (only check digits are changed).
+ * <p>
+ * Checksum of each candidate is computed in constant time from prefix
+ * and suffix modulo values of original iban, so whole number is never
+ * recomputed.
+ * <pre>
+ * List&lt;IbanRepair.Suggestion&gt; list = IbanRepair.instance().suggest("SK8975000000000012345761");
+ * // [SK8975000000000012345671 TRANSPOSITION at 21 ...]
+ * </pre>
+ * @author antons
+ */
+public class IbanRepair {
+
+    /** Type of correction. */
+    public static enum Kind {
+        /** One character replaced by another one. */
+        SUBSTITUTION,
+        /** Two adjacent characters swapped. */
+        TRANSPOSITION,
+        /** Check digits recomputed. (see Iban.ibanFix()) */
+        CHECK_DIGITS
+    }
+
+    private static final double SIMILAR = 4;
+    private static final double TRANSPOSED = 3;
+    private static final double NEIGHBOUR = 2;
+    private static final double OTHER = 1;
+    private static final double RECOMPUTED = 0.5;
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String[] SIMILARS = {
+        "0O", "0D", "0Q", "1I", "1L", "17", "2Z", "5S", "6G", "8B", "4A", "UV", "MN", "CG", "EF", "PR"
+    };
+    private static final int[] POW10 = new int[80];
+    private static final boolean[][] SIMILAR_PAIRS = new boolean[128][128];
+    static {
+        POW10[0] = 1;
+        for(int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10 % 97;
+        for(String pair : SIMILARS) {
+            SIMILAR_PAIRS[pair.charAt(0)][pair.charAt(1)] = true;
+            SIMILAR_PAIRS[pair.charAt(1)][pair.charAt(0)] = true;
+        }
+    }
+
+    private final IbanRegistry registry;
+    private int maxSuggestions = 10;
+    private boolean checkDigits = true;
+
+    protected IbanRepair(IbanRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Repair using configs from IbanConfigRepository.
+     * @return new instance
+     */
+    public static IbanRepair instance() { return new IbanRepair(null); }
+
+    /**
+     * Repair using configs from given registry.
+     * @param registry source of configs
+     * @return new instance
+     */
+    public static IbanRepair instance(IbanRegistry registry) { return new IbanRepair(registry); }
+
+    /**
+     * Maximal number of returned suggestions. (default 10)
+     * @param value max suggestions
+     * @return this
+     */
+    public IbanRepair maxSuggestions(int value) { this.maxSuggestions = Math.max(1, value); return this; }
+    /**
+     * If true recomputed check digits are returned as last suggestion.
+     * (default true)
+     * @param value true for recomputed check digits
+     * @return this
+     */
+    public IbanRepair checkDigits(boolean value) { this.checkDigits = value; return this; }
+
+    /**
+     * Suggested corrections of given iban ordered by likelihood. Spaces and
+     * dashes are ignored and lowercase letters are converted to capitals.
+     * Empty list is returned for valid iban, unknown country or bad length.
+     * @param iban invalid iban
+     * @return list of suggestions
+     */
+    public List<Suggestion> suggest(CharSequence iban) {
+        if(iban == null) return Collections.emptyList();
+        char[] chars = normalize(iban);
+        if(chars == null) return Collections.emptyList();
+        IbanConfig[] table = registry == null ? IbanConfigRepository.TABLE : registry.table();
+        IbanConfig config = table[(chars[0] - 'A') * 26 + (chars[1] - 'A')];
+        if((config == null) || (config.length != chars.length)) return Collections.emptyList();
+        return new Candidates(chars, config.compile()).suggest();
+    }
+
+    /**
+     * Repaired iban if there is exactly one substitution or transposition
+     * which makes given iban valid.
+     * @param iban invalid iban
+     * @return repaired iban or null if iban can not be repaired unambiguously
+     */
+    public String repair(CharSequence iban) {
+        String result = null;
+        for(Suggestion suggestion : suggest(iban)) {
+            if(suggestion.kind == Kind.CHECK_DIGITS) continue;
+            if(result != null) return null;
+            result = suggestion.iban;
+        }
+        return result;
+    }
+
+    /**
+     * Iban characters without spaces and dashes, letters converted to
+     * capitals. Returns null if country code is not made of letters.
+     */
+    private static char[] normalize(CharSequence iban) {
+        int len = iban.length();
+        char[] chars = new char[len];
+        int n = 0;
+        for(int i = 0; i < len; i++) {
+            char c = iban.charAt(i);
+            if((c == ' ') || (c == '-')) continue;
+            if(('a' <= c) && (c <= 'z')) c = (char)(c - 'a' + 'A');
+            chars[n++] = c;
+        }
+        if(n < 5) return null;
+        if((chars[0] < 'A') || (chars[0] > 'Z') || (chars[1] < 'A') || (chars[1] > 'Z')) return null;
+        if(n == len) return chars;
+        char[] rv = new char[n];
+        System.arraycopy(chars, 0, rv, 0, n);
+        return rv;
+    }
+
+    private static int value(char c) {
+        if(('0' <= c) && (c <= '9')) return c - '0';
+        if(('A' <= c) && (c <= 'Z')) return c - 'A' + 10;
+        return -1;
+    }
+
+    private static int width(char c) {
+        return c <= '9' ? 1 : 2;
+    }
+
+    private static double likelihood(char from, char to) {
+        if((from < 128) && SIMILAR_PAIRS[from][to]) return SIMILAR;
+        if(('0' <= from) && (from <= '9') && ('0' <= to) && (to <= '9') && (Math.abs(from - to) == 1)) return NEIGHBOUR;
+        return OTHER;
+    }
+
+    /**
+     * Prefix and suffix modulo values of iban in checksum order (first
+     * four characters moved to the end). Checksum of iban with one or two
+     * changed characters is composed from them.
+     */
+    private class Candidates {
+        final char[] chars;
+        final CompiledIbanValidator validator;
+        final int n;
+        final int[] prefix;       // modulo of first i characters in checksum order
+        final int[] prefixDigits; // number of digits of first i characters
+        final int[] suffix;       // modulo of characters from i in checksum order
+        final int[] suffixDigits; // number of digits of characters from i
+        final boolean[] allowed;
+        int violations = 0;
+        int invalid = -1;
+        int invalidCount = 0;
+        final List<Suggestion> list = new ArrayList<>();
+
+        Candidates(char[] chars, CompiledIbanValidator validator) {
+            this.chars = chars;
+            this.validator = validator;
+            this.n = chars.length;
+            prefix = new int[n + 1];
+            prefixDigits = new int[n + 1];
+            suffix = new int[n + 1];
+            suffixDigits = new int[n + 1];
+            allowed = new boolean[n];
+            for(int i = 0; i < n; i++) {
+                allowed[i] = validator.allowed(i, chars[i]) && ((i < 2) || (i > 3) || (chars[i] <= '9'));
+                if(!allowed[i]) violations++;
+                if(value(chars[i]) < 0) {
+                    invalid = i;
+                    invalidCount++;
+                }
+            }
+            for(int j = 0; j < n; j++) {
+                char c = at(j);
+                int v = Math.max(0, value(c));
+                prefix[j + 1] = (prefix[j] * POW10[width(c)] + v) % 97;
+                prefixDigits[j + 1] = prefixDigits[j] + width(c);
+            }
+            for(int j = n - 1; j >= 0; j--) {
+                char c = at(j);
+                int v = Math.max(0, value(c));
+                suffix[j] = (v * POW10[suffixDigits[j + 1]] + suffix[j + 1]) % 97;
+                suffixDigits[j] = suffixDigits[j + 1] + width(c);
+            }
+        }
+
+        /** Character at position j of checksum order. */
+        char at(int j) { return chars[(j + 4) % n]; }
+        /** Position in checksum order of iban position. */
+        int order(int pos) { return (pos - 4 + n) % n; }
+
+        /** Checksum with character at position j (checksum order) replaced. */
+        int mod(int j, char c) {
+            int mod = (prefix[j] * POW10[width(c)] + value(c)) % 97;
+            return (mod * POW10[suffixDigits[j + 1]] + suffix[j + 1]) % 97;
+        }
+
+        /** Checksum with characters at positions j1 &lt; j2 (checksum order) replaced. */
+        int mod(int j1, char c1, int j2, char c2) {
+            int middleDigits = prefixDigits[j2] - prefixDigits[j1 + 1];
+            int middle = (prefix[j2] - prefix[j1 + 1] * POW10[middleDigits] % 97 + 97) % 97;
+            int mod = (prefix[j1] * POW10[width(c1)] + value(c1)) % 97;
+            mod = (mod * POW10[middleDigits] + middle) % 97;
+            mod = (mod * POW10[width(c2)] + value(c2)) % 97;
+            return (mod * POW10[suffixDigits[j2 + 1]] + suffix[j2 + 1]) % 97;
+        }
+
+        List<Suggestion> suggest() {
+            if(invalidCount == 0 && violations == 0 && mod(0, at(0)) == 1) return Collections.emptyList();
+            if(invalidCount > 1) return Collections.emptyList();
+            for(int pos = 2; pos < n; pos++) {
+                if((invalidCount > 0) && (pos != invalid)) continue;
+                substitutions(pos);
+            }
+            if(invalidCount == 0) {
+                for(int pos = 2; pos < n - 1; pos++) transposition(pos);
+            }
+            list.sort((a, b) -> {
+                int rv = Double.compare(b.likelihood, a.likelihood);
+                return rv != 0 ? rv : Integer.compare(a.position, b.position);
+            });
+            if(list.size() > maxSuggestions) list.subList(maxSuggestions, list.size()).clear();
+            if(checkDigits && (invalidCount == 0)) checkDigits();
+            double total = 0;
+            for(Suggestion s : list) total += s.likelihood;
+            for(Suggestion s : list) s.likelihood /= total;
+            return Collections.unmodifiableList(list);
+        }
+
+        void substitutions(int pos) {
+            if(violations - (allowed[pos] ? 0 : 1) > 0) return;
+            char original = chars[pos];
+            int j = order(pos);
+            for(int i = 0; i < ALPHABET.length(); i++) {
+                char c = ALPHABET.charAt(i);
+                if(c == original) continue;
+                if((pos < 4) && (c > '9')) break; // check digits are always digits
+                if(mod(j, c) != 1) continue;
+                if(!validator.allowed(pos, c)) continue;
+                char[] fixed = chars.clone();
+                fixed[pos] = c;
+                list.add(new Suggestion(new String(fixed), Kind.SUBSTITUTION, pos, likelihood(original, c)));
+            }
+        }
+
+        void transposition(int pos) {
+            char a = chars[pos];
+            char b = chars[pos + 1];
+            if(a == b) return;
+            if(violations - (allowed[pos] ? 0 : 1) - (allowed[pos + 1] ? 0 : 1) > 0) return;
+            int j1 = order(pos);
+            int j2 = order(pos + 1);
+            int mod = j1 < j2 ? mod(j1, b, j2, a) : mod(j2, a, j1, b);
+            if(mod != 1) return;
+            if((pos < 4) && (b > '9')) return;
+            if((pos == 2) && (a > '9')) return;
+            if(!validator.allowed(pos, b) || !validator.allowed(pos + 1, a)) return;
+            char[] fixed = chars.clone();
+            fixed[pos] = b;
+            fixed[pos + 1] = a;
+            list.add(new Suggestion(new String(fixed), Kind.TRANSPOSITION, pos, TRANSPOSED));
+        }
+
+        void checkDigits() {
+            for(int pos = 4; pos < n; pos++) {
+                if(!allowed[pos]) return;
+            }
+            String fixed = Iban.ibanFix(new String(chars));
+            if(fixed == null) return;
+            for(Suggestion s : list) {
+                if(s.iban.equals(fixed)) return;
+            }
+            if(list.size() >= maxSuggestions) list.remove(maxSuggestions - 1);
+            list.add(new Suggestion(fixed, Kind.CHECK_DIGITS, 2, RECOMPUTED));
+        }
+    }
+
+    /**
+     * One suggested correction.
+     */
+    public static final class Suggestion {
+        private final String iban;
+        private final Kind kind;
+        private final int position;
+        private double likelihood;
+
+        private Suggestion(String iban, Kind kind, int position, double likelihood) {
+            this.iban = iban;
+            this.kind = kind;
+            this.position = position;
+            this.likelihood = likelihood;
+        }
+
+        /**
+         * Corrected iban (without spaces).
+         * @return iban
+         */
+        public String iban() { return iban; }
+        /**
+         * Type of correction.
+         * @return kind
+         */
+        public Kind kind() { return kind; }
+        /**
+         * Position of (first) changed character in iban without spaces.
+         * @return position
+         */
+        public int position() { return position; }
+        /**
+         * Relative likelihood of this suggestion. Likelihoods of all
+         * returned suggestions sum to 1.
+         * @return likelihood
+         */
+        public double likelihood() { return likelihood; }
+
+        @Override
+        public String toString() {
+            return iban + " " + kind + " at " + position + " " + String.format("%.2f", likelihood);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+/**
+ * Validation result of one iban produced by asynchronous validation.
+ * (see IbanAsyncValidator)
+ * @author antons
+ */
+public final class IbanResult {
+
+    private final String value;
+    private final IbanStatus status;
+    private final Iban iban;
+
+    private IbanResult(String value, IbanStatus status, Iban iban) {
+        this.value = value;
+        this.status = status;
+        this.iban = iban;
+    }
+
+    /**
+     * Validates given value. Iban instance is created only for valid
+     * value.
+     * @param value validated iban
+     * @return result
+     */
+    public static IbanResult of(CharSequence value) {
+        return of(value, null);
+    }
+
+    /**
+     * Validates given value using configs from given registry. No
+     * exception is thrown for malformed value.
+     * @param value validated iban
+     * @param registry registry or null for IbanConfigRepository
+     * @return result
+     */
+    static IbanResult of(CharSequence value, IbanRegistry registry) {
+        String string = value == null ? null : value.toString();
+        IbanStatus status = registry == null ? Iban.validate(string) : registry.validate(string);
+        Iban iban = null;
+        if(status.valid()) {
+            try {
+                iban = registry == null ? Iban.instance(string) : registry.iban(string);
+            } catch(IllegalArgumentException e) {
+                // valid value is always parseable, it is only safety net for async callers
+                status = IbanStatus.UNKNOWN_COUNTRY;
+            }
+        }
+        return new IbanResult(string, status, iban);
+    }
+
+    /**
+     * Validated value.
+     * @return value
+     */
+    public String value() { return value; }
+    /**
+     * Validation status.
+     * @return status
+     */
+    public IbanStatus status() { return status; }
+    /**
+     * Check if value is valid iban.
+     * @return true if status is OK
+     */
+    public boolean valid() { return status.valid(); }
+    /**
+     * Parsed iban.
+     * @return iban or null if value is not valid
+     */
+    public Iban iban() { return iban; }
+
+    @Override
+    public String toString() {
+        return value + " " + status;
+    }
+
+}
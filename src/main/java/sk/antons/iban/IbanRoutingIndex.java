@@ -0,0 +1,361 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.Collection;
+
+/**
+ * Immutable index which maps iban to value by country, national bank number
+ * and optionally branch. Bank number is part of iban defined in pattern by
+ * character 'b' (or 'q' if pattern has no 'b') and branch by character 's'.
+ * <p>
+ * Keys are packed to longs (base 37 codes of characters) and stored in open
+ * addressing table, so there is no String or entry object per key. Index is
+ * immutable and can be read by many threads without locking.
+ * <p>
+ * Entry without branch matches all branches of bank. If both entries exist
+ * entry with branch wins.
+ * <pre>
+ * IbanRoutingIndex&lt;String&gt; index = IbanRoutingIndex.&lt;String&gt;builder()
+ *     .put("SK", "7500", null, "route-csob")
+ *     .put("AD", "0001", "2030", "route-ad")
+ *     .build();
+ * String route = index.get(iban);
+ * </pre>
+ * @author antons
+ * @param <V> type of values
+ */
+public class IbanRoutingIndex<V> {
+
+    // bank code is packed with country to 57 bits (9 characters)
+    static final int MAX_BANK_LENGTH = 9;
+    // branch code is packed to 63 bits (12 characters)
+    static final int MAX_BRANCH_LENGTH = 12;
+    private static final int BANK_BITS = 47;
+
+    private final long[] banks;
+    private final long[] branches;
+    private final Object[] values;
+    private final int mask;
+    private final int size;
+    private final boolean withBranches;
+    private final int[][] bankPositions;
+    private final int[][] branchPositions;
+
+    private IbanRoutingIndex(Builder<V> builder) {
+        int capacity = capacity(builder.size);
+        this.banks = new long[capacity];
+        this.branches = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        boolean withBranches = false;
+        for(int i = 0; i < builder.banks.length; i++) {
+            long bank = builder.banks[i];
+            if(bank == 0) continue;
+            long branch = builder.branches[i];
+            if(branch != 0) withBranches = true;
+            int slot = slot(banks, branches, mask, bank, branch);
+            banks[slot] = bank;
+            branches[slot] = branch;
+            values[slot] = builder.values[i];
+        }
+        this.size = builder.size;
+        this.withBranches = withBranches;
+        this.bankPositions = builder.bankPositions;
+        this.branchPositions = builder.branchPositions;
+    }
+
+    /**
+     * Creates builder of index using positions from IbanConfigRepository.
+     * @param <V> type of values
+     * @return new builder
+     */
+    public static <V> Builder<V> builder() { return new Builder<>(IbanConfigRepository.all()); }
+
+    /**
+     * Creates builder of index using positions from given configs.
+     * @param <V> type of values
+     * @param configs configs defining bank and branch positions (for example IbanRegistry.all())
+     * @return new builder
+     */
+    public static <V> Builder<V> builder(Collection<IbanConfig> configs) { return new Builder<>(configs); }
+
+    /**
+     * Number of entries.
+     * @return number of entries
+     */
+    public int size() { return size; }
+
+    /**
+     * Finds value for given iban.
+     * @param iban iban
+     * @return value or null if there is no entry for bank of iban
+     */
+    public V get(Iban iban) {
+        if(iban == null) return null;
+        return get(iban.iban());
+    }
+
+    /**
+     * Finds value for given iban without spaces. Iban is not validated.
+     * No object is created during lookup.
+     * @param iban iban without spaces
+     * @return value or null if there is no entry for bank of iban
+     */
+    public V get(CharSequence iban) {
+        if((iban == null) || (iban.length() < 2)) return null;
+        int country = IbanConfig.index((char)(iban.charAt(0) & 0xffdf), (char)(iban.charAt(1) & 0xffdf));
+        if(country < 0) return null;
+        int[] bankPos = bankPositions[country];
+        if(bankPos == null) return null;
+        long code = pack(iban, bankPos);
+        if(code < 0) return null;
+        long bank = bankKey(country, code);
+        if(withBranches) {
+            int[] branchPos = branchPositions[country];
+            if(branchPos != null) {
+                long branch = pack(iban, branchPos);
+                if(branch > 0) {
+                    V value = find(bank, branch);
+                    if(value != null) return value;
+                }
+            }
+        }
+        return find(bank, 0);
+    }
+
+    /**
+     * Finds value for given country, bank and branch.
+     * @param country country code
+     * @param bank national bank number
+     * @param branch branch or null
+     * @return value or null if there is no entry for bank
+     */
+    public V get(CharSequence country, CharSequence bank, CharSequence branch) {
+        if((country == null) || (country.length() != 2) || (bank == null)) return null;
+        int index = IbanConfig.index((char)(country.charAt(0) & 0xffdf), (char)(country.charAt(1) & 0xffdf));
+        if(index < 0) return null;
+        if(bank.length() > MAX_BANK_LENGTH) return null;
+        long code = pack(bank);
+        if(code < 0) return null;
+        long bankKey = bankKey(index, code);
+        if(withBranches && (branch != null) && (branch.length() > 0) && (branch.length() <= MAX_BRANCH_LENGTH)) {
+            long branchKey = pack(branch);
+            if(branchKey > 0) {
+                V value = find(bankKey, branchKey);
+                if(value != null) return value;
+            }
+        }
+        return find(bankKey, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V find(long bank, long branch) {
+        int i = hash(bank, branch) & mask;
+        while(true) {
+            long b = banks[i];
+            if(b == 0) return null;
+            if((b == bank) && (branches[i] == branch)) return (V)values[i];
+            i = (i + 1) & mask;
+        }
+    }
+
+    private static int slot(long[] banks, long[] branches, int mask, long bank, long branch) {
+        int i = hash(bank, branch) & mask;
+        while(true) {
+            long b = banks[i];
+            if(b == 0) return i;
+            if((b == bank) && (branches[i] == branch)) return i;
+            i = (i + 1) & mask;
+        }
+    }
+
+    private static int hash(long bank, long branch) {
+        long h = bank * 0x9e3779b97f4a7c15L + branch;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int)h;
+    }
+
+    private static int capacity(int size) {
+        // load factor 0.5 - 0.75
+        int capacity = 16;
+        while(capacity < size + (size >> 1) + 1) capacity <<= 1;
+        return capacity;
+    }
+
+    private static long bankKey(int country, long code) {
+        return ((long)(country + 1) << BANK_BITS) | code;
+    }
+
+    private static int code(char c) {
+        if(('0' <= c) && (c <= '9')) return c - '0' + 1;
+        c = (char)(c & 0xffdf);
+        if(('A' <= c) && (c <= 'Z')) return c - 'A' + 11;
+        return -1;
+    }
+
+    // base 37 code of given characters or -1 if some character is not letter or digit
+    private static long pack(CharSequence value) {
+        long code = 0;
+        int len = value.length();
+        for(int i = 0; i < len; i++) {
+            int c = code(value.charAt(i));
+            if(c < 0) return -1;
+            code = code * 37 + c;
+        }
+        return code;
+    }
+
+    private static long pack(CharSequence iban, int[] positions) {
+        if(positions[positions.length - 1] >= iban.length()) return -1;
+        long code = 0;
+        for(int i = 0; i < positions.length; i++) {
+            int c = code(iban.charAt(positions[i]));
+            if(c < 0) return -1;
+            code = code * 37 + c;
+        }
+        return code;
+    }
+
+    private static int[] positions(String pattern, char c) {
+        int count = 0;
+        for(int i = 0; i < pattern.length(); i++) {
+            if(pattern.charAt(i) == c) count++;
+        }
+        if(count == 0) return null;
+        int[] positions = new int[count];
+        count = 0;
+        for(int i = 0; i < pattern.length(); i++) {
+            if(pattern.charAt(i) == c) positions[count++] = i;
+        }
+        return positions;
+    }
+
+    /**
+     * Builder of IbanRoutingIndex. Builder is not thread safe.
+     * @param <V> type of values
+     */
+    public static class Builder<V> {
+        private final int[][] bankPositions = new int[26 * 26][];
+        private final int[][] branchPositions = new int[26 * 26][];
+        private long[] banks = new long[16];
+        private long[] branches = new long[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        protected Builder(Collection<IbanConfig> configs) {
+            for(IbanConfig config : configs) {
+                int country = IbanConfig.index(config.id());
+                String pattern = config.pattern();
+                if((country < 0) || (pattern == null)) continue;
+                int[] bank = positions(pattern, 'b');
+                if(bank == null) bank = positions(pattern, 'q');
+                int[] branch = positions(pattern, 's');
+                if((bank != null) && (bank.length > MAX_BANK_LENGTH)) bank = null;
+                if((branch != null) && (branch.length > MAX_BRANCH_LENGTH)) branch = null;
+                bankPositions[country] = bank;
+                branchPositions[country] = branch;
+            }
+        }
+
+        /**
+         * Adds entry for all branches of given bank. Existing entry with same
+         * key is replaced.
+         * @param country country code
+         * @param bank national bank number
+         * @param value value
+         * @return this
+         */
+        public Builder<V> put(String country, CharSequence bank, V value) {
+            return put(country, bank, null, value);
+        }
+
+        /**
+         * Adds entry. Existing entry with same key is replaced.
+         * @param country country code
+         * @param bank national bank number
+         * @param branch branch or null for all branches
+         * @param value value
+         * @return this
+         * @throws IllegalArgumentException if country is not known or codes does not match its pattern
+         */
+        public Builder<V> put(String country, CharSequence bank, CharSequence branch, V value) {
+            if(value == null) throw new IllegalArgumentException("value is null");
+            if((country == null) || (country.length() != 2)) throw new IllegalArgumentException("bad country code " + country);
+            int index = IbanConfig.index((char)(country.charAt(0) & 0xffdf), (char)(country.charAt(1) & 0xffdf));
+            if(index < 0) throw new IllegalArgumentException("bad country code " + country);
+            int[] bankPos = bankPositions[index];
+            if(bankPos == null) throw new IllegalArgumentException("country " + country + " has no bank code in pattern");
+            if((bank == null) || (bank.length() != bankPos.length)) throw new IllegalArgumentException("bank code " + bank + " must have " + bankPos.length + " characters for " + country);
+            long bankCode = pack(bank);
+            if(bankCode < 0) throw new IllegalArgumentException("bad bank code " + bank);
+            long branchCode = 0;
+            if((branch != null) && (branch.length() > 0)) {
+                int[] branchPos = branchPositions[index];
+                if(branchPos == null) throw new IllegalArgumentException("country " + country + " has no branch in pattern");
+                if(branch.length() != branchPos.length) throw new IllegalArgumentException("branch " + branch + " must have " + branchPos.length + " characters for " + country);
+                branchCode = pack(branch);
+                if(branchCode <= 0) throw new IllegalArgumentException("bad branch " + branch);
+            }
+            long bankKey = bankKey(index, bankCode);
+            if(size + (size >> 1) + 1 >= banks.length) grow();
+            int slot = slot(banks, branches, banks.length - 1, bankKey, branchCode);
+            if(banks[slot] == 0) size++;
+            banks[slot] = bankKey;
+            branches[slot] = branchCode;
+            values[slot] = value;
+            return this;
+        }
+
+        private void grow() {
+            long[] oldBanks = banks;
+            long[] oldBranches = branches;
+            Object[] oldValues = values;
+            int capacity = oldBanks.length << 1;
+            banks = new long[capacity];
+            branches = new long[capacity];
+            values = new Object[capacity];
+            for(int i = 0; i < oldBanks.length; i++) {
+                if(oldBanks[i] == 0) continue;
+                int slot = slot(banks, branches, capacity - 1, oldBanks[i], oldBranches[i]);
+                banks[slot] = oldBanks[i];
+                branches[slot] = oldBranches[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        /**
+         * Number of entries.
+         * @return number of entries
+         */
+        public int size() { return size; }
+
+        /**
+         * Creates immutable index. Builder can be used for next index.
+         * @return new index
+         */
+        public IbanRoutingIndex<V> build() {
+            return new IbanRoutingIndex<>(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IbanRoutingIndex{" + "size=" + size + ", capacity=" + banks.length + '}';
+    }
+}
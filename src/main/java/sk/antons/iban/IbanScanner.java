@@ -0,0 +1,315 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds valid ibans in free text (remittance info, emails, OCR output).
+ * Candidates are identified by country code and country length from
+ * config table, single separator (space or dash by default) is allowed
+ * between iban characters. Candidate is reported only if it is not part
+ * of longer word and if it has correct format and checksum. Matches are
+ * reported as offsets so no object is created per candidate.
+ * <pre>
+ * IbanScanner scanner = IbanScanner.instance();
+ * scanner.scan(text, (start, end) -&gt; System.out.println(text.subSequence(start, end)));
+ * List&lt;String&gt; ibans = scanner.extract(text); // [SK8975000000000012345671]
+ * </pre>
+ * @author antons
+ */
+public class IbanScanner {
+
+    private static final byte UPPER = 1;
+    private static final byte ALNUM = 2;
+    private static final byte SEPARATOR = 4;
+
+    private final IbanRegistry registry;
+    private final byte[] classes = new byte[128];
+
+    protected IbanScanner(IbanRegistry registry) {
+        this.registry = registry;
+        for(char c = '0'; c <= '9'; c++) classes[c] = ALNUM;
+        for(char c = 'a'; c <= 'z'; c++) classes[c] = ALNUM;
+        for(char c = 'A'; c <= 'Z'; c++) classes[c] = UPPER | ALNUM;
+        separators(" -");
+    }
+
+    /**
+     * Scanner using configs from IbanConfigRepository.
+     * @return new instance
+     */
+    public static IbanScanner instance() { return new IbanScanner(null); }
+
+    /**
+     * Scanner using configs from given registry. Current registry snapshot
+     * is used for each scan.
+     * @param registry source of configs
+     * @return new instance
+     */
+    public static IbanScanner instance(IbanRegistry registry) { return new IbanScanner(registry); }
+
+    /**
+     * Characters allowed between iban characters. Only one separator is
+     * allowed between two characters. (default is space and dash)
+     * @param value ascii separators (empty for none)
+     * @return this
+     */
+    public IbanScanner separators(String value) {
+        for(int i = 0; i < classes.length; i++) classes[i] &= ~SEPARATOR;
+        if(value != null) {
+            for(int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if(c >= 128) throw new IllegalArgumentException("only ascii separators are supported " + c);
+                if(classes[c] != 0) throw new IllegalArgumentException("separator must not be letter or digit " + c);
+                classes[c] = SEPARATOR;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Receives found ibans.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called for each found iban.
+         * @param start offset of first iban character
+         * @param end offset after last iban character
+         */
+        void found(int start, int end);
+    }
+
+    /**
+     * Finds all ibans in given text.
+     * @param text scanned text
+     * @param listener receiver of found ibans
+     * @return number of found ibans
+     */
+    public int scan(CharSequence text, Listener listener) {
+        if(text == null) return 0;
+        return scan(text, null, null, null, 0, text.length(), listener);
+    }
+
+    /**
+     * Finds all ibans in given part of array.
+     * @param text scanned text
+     * @param offset start of scanned part
+     * @param length length of scanned part
+     * @param listener receiver of found ibans (offsets are array indexes)
+     * @return number of found ibans
+     */
+    public int scan(char[] text, int offset, int length, Listener listener) {
+        if(text == null) return 0;
+        return scan(null, text, null, null, offset, offset + length, listener);
+    }
+
+    /**
+     * Finds all ibans in given part of array with ascii compatible text
+     * (ASCII, UTF-8, ISO-8859-x).
+     * @param text scanned text
+     * @param offset start of scanned part
+     * @param length length of scanned part
+     * @param listener receiver of found ibans (offsets are array indexes)
+     * @return number of found ibans
+     */
+    public int scan(byte[] text, int offset, int length, Listener listener) {
+        if(text == null) return 0;
+        return scan(null, null, text, null, offset, offset + length, listener);
+    }
+
+    /**
+     * Finds all ibans in remaining part of buffer with ascii compatible
+     * text. Buffer position is not changed.
+     * @param text scanned text
+     * @param listener receiver of found ibans (offsets are buffer indexes)
+     * @return number of found ibans
+     */
+    public int scan(ByteBuffer text, Listener listener) {
+        if(text == null) return 0;
+        if(text.hasArray()) {
+            int base = text.arrayOffset();
+            return scan(null, null, text.array(), null, base + text.position(), base + text.limit(),
+                (start, end) -> listener.found(start - base, end - base));
+        }
+        return scan(null, null, null, text, text.position(), text.limit(), listener);
+    }
+
+    /**
+     * Finds first iban starting at given offset or later. Result is
+     * encoded in one long (use start() and end()), so repeated calls do
+     * not create any object.
+     * <pre>
+     * for(long m = scanner.find(text, 0); m &gt;= 0; m = scanner.find(text, IbanScanner.end(m))) {
+     *     ...
+     * }
+     * </pre>
+     * @param text scanned text
+     * @param from offset where scan starts
+     * @return found iban offsets or -1 if there is no iban
+     */
+    public long find(CharSequence text, int from) {
+        if(text == null) return -1;
+        return find(text, null, null, null, table(), from, text.length());
+    }
+
+    /**
+     * Start of iban encoded by find().
+     * @param match result of find()
+     * @return offset of first iban character
+     */
+    public static int start(long match) { return (int)(match >>> 32); }
+
+    /**
+     * End of iban encoded by find().
+     * @param match result of find()
+     * @return offset after last iban character
+     */
+    public static int end(long match) { return (int)match; }
+
+    /**
+     * Found ibans without separators.
+     * @param text scanned text
+     * @return list of found ibans
+     */
+    public List<String> extract(CharSequence text) {
+        List<String> list = new ArrayList<>();
+        scan(text, (start, end) -> {
+            StringBuilder sb = new StringBuilder(end - start);
+            for(int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if(c < 128 && (classes[c] & ALNUM) != 0) sb.append(c);
+            }
+            list.add(sb.toString());
+        });
+        return list;
+    }
+
+    private IbanConfig[] table() {
+        return registry == null ? IbanConfigRepository.TABLE : registry.table();
+    }
+
+    private int scan(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int from, int to, Listener listener) {
+        IbanConfig[] table = table();
+        int count = 0;
+        long match = find(seq, chars, bytes, buffer, table, from, to);
+        while(match >= 0) {
+            count++;
+            listener.found(start(match), end(match));
+            match = find(seq, chars, bytes, buffer, table, end(match), to);
+        }
+        return count;
+    }
+
+    /**
+     * Candidate must start with two capitals. Only every second character
+     * is tested until capital is found, because if it is not capital
+     * neither it nor previous character can start candidate.
+     */
+    private long find(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, IbanConfig[] table, int from, int to) {
+        int i = from;
+        while(i + 1 < to) {
+            if(!upper(CompiledIbanValidator.charAt(seq, chars, bytes, buffer, i + 1))) {
+                i += 2;
+                continue;
+            }
+            if(!upper(CompiledIbanValidator.charAt(seq, chars, bytes, buffer, i))) {
+                i++;
+                continue;
+            }
+            int end = match(seq, chars, bytes, buffer, table, i, to);
+            if(end > 0) return ((long)i << 32) | end;
+            i++;
+        }
+        return -1;
+    }
+
+    private boolean upper(char c) {
+        return (c < 128) && ((classes[c] & UPPER) != 0);
+    }
+
+    private boolean alnum(char c) {
+        return (c < 128) && ((classes[c] & ALNUM) != 0);
+    }
+
+    private boolean separator(char c) {
+        return (c < 128) && ((classes[c] & SEPARATOR) != 0);
+    }
+
+    /**
+     * Checks candidate starting with two capitals at given position.
+     * @return end of iban or -1
+     */
+    private int match(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, IbanConfig[] table, int start, int to) {
+        if((start > 0) && alnum(CompiledIbanValidator.charAt(seq, chars, bytes, buffer, start - 1))) return -1;
+        char c1 = CompiledIbanValidator.charAt(seq, chars, bytes, buffer, start);
+        char c2 = CompiledIbanValidator.charAt(seq, chars, bytes, buffer, start + 1);
+        IbanConfig config = table[(c1 - 'A') * 26 + (c2 - 'A')];
+        if(config == null) return -1;
+        int length = config.length;
+        if(start + length > to) return -1;
+        int head = (c1 - 'A' + 10) * 100 + (c2 - 'A' + 10); // at most 8 digits (no modulo needed)
+        int headDigits = 4;
+        long body = 0;
+        int pos = 2;
+        int i = start + 2;
+        boolean separated = false;
+        for(; (pos < length) && (i < to); i++) {
+            char c = CompiledIbanValidator.charAt(seq, chars, bytes, buffer, i);
+            if(('0' <= c) && (c <= '9')) {
+                if(pos < 4) {
+                    head = head * 10 + (c - '0');
+                    headDigits++;
+                } else {
+                    body = body * 10 + (c - '0');
+                }
+            } else if(('A' <= c) && (c <= 'Z')) {
+                if(pos < 4) {
+                    head = head * 100 + (c - 'A' + 10);
+                    headDigits += 2;
+                } else {
+                    body = body * 100 + (c - 'A' + 10);
+                }
+            } else if(separator(c) && !separated) {
+                separated = true;
+                continue;
+            } else {
+                return -1;
+            }
+            if(body >= Iban.MOD97_LIMIT) body %= 97;
+            separated = false;
+            pos++;
+        }
+        if(pos < length) return -1;
+        if((i < to) && alnum(CompiledIbanValidator.charAt(seq, chars, bytes, buffer, i))) return -1;
+        int mod = (int)(((body % 97) * POW10[headDigits] + head % 97) % 97);
+        if(mod != 1) return -1;
+        CompiledIbanValidator validator = config.compile();
+        pos = 0;
+        for(int j = start; j < i; j++) {
+            char c = CompiledIbanValidator.charAt(seq, chars, bytes, buffer, j);
+            if(separator(c)) continue;
+            if(!validator.allowed(pos++, c)) return -1;
+        }
+        return i;
+    }
+
+    private static final long[] POW10 = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+
+}
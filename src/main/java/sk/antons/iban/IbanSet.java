@@ -0,0 +1,280 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of ibans stored in packed form (see PackedIban) in one long array.
+ * Open addressing with linear probing is used, so there is no object per
+ * entry. Each slot has 24 bytes and table is filled up to 75%, so memory
+ * is 32 - 64 bytes per iban. Ibans are compared in canonical form (without
+ * spaces, capital letters).
+ * <p>
+ * Set is not thread safe.
+ * <pre>
+ * IbanSet set = IbanSet.instance(10_000_000);
+ * boolean added = set.add("SK8975000000000012345671");
+ * boolean known = set.contains("SK89 7500 0000 0000 1234 5671"); // true
+ * </pre>
+ * @author antons
+ */
+public class IbanSet implements Iterable<PackedIban> {
+
+    private static final int W = PackedIban.WORDS;
+    // largest power of two capacity with all words in one array
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private int threshold;
+    private int modifications;
+    private final long[] key = new long[W];
+
+    protected IbanSet(int expectedSize) {
+        int capacity = 16;
+        while((capacity < MAX_CAPACITY) && (expectedSize > threshold(capacity))) capacity <<= 1;
+        init(capacity);
+    }
+
+    /**
+     * Creates empty set.
+     * @return new set
+     */
+    public static IbanSet instance() { return new IbanSet(0); }
+    /**
+     * Creates empty set with capacity for given number of ibans.
+     * @param expectedSize expected number of ibans
+     * @return new set
+     */
+    public static IbanSet instance(int expectedSize) { return new IbanSet(expectedSize); }
+
+    private static int threshold(int capacity) {
+        return (int)(capacity * 3L / 4);
+    }
+
+    private void init(int capacity) {
+        table = new long[capacity * W];
+        mask = capacity - 1;
+        threshold = threshold(capacity);
+    }
+
+    /**
+     * Number of ibans in set.
+     * @return size
+     */
+    public int size() { return size; }
+    /**
+     * True if set is empty.
+     * @return true if there is no iban
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Adds iban to set. Spaces are ignored.
+     * @param iban added iban
+     * @return true if iban was not in set before
+     * @throws IllegalArgumentException if iban can not be packed
+     */
+    public boolean add(CharSequence iban) {
+        if(!PackedIban.pack(iban, key, 0)) throw new IllegalArgumentException("unable to pack iban " + iban);
+        return add(key[0], key[1], key[2]);
+    }
+
+    /**
+     * Adds iban to set.
+     * @param iban added iban
+     * @return true if iban was not in set before
+     */
+    public boolean add(Iban iban) {
+        if(iban == null) throw new IllegalArgumentException("iban is null");
+        return add(iban.iban());
+    }
+
+    /**
+     * Adds iban to set.
+     * @param iban added iban
+     * @return true if iban was not in set before
+     */
+    public boolean add(PackedIban iban) {
+        if(iban == null) throw new IllegalArgumentException("iban is null");
+        return add(iban.word(0), iban.word(1), iban.word(2));
+    }
+
+    private boolean add(long w0, long w1, long w2) {
+        int slot = slot(w0, w1, w2);
+        int i = slot * W;
+        if(table[i] != 0) return false;
+        if(size >= threshold) {
+            grow();
+            i = slot(w0, w1, w2) * W;
+        }
+        table[i] = w0;
+        table[i + 1] = w1;
+        table[i + 2] = w2;
+        size++;
+        modifications++;
+        return true;
+    }
+
+    /**
+     * Checks if iban is in set. Spaces are ignored.
+     * @param iban checked iban
+     * @return true if iban is in set (false if iban can not be packed)
+     */
+    public boolean contains(CharSequence iban) {
+        if(!PackedIban.pack(iban, key, 0)) return false;
+        return table[slot(key[0], key[1], key[2]) * W] != 0;
+    }
+
+    /**
+     * Checks if iban is in set.
+     * @param iban checked iban
+     * @return true if iban is in set
+     */
+    public boolean contains(Iban iban) {
+        if(iban == null) return false;
+        return contains(iban.iban());
+    }
+
+    /**
+     * Checks if iban is in set.
+     * @param iban checked iban
+     * @return true if iban is in set
+     */
+    public boolean contains(PackedIban iban) {
+        if(iban == null) return false;
+        return table[slot(iban.word(0), iban.word(1), iban.word(2)) * W] != 0;
+    }
+
+    /**
+     * Removes iban from set. Spaces are ignored.
+     * @param iban removed iban
+     * @return true if iban was in set
+     */
+    public boolean remove(CharSequence iban) {
+        if(!PackedIban.pack(iban, key, 0)) return false;
+        return remove(key[0], key[1], key[2]);
+    }
+
+    /**
+     * Removes iban from set.
+     * @param iban removed iban
+     * @return true if iban was in set
+     */
+    public boolean remove(PackedIban iban) {
+        if(iban == null) return false;
+        return remove(iban.word(0), iban.word(1), iban.word(2));
+    }
+
+    private boolean remove(long w0, long w1, long w2) {
+        int slot = slot(w0, w1, w2);
+        if(table[slot * W] == 0) return false;
+        // backward shift, so no tombstones are needed
+        int hole = slot;
+        int i = (hole + 1) & mask;
+        while(table[i * W] != 0) {
+            int home = PackedIban.hash(table[i * W], table[i * W + 1], table[i * W + 2]) & mask;
+            if(((i - home) & mask) >= ((i - hole) & mask)) {
+                System.arraycopy(table, i * W, table, hole * W, W);
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        table[hole * W] = 0;
+        table[hole * W + 1] = 0;
+        table[hole * W + 2] = 0;
+        size--;
+        modifications++;
+        return true;
+    }
+
+    /**
+     * Removes all ibans.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+        modifications++;
+    }
+
+    // slot with given key or first empty slot
+    private int slot(long w0, long w1, long w2) {
+        int slot = PackedIban.hash(w0, w1, w2) & mask;
+        while(true) {
+            int i = slot * W;
+            long v = table[i];
+            if(v == 0) return slot;
+            if((v == w0) && (table[i + 1] == w1) && (table[i + 2] == w2)) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        int capacity = mask + 1;
+        if(capacity >= MAX_CAPACITY) throw new IllegalStateException("set is full");
+        long[] old = table;
+        init(capacity << 1);
+        for(int i = 0; i < old.length; i += W) {
+            if(old[i] == 0) continue;
+            int j = slot(old[i], old[i + 1], old[i + 2]) * W;
+            table[j] = old[i];
+            table[j + 1] = old[i + 1];
+            table[j + 2] = old[i + 2];
+        }
+    }
+
+    /**
+     * Iterates over ibans in set. Order is not defined. PackedIban instance
+     * is created for each iban.
+     * @return iterator
+     */
+    @Override
+    public Iterator<PackedIban> iterator() {
+        return new Iterator<PackedIban>() {
+            final int expected = modifications;
+            int next = find(0);
+
+            private int find(int from) {
+                for(int i = from; i < table.length; i += W) {
+                    if(table[i] != 0) return i;
+                }
+                return -1;
+            }
+
+            @Override
+            public boolean hasNext() { return next >= 0; }
+
+            @Override
+            public PackedIban next() {
+                if(next < 0) throw new NoSuchElementException();
+                if(expected != modifications) throw new ConcurrentModificationException();
+                PackedIban value = PackedIban.of(table[next], table[next + 1], table[next + 2]);
+                next = find(next + W);
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "IbanSet{" + "size=" + size + ", capacity=" + (mask + 1) + '}';
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+/**
+ * Result of iban validation.
+ * @author antons
+ */
+public enum IbanStatus {
+    /** Iban is valid. */
+    OK,
+    /** Country can not be identified from first two characters. */
+    UNKNOWN_COUNTRY,
+    /** Length differs from length defined for country. */
+    BAD_LENGTH,
+    /** Iban does not match format defined for country. */
+    BAD_FORMAT,
+    /** Iban checksum digits are not correct. */
+    BAD_CHECKSUM;
+
+    private static final IbanStatus[] VALUES = values();
+
+    /**
+     * Primitive code of this status. (same as ordinal)
+     * @return code
+     */
+    public byte code() { return (byte)ordinal(); }
+
+    /**
+     * Status for given primitive code.
+     * @param code status code
+     * @return status
+     */
+    public static IbanStatus of(int code) { return VALUES[code]; }
+
+    /**
+     * Check if this status means valid iban.
+     * @return true for OK
+     */
+    public boolean valid() { return this == OK; }
+}
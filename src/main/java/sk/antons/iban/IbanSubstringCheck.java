@@ -15,6 +15,7 @@
  */
 package sk.antons.iban;
 
+import java.nio.ByteBuffer;
 import java.util.function.IntPredicate;
 
 /**
@@ -34,6 +35,16 @@ public class IbanSubstringCheck {
     }
 
     public boolean validate(String iban) {
+        return validate((CharSequence)iban);
+    }
+
+    /**
+     * Validates given iban.
+     * @param iban iban without spaces
+     * @return true if iban substring is valid (false if iban is too short)
+     */
+    public boolean validate(CharSequence iban) {
+        if((iban == null) || (endPos > iban.length())) return false;
         for(int i = startPos; i < endPos; i++) {
             char c = iban.charAt(i);
             if(!check.test(c)) return false;
@@ -41,16 +52,78 @@ public class IbanSubstringCheck {
         return true;
     }
 
+    /**
+     * Validates iban stored in given part of array.
+     * @param iban array with iban
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return true if iban substring is valid (false if iban is too short)
+     */
+    public boolean validate(char[] iban, int offset, int length) {
+        if((iban == null) || (endPos > length)) return false;
+        for(int i = startPos; i < endPos; i++) {
+            char c = iban[offset + i];
+            if(!check.test(c)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Validates iban stored as ascii characters in given part of array.
+     * @param iban array with iban
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return true if iban substring is valid (false if iban is too short)
+     */
+    public boolean validate(byte[] iban, int offset, int length) {
+        if((iban == null) || (endPos > length)) return false;
+        for(int i = startPos; i < endPos; i++) {
+            char c = (char)(iban[offset + i] & 0xff);
+            if(!check.test(c)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Validates iban stored as ascii characters in remaining part of given
+     * buffer. Buffer position is not changed.
+     * @param iban buffer with iban
+     * @return true if iban substring is valid (false if iban is too short)
+     */
+    public boolean validate(ByteBuffer iban) {
+        if((iban == null) || (endPos > iban.remaining())) return false;
+        int offset = iban.position();
+        for(int i = startPos; i < endPos; i++) {
+            char c = (char)(iban.get(offset + i) & 0xff);
+            if(!check.test(c)) return false;
+        }
+        return true;
+    }
+
+    // shared predicates are plain classes, lambda bootstrap is noticeable at startup
+    private static final IntPredicate NUMERIC = new IntPredicate() {
+        @Override
+        public boolean test(int c) { return ('0' <= c) && (c <= '9'); }
+    };
+    private static final IntPredicate CAPITALS = new IntPredicate() {
+        @Override
+        public boolean test(int c) { return ('A' <= c) && (c <= 'Z'); }
+    };
+    private static final IntPredicate LETTERS = new IntPredicate() {
+        @Override
+        public boolean test(int c) { return (('A' <= c) && (c <= 'Z')) || (('a' <= c) && (c <= 'z')) || (('0' <= c) && (c <= '9')); }
+    };
+
     public static IbanSubstringCheck numeric(int startPos, int endPos) {
-        return new IbanSubstringCheck("0", c -> (('0' <= c) && (c <= '9')), startPos, endPos);
+        return new IbanSubstringCheck("0", NUMERIC, startPos, endPos);
     }
 
     public static IbanSubstringCheck capitals(int startPos, int endPos) {
-        return new IbanSubstringCheck("A", c -> (('A' <= c) && (c <= 'Z')), startPos, endPos);
+        return new IbanSubstringCheck("A", CAPITALS, startPos, endPos);
     }
 
     public static IbanSubstringCheck letters(int startPos, int endPos) {
-        return new IbanSubstringCheck("Aa0", c -> ((('A' <= c) && (c <= 'Z')) || (('a' <= c) && (c <= 'z')) || (('0' <= c) && (c <= '9'))), startPos, endPos);
+        return new IbanSubstringCheck("Aa0", LETTERS, startPos, endPos);
     }
 
     @Override
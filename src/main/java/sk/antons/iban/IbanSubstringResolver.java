@@ -15,6 +15,9 @@
  */
 package sk.antons.iban;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  *
  * @author antons
@@ -23,6 +26,86 @@ public interface IbanSubstringResolver {
 
     String resolve(String iban);
 
+    /**
+     * Resolves part of given iban.
+     * @param iban iban without spaces
+     * @return part of iban or null
+     */
+    default String resolve(CharSequence iban) {
+        return resolve(iban.toString());
+    }
+
+    /**
+     * Resolves part of iban stored in given part of array.
+     * @param iban array with iban without spaces
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return part of iban or null
+     */
+    default String resolve(char[] iban, int offset, int length) {
+        return resolve(new String(iban, offset, length));
+    }
+
+    /**
+     * Resolves part of iban stored as ascii characters in given part of array.
+     * @param iban array with iban without spaces
+     * @param offset start of iban in array
+     * @param length length of iban in array
+     * @return part of iban or null
+     */
+    default String resolve(byte[] iban, int offset, int length) {
+        return resolve(new String(iban, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Resolves part of iban stored as ascii characters in remaining part
+     * of given buffer. Buffer position is not changed.
+     * @param iban buffer with iban without spaces
+     * @return part of iban or null
+     */
+    default String resolve(ByteBuffer iban) {
+        if(iban.hasArray()) return resolve(iban.array(), iban.arrayOffset() + iban.position(), iban.remaining());
+        byte[] bytes = new byte[iban.remaining()];
+        iban.duplicate().get(bytes);
+        return resolve(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Start position of resolved part in iban if part is continuous.
+     * @return start position or -1 if part does not exist or is not continuous
+     */
+    default int start() { return -1; }
+
+    /**
+     * End position (exclusive) of resolved part in iban if part is continuous.
+     * @return end position or -1 if part does not exist or is not continuous
+     */
+    default int end() { return -1; }
+
+    /**
+     * Compares part of given iban with given value without creating
+     * substring.
+     * @param iban iban without spaces
+     * @param value compared value
+     * @return true if part is equal to value (null value is equal to not existing part)
+     */
+    default boolean partEquals(CharSequence iban, CharSequence value) {
+        String part = resolve(iban);
+        if(part == null) return value == null;
+        return (value != null) && part.contentEquals(value);
+    }
+
+    /**
+     * Hash of part of given iban computed without creating substring. It
+     * is same as hashCode() of resolved String.
+     * @param iban iban without spaces
+     * @return hash of part or 0 if part does not exist
+     */
+    default int partHash(CharSequence iban) {
+        String part = resolve(iban);
+        return part == null ? 0 : part.hashCode();
+    }
+
     public static class None implements IbanSubstringResolver {
 
         @Override
@@ -30,6 +113,26 @@ public interface IbanSubstringResolver {
             return null;
         }
 
+        @Override
+        public String resolve(CharSequence iban) {
+            return null;
+        }
+
+        @Override
+        public String resolve(char[] iban, int offset, int length) {
+            return null;
+        }
+
+        @Override
+        public String resolve(byte[] iban, int offset, int length) {
+            return null;
+        }
+
+        @Override
+        public String resolve(ByteBuffer iban) {
+            return null;
+        }
+
         public static None instance() { return new None(); }
 
         @Override
@@ -49,6 +152,60 @@ public interface IbanSubstringResolver {
             return iban.substring(startPos, endPos);
         }
 
+        @Override
+        public String resolve(CharSequence iban) {
+            return iban.subSequence(startPos, endPos).toString();
+        }
+
+        @Override
+        public String resolve(char[] iban, int offset, int length) {
+            if(endPos > length) throw new StringIndexOutOfBoundsException(endPos);
+            return new String(iban, offset + startPos, endPos - startPos);
+        }
+
+        @Override
+        public String resolve(byte[] iban, int offset, int length) {
+            if(endPos > length) throw new StringIndexOutOfBoundsException(endPos);
+            return new String(iban, offset + startPos, endPos - startPos, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String resolve(ByteBuffer iban) {
+            if(iban.hasArray()) return resolve(iban.array(), iban.arrayOffset() + iban.position(), iban.remaining());
+            if(endPos > iban.remaining()) throw new StringIndexOutOfBoundsException(endPos);
+            char[] chars = new char[endPos - startPos];
+            int offset = iban.position() + startPos;
+            for(int i = 0; i < chars.length; i++) chars[i] = (char)(iban.get(offset + i) & 0xff);
+            return new String(chars);
+        }
+
+        @Override
+        public int start() { return startPos; }
+
+        @Override
+        public int end() { return endPos; }
+
+        @Override
+        public boolean partEquals(CharSequence iban, CharSequence value) {
+            if(value == null) return false;
+            if(endPos > iban.length()) throw new StringIndexOutOfBoundsException(endPos);
+            if(value.length() != endPos - startPos) return false;
+            for(int i = startPos; i < endPos; i++) {
+                if(iban.charAt(i) != value.charAt(i - startPos)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int partHash(CharSequence iban) {
+            if(endPos > iban.length()) throw new StringIndexOutOfBoundsException(endPos);
+            int h = 0;
+            for(int i = startPos; i < endPos; i++) {
+                h = 31 * h + iban.charAt(i);
+            }
+            return h;
+        }
+
         public Substring(int startPos, int endPos) {
             this.startPos = startPos;
             this.endPos = endPos;
@@ -70,17 +227,68 @@ public interface IbanSubstringResolver {
 
         @Override
         public String resolve(String iban) {
+            return resolve(iban, null, null, null, 0, iban.length());
+        }
+
+        @Override
+        public String resolve(CharSequence iban) {
+            return resolve(iban, null, null, null, 0, iban.length());
+        }
+
+        @Override
+        public String resolve(char[] iban, int offset, int length) {
+            return resolve(null, iban, null, null, offset, length);
+        }
+
+        @Override
+        public String resolve(byte[] iban, int offset, int length) {
+            return resolve(null, null, iban, null, offset, length);
+        }
+
+        @Override
+        public String resolve(ByteBuffer iban) {
+            return resolve(null, null, null, iban, iban.position(), iban.remaining());
+        }
+
+        private String resolve(CharSequence seq, char[] chars, byte[] bytes, ByteBuffer buffer, int offset, int length) {
             StringBuilder sb = new StringBuilder();
             int len = pattern.length();
             for(int i = 0; i < len; i++) {
                 char cc = pattern.charAt(i);
                 if(c != cc) continue;
-                char ccc = iban.charAt(i);
+                if(i >= length) throw new StringIndexOutOfBoundsException(i);
+                char ccc = CompiledIbanValidator.charAt(seq, chars, bytes, buffer, offset + i);
                 sb.append(ccc);
             }
             return sb.length() == 0 ? null : sb.toString();
         }
 
+        @Override
+        public boolean partEquals(CharSequence iban, CharSequence value) {
+            if(value == null) return false;
+            int len = pattern.length();
+            int j = 0;
+            for(int i = 0; i < len; i++) {
+                if(pattern.charAt(i) != c) continue;
+                if(i >= iban.length()) throw new StringIndexOutOfBoundsException(i);
+                if((j >= value.length()) || (iban.charAt(i) != value.charAt(j))) return false;
+                j++;
+            }
+            return j == value.length();
+        }
+
+        @Override
+        public int partHash(CharSequence iban) {
+            int h = 0;
+            int len = pattern.length();
+            for(int i = 0; i < len; i++) {
+                if(pattern.charAt(i) != c) continue;
+                if(i >= iban.length()) throw new StringIndexOutOfBoundsException(i);
+                h = 31 * h + iban.charAt(i);
+            }
+            return h;
+        }
+
         public Pattern(char c, String pattern) {
             this.c = c;
             this.pattern = pattern;
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+/**
+ * Iban which computes derived values (validation status, checksum, pretty
+ * form and pattern parts) only once. Values are computed at first access
+ * and stored in instance. Instance can be shared between threads: stored
+ * values are immutable, so in worst case a value is computed more than
+ * once by concurrent threads (racy single check).
+ * <pre>
+ * Iban iban = MemoizedIban.instance("SK8975000000000012345671");
+ * if(iban.validate().valid()) {
+ *     String bank = iban.nationalBankNumber(); // computed
+ *     bank = iban.nationalBankNumber();        // stored value
+ * }
+ * </pre>
+ * @author antons
+ */
+public final class MemoizedIban extends Iban {
+
+    // marker of not existing part (distinct from any resolved value)
+    private static final String NONE = new String();
+    private static final byte UNKNOWN = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+
+    private IbanStatus status;
+    private byte ibanCheck;
+    private byte formatCheck;
+    private String ibanPretty;
+    private String format;
+    private String accountNumber;
+    private String accountNumberPrefix;
+    private String nationalBankNumber;
+    private String bic;
+    private String currency;
+    private String branch;
+    private String accountType;
+    private String checkDigits;
+
+    private MemoizedIban(String iban, IbanConfig config) {
+        super(iban, config);
+    }
+
+    /**
+     * Create iban for known country. Country is detemined by first two letters.
+     * @param iban account number in iban format.
+     * @return new instance
+     */
+    public static MemoizedIban instance(String iban) {
+        return of(Iban.instance(iban));
+    }
+
+    /**
+     * Create iban for any country.
+     * @param iban account number in iban format.
+     * @param config account number configuration.
+     * @return new instance
+     */
+    public static MemoizedIban instance(String iban, IbanConfig config) {
+        return of(Iban.instance(iban, config));
+    }
+
+    /**
+     * Creates memoizing copy of given iban.
+     * @param iban given iban
+     * @return given iban if it is already MemoizedIban or new instance
+     */
+    public static MemoizedIban of(Iban iban) {
+        if(iban == null) throw new IllegalArgumentException("iban is null");
+        if(iban instanceof MemoizedIban) return (MemoizedIban)iban;
+        return new MemoizedIban(iban.iban, iban.config);
+    }
+
+    @Override
+    public IbanStatus validate() {
+        IbanStatus value = status;
+        if(value == null) {
+            value = super.validate();
+            status = value;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean ibanCheck() {
+        byte value = ibanCheck;
+        if(value == UNKNOWN) {
+            value = super.ibanCheck() ? TRUE : FALSE;
+            ibanCheck = value;
+        }
+        return value == TRUE;
+    }
+
+    @Override
+    public boolean formatCheck() {
+        byte value = formatCheck;
+        if(value == UNKNOWN) {
+            value = super.formatCheck() ? TRUE : FALSE;
+            formatCheck = value;
+        }
+        return value == TRUE;
+    }
+
+    @Override
+    public String ibanPretty() {
+        String value = ibanPretty;
+        if(value == null) {
+            value = super.ibanPretty();
+            ibanPretty = value;
+        }
+        return value;
+    }
+
+    @Override
+    public String format() {
+        String value = format;
+        if(value == null) {
+            value = orNone(super.format());
+            format = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String accountNumber() {
+        String value = accountNumber;
+        if(value == null) {
+            value = part('c');
+            accountNumber = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String accountNumberPrefix() {
+        String value = accountNumberPrefix;
+        if(value == null) {
+            value = part('p');
+            accountNumberPrefix = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String nationalBankNumber() {
+        String value = nationalBankNumber;
+        if(value == null) {
+            value = part('b');
+            nationalBankNumber = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String bic() {
+        String value = bic;
+        if(value == null) {
+            value = part('q');
+            bic = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String currency() {
+        String value = currency;
+        if(value == null) {
+            value = part('m');
+            currency = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String branch() {
+        String value = branch;
+        if(value == null) {
+            value = part('s');
+            branch = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String accountType() {
+        String value = accountType;
+        if(value == null) {
+            value = part('t');
+            accountType = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String checkDigits() {
+        String value = checkDigits;
+        if(value == null) {
+            value = part('x');
+            checkDigits = value;
+        }
+        return orNull(value);
+    }
+
+    @Override
+    public String patternPart(char c) {
+        switch(c) {
+            case 'c': return accountNumber();
+            case 'p': return accountNumberPrefix();
+            case 'b': return nationalBankNumber();
+            case 'q': return bic();
+            case 'm': return currency();
+            case 's': return branch();
+            case 't': return accountType();
+            case 'x': return checkDigits();
+            default: return super.patternPart(c);
+        }
+    }
+
+    private String part(char c) {
+        return orNone(super.patternPart(c));
+    }
+
+    private static String orNone(String value) {
+        return value == null ? NONE : value;
+    }
+
+    private static String orNull(String value) {
+        return value == NONE ? null : value;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+/**
+ * Compact form of iban stored in three longs (24 bytes). First long
+ * contains country code, length and first 9 characters after country code,
+ * next longs contain 12 characters each. Characters are stored as base 36
+ * numbers, so ibans up to 35 characters can be stored.
+ * <p>
+ * Packed form is canonical - spaces are removed and small letters are
+ * stored as capital ones. So ibans which differs only in spaces or case
+ * are equal in packed form. Equality, hash and ordering works on longs
+ * directly. (Ordering is by country, length and characters - it is not
+ * lexicographical order of strings.)
+ * <pre>
+ * PackedIban packed = PackedIban.of("SK89 7500 0000 0000 1234 5671");
+ * String iban = packed.iban(); // SK8975000000000012345671
+ * </pre>
+ * @author antons
+ */
+public final class PackedIban implements Comparable<PackedIban> {
+
+    /**
+     * Maximal length of packed iban.
+     */
+    public static final int MAX_LENGTH = 2 + 9 + 12 + 12;
+
+    static final int WORDS = 3;
+    private static final int COUNTRY_SHIFT = 53;
+    private static final int LENGTH_SHIFT = 47;
+    private static final long BODY_MASK = (1L << LENGTH_SHIFT) - 1;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final long[] POW36 = new long[13];
+    // base 36 codes of ascii characters
+    private static final byte[] CODES = new byte[128];
+    private static final byte SPACE = -2;
+    static {
+        POW36[0] = 1;
+        for(int i = 1; i < POW36.length; i++) POW36[i] = POW36[i - 1] * 36;
+        for(int i = 0; i < CODES.length; i++) {
+            if(('0' <= i) && (i <= '9')) CODES[i] = (byte)(i - '0');
+            else if(('A' <= i) && (i <= 'Z')) CODES[i] = (byte)(i - 'A' + 10);
+            else if(('a' <= i) && (i <= 'z')) CODES[i] = (byte)(i - 'a' + 10);
+            else if(i == ' ') CODES[i] = SPACE;
+            else CODES[i] = -1;
+        }
+    }
+
+    private final long w0;
+    private final long w1;
+    private final long w2;
+
+    private PackedIban(long w0, long w1, long w2) {
+        this.w0 = w0;
+        this.w1 = w1;
+        this.w2 = w2;
+    }
+
+    /**
+     * Packs given iban. Spaces are ignored. Iban is not validated, only
+     * country code must be letters and other characters must be letters
+     * or digits.
+     * @param iban iban
+     * @return packed iban
+     * @throws IllegalArgumentException if iban can not be packed
+     */
+    public static PackedIban of(CharSequence iban) {
+        long[] words = new long[WORDS];
+        if(!pack(iban, words, 0)) throw new IllegalArgumentException("unable to pack iban " + iban);
+        return new PackedIban(words[0], words[1], words[2]);
+    }
+
+    /**
+     * Packs given iban.
+     * @param iban iban
+     * @return packed iban
+     * @throws IllegalArgumentException if iban can not be packed
+     */
+    public static PackedIban of(Iban iban) {
+        if(iban == null) throw new IllegalArgumentException("iban is null");
+        return of(iban.iban());
+    }
+
+    /**
+     * Creates packed iban from longs returned by word().
+     * @param w0 first long
+     * @param w1 second long
+     * @param w2 third long
+     * @return packed iban
+     * @throws IllegalArgumentException if longs are not packed iban
+     */
+    public static PackedIban of(long w0, long w1, long w2) {
+        if(!valid(w0, w1, w2)) throw new IllegalArgumentException("not a packed iban");
+        return new PackedIban(w0, w1, w2);
+    }
+
+    /**
+     * Part of packed form.
+     * @param index index of long (0-2)
+     * @return long with packed characters
+     */
+    public long word(int index) {
+        if(index == 0) return w0;
+        if(index == 1) return w1;
+        if(index == 2) return w2;
+        throw new IndexOutOfBoundsException("word " + index);
+    }
+
+    /**
+     * Country code.
+     * @return country code
+     */
+    public String country() {
+        int country = country(w0);
+        return new String(new char[] {(char)('A' + country / 26), (char)('A' + country % 26)});
+    }
+
+    /**
+     * Length of iban.
+     * @return length
+     */
+    public int length() { return length(w0); }
+
+    /**
+     * Unpacked iban without spaces.
+     * @return iban
+     */
+    public String iban() {
+        char[] chars = new char[length(w0)];
+        unpack(w0, w1, w2, chars);
+        return new String(chars);
+    }
+
+    /**
+     * Creates Iban instance. Config is found by country code.
+     * @return iban instance
+     * @throws IllegalArgumentException if country is not known
+     */
+    public Iban toIban() {
+        return Iban.instance(iban());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(!(o instanceof PackedIban)) return false;
+        PackedIban other = (PackedIban)o;
+        return (w0 == other.w0) && (w1 == other.w1) && (w2 == other.w2);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(w0, w1, w2);
+    }
+
+    @Override
+    public int compareTo(PackedIban o) {
+        int c = Long.compare(w0, o.w0);
+        if(c != 0) return c;
+        c = Long.compare(w1, o.w1);
+        if(c != 0) return c;
+        return Long.compare(w2, o.w2);
+    }
+
+    @Override
+    public String toString() {
+        return iban();
+    }
+
+    static int hash(long w0, long w1, long w2) {
+        long h = w0 * 0x9e3779b97f4a7c15L;
+        h = (h ^ w1) * 0xc2b2ae3d27d4eb4fL;
+        h = (h ^ w2) * 0x165667b19e3779f9L;
+        h ^= h >>> 32;
+        return (int)h;
+    }
+
+    static int country(long w0) { return (int)(w0 >>> COUNTRY_SHIFT) - 1; }
+    static int length(long w0) { return (int)(w0 >>> LENGTH_SHIFT) & 0x3f; }
+
+    static boolean valid(long w0, long w1, long w2) {
+        int country = country(w0);
+        int length = length(w0);
+        if((country < 0) || (country >= 26 * 26)) return false;
+        if((length < 2) || (length > MAX_LENGTH)) return false;
+        if((w0 & BODY_MASK) >= POW36[9]) return false;
+        if((w1 < 0) || (w1 >= POW36[12]) || (w2 < 0) || (w2 >= POW36[12])) return false;
+        return true;
+    }
+
+    /**
+     * Packs given iban into three longs starting at given offset of
+     * target. Spaces are ignored.
+     * @return false if iban can not be packed
+     */
+    static boolean pack(CharSequence iban, long[] target, int offset) {
+        if(iban == null) return false;
+        int len = iban.length();
+        int count = 0;
+        int country = -1;
+        long w0 = 0;
+        long w1 = 0;
+        long w2 = 0;
+        char c1 = 0;
+        for(int i = 0; i < len; i++) {
+            char c = iban.charAt(i);
+            if(count >= 2) {
+                int code = c < 128 ? CODES[c] : -1;
+                if(code < 0) {
+                    if(code == SPACE) continue;
+                    return false;
+                }
+                if(count < 11) w0 = w0 * 36 + code;
+                else if(count < 23) w1 = w1 * 36 + code;
+                else if(count < MAX_LENGTH) w2 = w2 * 36 + code;
+                else return false;
+            } else if(c == ' ') {
+                continue;
+            } else if(count == 0) {
+                c1 = (char)(c & 0xffdf);
+            } else {
+                country = IbanConfig.index(c1, (char)(c & 0xffdf));
+                if(country < 0) return false;
+            }
+            count++;
+        }
+        if(count < 2) return false;
+        // pad missing characters, so each long has fixed number of digits
+        if(count < 11) {
+            w0 = w0 * POW36[11 - count];
+        } else if(count < 23) {
+            w1 = w1 * POW36[23 - count];
+        } else {
+            w2 = w2 * POW36[MAX_LENGTH - count];
+        }
+        target[offset] = ((long)(country + 1) << COUNTRY_SHIFT) | ((long)count << LENGTH_SHIFT) | w0;
+        target[offset + 1] = w1;
+        target[offset + 2] = w2;
+        return true;
+    }
+
+    /**
+     * Unpacks characters of iban into given array. Array length must be
+     * equal to length of iban.
+     */
+    static void unpack(long w0, long w1, long w2, char[] chars) {
+        int length = chars.length;
+        int country = country(w0);
+        chars[0] = (char)('A' + country / 26);
+        chars[1] = (char)('A' + country % 26);
+        long body = w0 & BODY_MASK;
+        for(int i = 10; i >= 2; i--) {
+            if(i < length) chars[i] = DIGITS[(int)(body % 36)];
+            body /= 36;
+        }
+        for(int i = 22; i >= 11; i--) {
+            if(i < length) chars[i] = DIGITS[(int)(w1 % 36)];
+            w1 /= 36;
+        }
+        for(int i = 34; i >= 23; i--) {
+            if(i < length) chars[i] = DIGITS[(int)(w2 % 36)];
+            w2 /= 36;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded by IbanValidationService for each validation call.
+ * Event is disabled by default, enable sk.antons.iban.Validation in JFR
+ * configuration or recording.
+ * @author antons
+ */
+@Name("sk.antons.iban.Validation")
+@Label("IBAN Validation")
+@Category("IBAN")
+@Description("Validation of one iban by IbanValidationService")
+@Enabled(false)
+@StackTrace(false)
+public final class IbanValidationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Country")
+    String country;
+
+    @Label("Length")
+    int length;
+
+    @Label("Status")
+    String status;
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Validation service for virtual threads. (available on Java 21+)
+ * <p>
+ * Parse, validate and part extraction paths of library do not use
+ * monitors, so virtual threads calling this service are never pinned
+ * to carrier thread. Batch helpers split input to chunks validated by
+ * virtual threads which never outlive the call (structured lifetime),
+ * number of concurrently validated chunks of whole service is bounded by
+ * maxConcurrency. Each call can be recorded as JFR event
+ * sk.antons.iban.Validation.
+ * <pre>
+ * IbanValidationService service = IbanValidationService.instance().maxConcurrency(64);
+ * IbanStatus status = service.validate(value);
+ * List&lt;IbanResult&gt; results = service.validateAll(beneficiaries);
+ * </pre>
+ * @author antons
+ */
+public class IbanValidationService {
+
+    private IbanRegistry registry;
+    private int batchSize = 256;
+    private Semaphore permits = new Semaphore(256);
+
+    protected IbanValidationService() {}
+
+    /**
+     * New service using IbanConfigRepository with max concurrency 256.
+     * @return new instance
+     */
+    public static IbanValidationService instance() { return new IbanValidationService(); }
+
+    /**
+     * Configs used by this service. (default IbanConfigRepository)
+     * @param value registry
+     * @return this
+     */
+    public IbanValidationService registry(IbanRegistry value) { this.registry = value; return this; }
+    /**
+     * Maximal number of ibans validated by one virtual thread in batch
+     * helpers. (default 256)
+     * @param value batch size
+     * @return this
+     */
+    public IbanValidationService batchSize(int value) { this.batchSize = Math.max(1, value); return this; }
+    /**
+     * Maximal number of chunks validated concurrently by all batch calls
+     * of this service. (default 256)
+     * @param value max concurrency
+     * @return this
+     */
+    public IbanValidationService maxConcurrency(int value) { this.permits = new Semaphore(Math.max(1, value)); return this; }
+
+    /**
+     * Validates given iban in calling thread.
+     * @param iban validated iban
+     * @return status
+     */
+    public IbanStatus validate(CharSequence iban) {
+        IbanValidationEvent event = new IbanValidationEvent();
+        event.begin();
+        IbanStatus status = registry == null ? Iban.validate(iban) : registry.validate(iban);
+        commit(event, "validate", iban, status.name());
+        return status;
+    }
+
+    /**
+     * Parses given iban in calling thread.
+     * @param iban parsed iban
+     * @return iban
+     * @throws IllegalArgumentException if country is not known
+     */
+    public Iban parse(CharSequence iban) {
+        IbanValidationEvent event = new IbanValidationEvent();
+        event.begin();
+        Iban rv = null;
+        try {
+            String value = iban == null ? null : iban.toString();
+            rv = registry == null ? Iban.instance(value) : registry.iban(value);
+            return rv;
+        } finally {
+            commit(event, "parse", iban, rv == null ? "FAILED" : "PARSED");
+        }
+    }
+
+    /**
+     * Validates given iban and creates Iban for valid one.
+     * @param iban validated iban
+     * @return result
+     */
+    public IbanResult result(CharSequence iban) {
+        IbanValidationEvent event = new IbanValidationEvent();
+        event.begin();
+        IbanResult result = IbanResult.of(iban, registry);
+        commit(event, "result", iban, result.status().name());
+        return result;
+    }
+
+    /**
+     * Validates given ibans by virtual threads. Method returns when all
+     * ibans are validated.
+     * @param ibans validated ibans
+     * @return results in input order
+     */
+    public List<IbanResult> validateAll(List<? extends CharSequence> ibans) {
+        if((ibans == null) || ibans.isEmpty()) return Collections.emptyList();
+        int size = ibans.size();
+        IbanResult[] results = new IbanResult[size];
+        run(size, (from, to) -> {
+            for(int i = from; i < to; i++) results[i] = result(ibans.get(i));
+            return true;
+        });
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Check if all given ibans are valid. Validation is stopped (other
+     * virtual threads are interrupted) as soon as first invalid iban is
+     * found.
+     * @param ibans validated ibans
+     * @return true if all ibans are valid
+     */
+    public boolean allValid(List<? extends CharSequence> ibans) {
+        if((ibans == null) || ibans.isEmpty()) return true;
+        return run(ibans.size(), (from, to) -> {
+            for(int i = from; i < to; i++) {
+                if(Thread.currentThread().isInterrupted()) return true; // cancelled, result of other chunk decides
+                if(!validate(ibans.get(i)).valid()) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Validation of one chunk.
+     */
+    @FunctionalInterface
+    private interface Chunk {
+        boolean validate(int from, int to);
+    }
+
+    /**
+     * Runs chunks in virtual threads. All threads are finished before
+     * method returns, first false result or failure cancels other chunks.
+     */
+    private boolean run(int size, Chunk chunk) {
+        AtomicBoolean ok = new AtomicBoolean(true);
+        try(ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>((size + batchSize - 1) / batchSize);
+            for(int from = 0; from < size; from += batchSize) {
+                int start = from;
+                int end = Math.min(size, from + batchSize);
+                try {
+                    futures.add(scope.submit(() -> {
+                        permits.acquire();
+                        try {
+                            if(!chunk.validate(start, end) && ok.compareAndSet(true, false)) scope.shutdownNow();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }));
+                } catch(RejectedExecutionException e) {
+                    break; // already cancelled
+                }
+            }
+            for(Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch(ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if(!ok.get() && (cause instanceof InterruptedException)) continue; // cancelled chunk
+                    scope.shutdownNow();
+                    if(cause instanceof RuntimeException) throw (RuntimeException)cause;
+                    if(cause instanceof Error) throw (Error)cause;
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("validation interrupted", e);
+        }
+        return ok.get();
+    }
+
+    private static void commit(IbanValidationEvent event, String operation, CharSequence iban, String status) {
+        event.end();
+        if(!event.shouldCommit()) return;
+        event.operation = operation;
+        event.length = iban == null ? 0 : iban.length();
+        event.country = ((iban != null) && (iban.length() >= 2)) ? iban.subSequence(0, 2).toString() : null;
+        event.status = status;
+        event.commit();
+    }
+
+}
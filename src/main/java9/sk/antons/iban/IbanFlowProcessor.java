@@ -0,0 +1,302 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flow processor which validates ibans in micro batches on given executor.
+ * Results are emitted in input order. Ibans are requested from upstream
+ * only when there is downstream demand, at most batchSize * parallelism
+ * ibans are buffered. All signals to subscriber are emitted from executor
+ * threads, so upstream thread (event loop) is never blocked by validation.
+ * <pre>
+ * IbanFlowProcessor processor = IbanFlowProcessor.instance()
+ *     .executor(workers)
+ *     .batchSize(256)
+ *     .parallelism(4);
+ * publisher.subscribe(processor);
+ * processor.subscribe(subscriber); // receives IbanResult
+ * </pre>
+ * Processor can be subscribed to one publisher and can have one
+ * subscriber. Errors are signalled immediately, not yet emitted results
+ * are dropped. (available on Java 9+)
+ * @author antons
+ */
+public class IbanFlowProcessor implements Flow.Processor<CharSequence, IbanResult> {
+
+    private Executor executor = ForkJoinPool.commonPool();
+    private int batchSize = 256;
+    private int parallelism = 1;
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super IbanResult> downstream;
+    private final Queue<CharSequence> input = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+
+    // accessed only from drain loop
+    private final ArrayDeque<Batch> batches = new ArrayDeque<>();
+    private long requested;
+    private long emitted;
+    private boolean terminated;
+
+    protected IbanFlowProcessor() {}
+
+    /**
+     * New processor using common fork join pool.
+     * @return new instance
+     */
+    public static IbanFlowProcessor instance() { return new IbanFlowProcessor(); }
+
+    /**
+     * Executor used for validation and for signals to subscriber.
+     * (default is common fork join pool)
+     * @param value executor
+     * @return this
+     */
+    public IbanFlowProcessor executor(Executor value) {
+        if(value == null) throw new IllegalArgumentException("executor is null");
+        this.executor = value;
+        return this;
+    }
+    /**
+     * Maximal number of ibans validated by one executor task. (default 256)
+     * @param value batch size
+     * @return this
+     */
+    public IbanFlowProcessor batchSize(int value) { this.batchSize = Math.max(1, value); return this; }
+    /**
+     * Maximal number of batches validated concurrently. (default 1)
+     * @param value parallelism
+     * @return this
+     */
+    public IbanFlowProcessor parallelism(int value) { this.parallelism = Math.max(1, value); return this; }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super IbanResult> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber is null");
+        synchronized(this) {
+            if(downstream != null) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override public void request(long n) {}
+                    @Override public void cancel() {}
+                });
+                subscriber.onError(new IllegalStateException("processor already has subscriber"));
+                return;
+            }
+            downstream = subscriber;
+        }
+        subscriber.onSubscribe(new Subscription());
+        signal();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription is null");
+        if(upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        if(cancelled) subscription.cancel();
+        else signal();
+    }
+
+    @Override
+    public void onNext(CharSequence item) {
+        Objects.requireNonNull(item, "item is null");
+        input.offer(item);
+        signal();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = Objects.requireNonNull(throwable, "throwable is null");
+        done = true;
+        signal();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        signal();
+    }
+
+    private class Subscription implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            if(n <= 0) {
+                // rule 3.9 - subscriber gets onError and upstream is cancelled
+                fail(new IllegalArgumentException("non positive request " + n));
+                return;
+            }
+            demand.getAndUpdate(d -> (d + n < 0) ? Long.MAX_VALUE : d + n);
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Flow.Subscription s = upstream;
+            if(s != null) s.cancel();
+        }
+    }
+
+    /**
+     * Cancels upstream and terminates downstream with given error.
+     */
+    private void fail(Throwable throwable) {
+        Flow.Subscription s = upstream;
+        if(s != null) s.cancel();
+        if(error == null) error = throwable;
+        done = true;
+        signal();
+    }
+
+    /**
+     * One micro batch. Results are published by volatile write.
+     */
+    private static class Batch {
+        final CharSequence[] items;
+        volatile IbanResult[] results;
+        int next;
+
+        Batch(CharSequence[] items) { this.items = items; }
+    }
+
+    /**
+     * Schedules drain loop if it is not running.
+     */
+    private void signal() {
+        if(wip.getAndIncrement() != 0) return;
+        try {
+            executor.execute(this::drain);
+        } catch(RejectedExecutionException e) {
+            // no thread for drain loop, so stream is terminated from caller thread
+            Flow.Subscription s = upstream;
+            if(s != null) s.cancel();
+            if(error == null) error = e;
+            done = true;
+            drain();
+        }
+    }
+
+    /**
+     * Serialized loop which emits finished batches in order, starts new
+     * batches, requests ibans from upstream and signals termination.
+     */
+    private void drain() {
+        int missed = 1;
+        while(true) {
+            if(terminated) return;
+            Flow.Subscriber<? super IbanResult> subscriber = downstream;
+            if(cancelled) {
+                input.clear();
+                batches.clear();
+                return;
+            }
+            if(subscriber != null) emit(subscriber);
+            startBatches();
+            requestUpstream();
+            if((subscriber != null) && done && ((error != null) || (input.isEmpty() && batches.isEmpty()))) {
+                terminated = true;
+                Throwable e = error;
+                if(e == null) subscriber.onComplete();
+                else subscriber.onError(e);
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if(missed == 0) return;
+        }
+    }
+
+    private void emit(Flow.Subscriber<? super IbanResult> subscriber) {
+        long d = demand.get();
+        long count = 0;
+        while(!batches.isEmpty() && (count < d)) {
+            Batch batch = batches.peek();
+            IbanResult[] results = batch.results;
+            if(results == null) break;
+            while((batch.next < results.length) && (count < d)) {
+                subscriber.onNext(results[batch.next++]);
+                count++;
+                if(cancelled) return;
+            }
+            if(batch.next == results.length) batches.poll();
+        }
+        if(count > 0) {
+            emitted += count;
+            if(d != Long.MAX_VALUE) demand.addAndGet(-count);
+        }
+    }
+
+    private void startBatches() {
+        while((batches.size() < parallelism) && !input.isEmpty()) {
+            List<CharSequence> list = new ArrayList<>(Math.min(batchSize, 64));
+            CharSequence item;
+            while((list.size() < batchSize) && ((item = input.poll()) != null)) list.add(item);
+            Batch batch = new Batch(list.toArray(new CharSequence[list.size()]));
+            batches.add(batch);
+            try {
+                executor.execute(() -> {
+                    try {
+                        IbanResult[] results = new IbanResult[batch.items.length];
+                        for(int i = 0; i < results.length; i++) results[i] = IbanResult.of(batch.items[i]);
+                        batch.results = results;
+                        signal();
+                    } catch(Throwable e) {
+                        // batch never gets results, so stream must be terminated
+                        fail(e);
+                    }
+                });
+            } catch(RejectedExecutionException e) {
+                fail(e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Requests so many ibans that requested and not emitted ibans cover
+     * downstream demand but do not exceed buffer size.
+     */
+    private void requestUpstream() {
+        Flow.Subscription s = upstream;
+        if((s == null) || done || (downstream == null)) return;
+        long limit = Math.min(demand.get(), (long)batchSize * parallelism);
+        long want = limit - (requested - emitted);
+        if(want > 0) {
+            requested += want;
+            s.request(want);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Single pass validation compared with length check, substring check
+ * predicates and BigInteger checksum for all built in configs.
+ * @author antons
+ */
+public class CompiledIbanValidatorTest {
+
+    @Test
+    public void sameAsChecks() {
+        Random random = new Random(6);
+        for(IbanConfig config : IbanSamples.configs()) {
+            for(int n = 0; n < 5; n++) {
+                String valid = IbanSamples.valid(config, random);
+                assertEquals(valid, IbanStatus.OK, Iban.validate(valid));
+                assertEquals(valid, IbanStatus.OK, config.compile().validate(valid));
+                List<String> values = new ArrayList<>();
+                values.add(valid);
+                for(String mutant : IbanSamples.mutants(valid, random)) {
+                    values.add(mutant);
+                    // same mutant with correct checksum
+                    String fixed = Iban.ibanFix(mutant.replace(" ", ""));
+                    if(fixed != null) values.add(fixed);
+                }
+                for(String value : values) {
+                    IbanStatus expected = expected(value);
+                    assertEquals(value, expected, Iban.validate(value));
+                    if(expected != IbanStatus.UNKNOWN_COUNTRY) assertEquals(value, expected, IbanConfigRepository.parse(value).compile().validate(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Status computed by checks of config found by first two characters.
+     */
+    private static IbanStatus expected(String value) {
+        IbanConfig config;
+        try {
+            config = IbanConfigRepository.parse(value);
+        } catch(IllegalArgumentException e) {
+            return IbanStatus.UNKNOWN_COUNTRY;
+        }
+        String iban = value.replace(" ", "");
+        if(iban.length() != config.length()) return IbanStatus.BAD_LENGTH;
+        if(config.substringChecks() != null) {
+            for(IbanSubstringCheck check : config.substringChecks()) {
+                if(!check.validate(iban)) return IbanStatus.BAD_FORMAT;
+            }
+        }
+        return checksum(iban) ? IbanStatus.OK : IbanStatus.BAD_CHECKSUM;
+    }
+
+    private static boolean checksum(String iban) {
+        String rotated = iban.substring(4) + iban.substring(0, 4);
+        StringBuilder digits = new StringBuilder();
+        for(int i = 0; i < rotated.length(); i++) {
+            char c = rotated.charAt(i);
+            if(!(('0' <= c) && (c <= '9')) && !(('A' <= c) && (c <= 'Z'))) return false;
+            digits.append(Character.digit(c, 36));
+        }
+        return new BigInteger(digits.toString()).mod(BigInteger.valueOf(97)).intValue() == 1;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Batch validation compared with Iban.instance() followed by
+ * lengthCheck(), formatCheck() and ibanCheck().
+ * @author antons
+ */
+public class IbanBatchValidatorTest {
+
+    @Test
+    public void sameAsCheckChain() {
+        List<String> corpus = corpus();
+        byte[] expected = new byte[corpus.size()];
+        for(int i = 0; i < expected.length; i++) expected[i] = legacy(corpus.get(i));
+
+        IbanBatchValidator.Result sequential = IbanBatchValidator.instance().validate(corpus);
+        assertSame(corpus, expected, sequential);
+        assertSame(corpus, expected, IbanBatchValidator.instance().validate(corpus.toArray(new CharSequence[corpus.size()])));
+        assertSame(corpus, expected, IbanBatchValidator.instance().validate(corpus.stream()));
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for(int batchSize = 1; batchSize <= 7; batchSize++) {
+                assertSame(corpus, expected, IbanBatchValidator.instance().parallel(true).batchSize(batchSize).validate(corpus));
+                assertSame(corpus, expected, IbanBatchValidator.instance().parallel(true).batchSize(batchSize).pool(pool).validate(corpus));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void emptyInput() {
+        IbanBatchValidator.Result result = IbanBatchValidator.instance().parallel(true).batchSize(1).validate(new CharSequence[0]);
+        assertEquals(0, result.size());
+        assertEquals(0, result.validCount());
+    }
+
+    private static void assertSame(List<String> corpus, byte[] expected, IbanBatchValidator.Result result) {
+        assertEquals(expected.length, result.size());
+        int valid = 0;
+        for(int i = 0; i < expected.length; i++) {
+            assertEquals(corpus.get(i), expected[i], result.reason(i));
+            assertEquals(corpus.get(i), expected[i] == IbanBatchValidator.OK, result.valid(i));
+            assertEquals(corpus.get(i), expected[i] == IbanBatchValidator.OK, result.valid().get(i));
+            if(expected[i] == IbanBatchValidator.OK) valid++;
+        }
+        assertEquals(valid, result.validCount());
+    }
+
+    /**
+     * Reason code given by Iban instance checks.
+     */
+    private static byte legacy(String value) {
+        if(value == null) return IbanBatchValidator.UNKNOWN_COUNTRY;
+        try {
+            IbanConfigRepository.parse(value);
+        } catch(RuntimeException e) {
+            return IbanBatchValidator.UNKNOWN_COUNTRY;
+        }
+        Iban iban;
+        try {
+            iban = Iban.instance(value);
+        } catch(IllegalArgumentException e) {
+            // known country, but too short to be parsed
+            return IbanBatchValidator.BAD_LENGTH;
+        }
+        if(!iban.lengthCheck()) return IbanBatchValidator.BAD_LENGTH;
+        if(!iban.formatCheck()) return IbanBatchValidator.BAD_FORMAT;
+        if(!iban.ibanCheck()) return IbanBatchValidator.BAD_CHECKSUM;
+        return IbanBatchValidator.OK;
+    }
+
+    private static List<String> corpus() {
+        Random random = new Random(4);
+        List<String> list = new ArrayList<>();
+        for(IbanConfig config : IbanSamples.configs()) {
+            String valid = IbanSamples.valid(config, random);
+            list.add(valid);
+            List<String> mutants = IbanSamples.mutants(valid, random);
+            for(int i = 0; i < 6; i++) list.add(mutants.get(random.nextInt(mutants.size())));
+            list.add(null);
+        }
+        list.addAll(Arrays.asList("XX8975000000000012345671", "SK", "S", "", "12345", "SK89 7500 0000 0000 1234 5671"));
+        return list;
+    }
+}
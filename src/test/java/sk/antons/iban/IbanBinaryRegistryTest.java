@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Binary registry round trip and equality of precompiled validators with
+ * validators compiled from configs.
+ * @author antons
+ */
+public class IbanBinaryRegistryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip() throws IOException {
+        List<IbanConfig> configs = IbanRegistry.instance().all();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IbanBinaryRegistry.write(configs, bytes);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        List<IbanConfig> read = IbanBinaryRegistry.read(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertSame(configs, read);
+        assertSame(configs, IbanBinaryRegistry.read(new ByteArrayInputStream(bytes.toByteArray())));
+
+        Path file = folder.newFile("registry.bin").toPath();
+        IbanBinaryRegistry.write(configs, file);
+        assertSame(configs, IbanBinaryRegistry.read(file));
+        IbanRegistry registry = IbanRegistry.empty().loadBinary(file);
+        assertEquals(configs.size(), registry.size());
+        assertEquals(IbanStatus.OK, registry.validate("SK8975000000000012345671"));
+    }
+
+    @Test
+    public void builtIn() throws IOException {
+        List<IbanConfig> builtIn = IbanBinaryRegistry.builtIn();
+        assertNotNull("resource is generated in process-classes phase", builtIn);
+        IbanRegistry registry = IbanRegistry.empty().replace(builtIn);
+        assertSame(IbanRegistry.instance().all(), registry.all());
+        assertEquals(IbanRegistry.instance().size(), IbanRegistry.precompiled().size());
+    }
+
+    @Test
+    public void customConfigs() throws IOException {
+        List<IbanConfig> configs = Arrays.asList(
+            IbanRegistry.parseLine("QQ 12 QQkkbbbbcccc 4a,4n"),
+            IbanRegistry.parseLine("XQ 10 XQkkbxbxcc 6c"),
+            IbanRegistry.parseLine("XX 6 XXkkcc"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IbanBinaryRegistry.write(configs, bytes);
+        assertSame(configs, IbanBinaryRegistry.read(ByteBuffer.wrap(bytes.toByteArray())));
+    }
+
+    @Test
+    public void badData() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IbanBinaryRegistry.write(IbanRegistry.instance().all(), bytes);
+        byte[] data = bytes.toByteArray();
+        try {
+            IbanBinaryRegistry.read(ByteBuffer.wrap(data, 0, data.length / 2));
+            fail("truncated");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        data[0] = 'X';
+        try {
+            IbanBinaryRegistry.read(ByteBuffer.wrap(data));
+            fail("magic");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Same notation and same validation results for valid and broken
+     * samples of each config.
+     */
+    private static void assertSame(List<IbanConfig> expected, List<IbanConfig> actual) {
+        assertEquals(expected.size(), actual.size());
+        for(int i = 0; i < expected.size(); i++) {
+            IbanConfig e = expected.get(i);
+            IbanConfig a = actual.get(i);
+            assertEquals(IbanRegistry.line(e), IbanRegistry.line(a));
+            assertTrue(a.frozen());
+            for(String value : samples(e)) {
+                assertEquals(value, e.compile().validate(value), a.compile().validate(value));
+            }
+            String sample = IbanRegistryTest.sample(e);
+            Iban ie = Iban.instance(sample, e);
+            Iban ia = Iban.instance(sample, a);
+            for(char c = 'a'; c <= 'z'; c++) {
+                assertEquals(sample + " " + c, ie.patternPart(c), ia.patternPart(c));
+            }
+        }
+    }
+
+    private static List<String> samples(IbanConfig config) {
+        String sample = IbanRegistryTest.sample(config);
+        List<String> list = new ArrayList<>();
+        list.add(sample);
+        list.add(sample + "1");
+        list.add(sample.substring(0, sample.length() - 1));
+        for(int i = 4; i < sample.length(); i++) {
+            for(char c : new char[] {'7', 'Q', 'q', '-'}) {
+                char[] chars = sample.toCharArray();
+                chars[i] = c;
+                list.add(new String(chars));
+                list.add(Iban.ibanFix(new String(chars)));
+            }
+        }
+        list.removeIf(v -> v == null);
+        return list;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Bloom filter lookups, false positive rate and file forms.
+ * @author antons
+ */
+public class IbanBloomFilterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void falsePositiveRate() {
+        for(double rate : new double[] {0.05, 0.01, 0.001}) {
+            Random random = new Random(25);
+            Set<String> added = new HashSet<>();
+            while(added.size() < 50_000) added.add(IbanNormalizerTest.random(random));
+            IbanBloomFilter filter = IbanBloomFilter.instance(added.size(), rate);
+            for(String iban : added) filter.add(iban);
+            assertTrue(filter.size() <= added.size());
+            assertTrue(filter.falsePositiveRate() <= rate);
+
+            for(String iban : added) {
+                String noisy = IbanNormalizerTest.noisy(iban, random);
+                assertTrue(iban, filter.mightContain(iban));
+                assertTrue(noisy, filter.mightContain(noisy));
+                assertTrue(noisy, filter.mightContain(noisy.toCharArray(), 0, noisy.length()));
+                assertTrue(noisy, filter.mightContain(noisy.getBytes(StandardCharsets.US_ASCII), 0, noisy.length()));
+            }
+
+            int tested = 0;
+            int positives = 0;
+            while(tested < 200_000) {
+                String iban = IbanNormalizerTest.random(random);
+                if(added.contains(iban)) continue;
+                tested++;
+                if(filter.mightContain(iban)) positives++;
+            }
+            double measured = (double)positives / tested;
+            assertTrue(rate + " measured " + measured, measured < rate * 1.3);
+            assertTrue(rate + " measured " + measured, measured > rate * 0.3);
+        }
+    }
+
+    @Test
+    public void estimatedRate() {
+        double previous = 1;
+        for(double bits = 2; bits <= 32; bits += 2) {
+            double rate = IbanBloomFilter.falsePositiveRate(bits, 4);
+            assertTrue(bits + " " + rate, (rate > 0) && (rate < previous));
+            previous = rate;
+        }
+        // blocked filter is worse than classic one (1 - e^(-k/b))^k
+        double classic = Math.pow(1 - Math.exp(-7 / 10.0), 7);
+        assertTrue(IbanBloomFilter.falsePositiveRate(10, 7) > classic);
+        assertTrue(IbanBloomFilter.falsePositiveRate(10, 7) < classic * 2);
+    }
+
+    @Test
+    public void addAndContains() {
+        IbanBloomFilter filter = IbanBloomFilter.of(Arrays.asList("SK8975000000000012345671", "SK89_7500", "CZ6508000000192000145399").stream(), 100, 0.01);
+        assertEquals(2, filter.size());
+        assertTrue(filter.mightContain("sk89 7500 0000 0000 1234 5671"));
+        assertTrue(filter.mightContain(Iban.instance("CZ6508000000192000145399")));
+        assertFalse(filter.mightContain("SK89_7500"));
+        assertFalse(filter.mightContain((Iban)null));
+        assertFalse(filter.add("SK89 7500 0000 0000 1234 5671"));
+        assertTrue(filter.add(Iban.instance("AD1200012030200359100100")));
+        assertEquals(3, filter.size());
+        try {
+            filter.add("SK89_7500");
+            fail();
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        for(double rate : new double[] {0, 1, -0.1, Double.NaN}) {
+            try {
+                IbanBloomFilter.instance(100, rate);
+                fail(Double.toString(rate));
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void writeReadMap() throws IOException {
+        Random random = new Random(25);
+        IbanBloomFilter filter = IbanBloomFilter.instance(20_000, 0.01);
+        for(int i = 0; i < 20_000; i++) filter.add(IbanNormalizerTest.random(random));
+        Path file = folder.newFile("filter.bin").toPath();
+        filter.write(file);
+        assertEquals(32 + filter.memory(), Files.size(file));
+
+        IbanBloomFilter read = IbanBloomFilter.read(file);
+        IbanBloomFilter mapped = IbanBloomFilter.map(file);
+        for(IbanBloomFilter other : new IbanBloomFilter[] {read, mapped}) {
+            assertEquals(filter.size(), other.size());
+            assertEquals(filter.hashes(), other.hashes());
+            assertEquals(filter.memory(), other.memory());
+        }
+        random = new Random(25);
+        for(int i = 0; i < 40_000; i++) {
+            String iban = IbanNormalizerTest.random(random);
+            boolean expected = filter.mightContain(iban);
+            if(i < 20_000) assertTrue(iban, expected);
+            assertEquals(iban, expected, read.mightContain(iban));
+            assertEquals(iban, expected, mapped.mightContain(iban));
+        }
+
+        assertTrue(read.add("SK8975000000000012345671") || read.mightContain("SK8975000000000012345671"));
+        try {
+            mapped.add("SK8975000000000012345671");
+            fail();
+        } catch(IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void badFiles() throws IOException {
+        IbanBloomFilter filter = IbanBloomFilter.instance(1_000, 0.01);
+        filter.add("SK8975000000000012345671");
+        Path file = folder.newFile("filter.bin").toPath();
+        filter.write(file);
+        byte[] data = Files.readAllBytes(file);
+
+        Path bad = folder.newFile("bad.bin").toPath();
+        byte[][] contents = {
+            new byte[0],
+            Arrays.copyOf(data, 16),
+            Arrays.copyOf(data, data.length - 8),
+            Arrays.copyOf(data, data.length + 8),
+            "not a filter file at all, just some text".getBytes(StandardCharsets.US_ASCII),
+        };
+        for(byte[] content : contents) {
+            Files.write(bad, content);
+            try {
+                IbanBloomFilter.read(bad);
+                fail("read " + content.length);
+            } catch(IOException e) {
+                // expected
+            }
+            try {
+                IbanBloomFilter.map(bad);
+                fail("map " + content.length);
+            } catch(IOException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void maxSize() throws IOException {
+        try {
+            IbanBloomFilter.instance(10_000_000_000L, 0.01);
+            fail("too big filter");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        // 1 << 25 blocks do not fit to one mapped buffer with header
+        Path file = folder.newFile("big.bin").toPath();
+        IbanBloomFilter.instance(10, 0.01).write(file);
+        byte[] data = Files.readAllBytes(file);
+        ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).putLong(16, 1L << 25);
+        Files.write(file, data);
+        try {
+            IbanBloomFilter.read(file);
+            fail("read too big filter");
+        } catch(IOException e) {
+            assertEquals("corrupted filter file", e.getMessage());
+        }
+    }
+}
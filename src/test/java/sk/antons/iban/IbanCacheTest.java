@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Cached results, size limit and time expiration.
+ * @author antons
+ */
+public class IbanCacheTest {
+
+    private static final String SK = "SK8975000000000012345671";
+    private static final String CZ = "CZ6508000000192000145399";
+    private static final String AD = "AD1200012030200359100100";
+
+    @Test
+    public void sameAsIban() {
+        IbanCache cache = IbanCache.instance();
+        String[] values = {SK, CZ, "SK8975000000000012345672", "SK897500000000001234567", "XX00", "S", "", "SK89 7500 0000 0000 1234 5671"};
+        for(int i = 0; i < 2; i++) {
+            for(String value : values) {
+                assertEquals(value, Iban.validate(value), cache.validate(value));
+                assertEquals(value, Iban.validate(value) == IbanStatus.OK, cache.get(value).valid());
+            }
+        }
+        assertEquals(values.length, cache.misses());
+        assertEquals(values.length * 3, cache.hits());
+        assertEquals(IbanStatus.UNKNOWN_COUNTRY, cache.validate(null));
+        assertNull(cache.get(null).iban());
+
+        Iban iban = cache.iban(SK);
+        assertEquals(SK, iban.iban());
+        assertSame(iban, cache.iban(SK));
+        try {
+            cache.iban("XX00");
+            fail();
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        IbanCache cache = IbanCache.instance().stripes(1).maxSize(3);
+        IbanCache.Result sk = cache.get(SK);
+        cache.get(CZ);
+        cache.get(AD);
+        assertEquals(3, cache.size());
+        assertSame(sk, cache.get(SK));
+        cache.get("SK8975000000000012345672");
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictions());
+        assertSame(sk, cache.get(SK));
+        long misses = cache.misses();
+        cache.get(CZ);
+        assertEquals(misses + 1, cache.misses());
+    }
+
+    @Test
+    public void sizeIsLimited() {
+        IbanCache cache = IbanCache.instance().stripes(5).maxSize(100);
+        Random random = new Random(16);
+        for(int i = 0; i < 10_000; i++) {
+            cache.get(Integer.toString(random.nextInt(1_000)));
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(10_000, cache.hits() + cache.misses());
+        assertEquals(cache.misses() - cache.size(), cache.evictions());
+    }
+
+    @Test
+    public void entriesExpire() throws Exception {
+        IbanCache cache = IbanCache.instance().expireAfterWrite(50, TimeUnit.MILLISECONDS);
+        IbanCache.Result sk = cache.get(SK);
+        assertSame(sk, cache.get(SK));
+        Thread.sleep(100);
+        IbanCache.Result fresh = cache.get(SK);
+        assertFalse(sk == fresh);
+        assertEquals(1, cache.evictions());
+        assertEquals(2, cache.misses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void invalidate() {
+        IbanCache cache = IbanCache.instance();
+        cache.get(SK);
+        cache.get(CZ);
+        cache.invalidate(SK);
+        cache.invalidate(null);
+        assertEquals(1, cache.size());
+        cache.get(SK);
+        assertEquals(3, cache.misses());
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.get(CZ);
+        cache.maxSize(10);
+        assertEquals(0, cache.size());
+        assertEquals(4, cache.misses());
+        assertEquals(0, cache.evictions());
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        IbanCache cache = IbanCache.instance().maxSize(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for(int i = 0; i < 20_000; i++) {
+                        String value = "SK897500000000" + (1234567000 + random.nextInt(200));
+                        assertEquals(value, Iban.validate(value), cache.validate(value));
+                    }
+                }));
+            }
+            for(Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(80_000, cache.hits() + cache.misses());
+        assertTrue(cache.size() <= 64);
+    }
+}
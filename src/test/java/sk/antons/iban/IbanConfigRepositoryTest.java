@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Country table lookups for all pairs of letters.
+ * @author antons
+ */
+public class IbanConfigRepositoryTest {
+
+    @Test
+    public void allCountryCodes() {
+        Map<String, IbanConfig> configs = new HashMap<>();
+        for(IbanConfig config : IbanConfigRepository.all()) {
+            assertNull(config.id(), configs.put(config.id(), config));
+        }
+        for(char c1 = 'A'; c1 <= 'Z'; c1++) {
+            for(char c2 = 'A'; c2 <= 'Z'; c2++) {
+                String id = "" + c1 + c2;
+                IbanConfig expected = configs.get(id);
+                assertSame(id, expected, IbanConfigRepository.lookup(c1, c2));
+                assertSame(id, expected, IbanConfigRepository.lookup(Character.toLowerCase(c1), c2));
+                assertSame(id, expected, IbanConfigRepository.lookup(c1, Character.toLowerCase(c2)));
+                assertSame(id, expected, IbanConfigRepository.tryParse(id + "00"));
+                assertNull(id, IbanConfigRepository.tryParse(id.toLowerCase() + "00"));
+                if(expected == null) {
+                    try {
+                        IbanConfigRepository.parse(id + "00");
+                        fail(id);
+                    } catch(IllegalArgumentException e) {
+                        // expected
+                    }
+                } else {
+                    assertSame(id, expected, IbanConfigRepository.parse(id + "00"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void allFields() throws Exception {
+        List<IbanConfig> all = IbanConfigRepository.all();
+        int count = 0;
+        for(Field field : IbanConfigRepository.class.getFields()) {
+            if(field.getType() != IbanConfig.class) continue;
+            assertTrue(field.getName(), Modifier.isFinal(field.getModifiers()));
+            IbanConfig config = (IbanConfig)field.get(null);
+            assertEquals(field.getName(), config.id());
+            assertTrue(field.getName(), all.contains(config));
+            count++;
+        }
+        assertEquals(count, all.size());
+        try {
+            all.add(IbanConfig.instance("QQ"));
+            fail();
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void unknownCountries() {
+        // old switch mapped CJ to BJ and NZ to MZ
+        for(String id : new String[] {"CJ", "NZ", "XX", "QQ"}) {
+            assertNull(id, IbanConfigRepository.tryParse(id + "00"));
+            assertNull(id, IbanConfigRepository.lookup(id.charAt(0), id.charAt(1)));
+        }
+        for(char c : new char[] {'@', '[', '`', '{', '1', ' ', 'Ž', (char)0xffff}) {
+            assertNull(String.valueOf(c), IbanConfigRepository.lookup(c, 'K'));
+            assertNull(String.valueOf(c), IbanConfigRepository.lookup('S', c));
+            assertNull(String.valueOf(c), IbanConfigRepository.tryParse("S" + c + "00"));
+        }
+        assertNull(IbanConfigRepository.tryParse("S"));
+        assertNull(IbanConfigRepository.tryParse(null));
+        assertNull(IbanConfigRepository.parse(null));
+    }
+}
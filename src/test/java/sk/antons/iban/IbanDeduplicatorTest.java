@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Deduplication compared with HashSet of canonical ibans.
+ * @author antons
+ */
+public class IbanDeduplicatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sameAsHashSet() throws IOException {
+        File directory = folder.newFolder();
+        IbanNormalizer normalizer = IbanNormalizer.instance().fixCheckDigits(true);
+        Random random = new Random(24);
+        List<String> universe = new ArrayList<>();
+        for(int i = 0; i < 5_000; i++) universe.add(IbanNormalizerTest.random(random));
+
+        try(IbanDeduplicator dedup = IbanDeduplicator.instance()
+                .normalizer(normalizer)
+                .runSize(1_000)
+                .bufferSize(1_000)
+                .directory(directory.toPath())) {
+            long rejected = 0;
+            for(int round = 0; round < 2; round++) {
+                Set<String> expected = new HashSet<>();
+                for(int i = 0; i < 20_000; i++) {
+                    String iban = universe.get(random.nextInt(universe.size()));
+                    String value = IbanNormalizerTest.noisy(iban, random);
+                    if(random.nextInt(50) == 0) value = value + "_";
+                    String canonical = normalizer.normalize(value);
+                    if(canonical == null) rejected++;
+                    else expected.add(canonical);
+                    assertEquals(value, canonical != null, dedup.add(value));
+                }
+                assertTrue(dedup.runs() > 1);
+                assertEquals(rejected, dedup.rejected());
+
+                List<String> unique = new ArrayList<>();
+                long[] previous = {Long.MIN_VALUE};
+                long count = dedup.finish((fingerprint, iban, length) -> {
+                    String value = new String(iban, 0, length);
+                    assertEquals(value, normalizer.fingerprint(value), fingerprint);
+                    assertTrue(value, previous[0] <= fingerprint);
+                    previous[0] = fingerprint;
+                    unique.add(value);
+                });
+                assertEquals(expected.size(), count);
+                assertEquals(expected.size(), dedup.unique());
+                assertEquals(expected.size(), unique.size());
+                assertEquals(expected, new HashSet<>(unique));
+                assertEquals(0, dedup.runs());
+                assertEquals(0, directory.list().length);
+            }
+        }
+    }
+
+    @Test
+    public void inMemory() throws IOException {
+        File directory = folder.newFolder();
+        try(IbanDeduplicator dedup = IbanDeduplicator.instance().directory(directory.toPath())) {
+            assertTrue(dedup.add("SK8975000000000012345671"));
+            assertTrue(dedup.add("sk89 7500 0000 0000 1234 5671"));
+            assertTrue(dedup.add("CZ6508000000192000145399"));
+            assertTrue(dedup.add("SK0075000000000012345671"));
+            assertFalse(dedup.add("SK89_7500"));
+            assertEquals(5, dedup.added());
+            assertEquals(1, dedup.rejected());
+            assertEquals(0, dedup.runs());
+            Set<String> unique = new HashSet<>();
+            assertEquals(3, dedup.finish((fingerprint, iban, length) -> unique.add(new String(iban, 0, length))));
+            assertTrue(unique.contains("SK0075000000000012345671"));
+            assertEquals(0, dedup.collisions());
+            assertEquals(0, directory.list().length);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Validation of CSV content read from channel and from mapped file.
+ * @author antons
+ */
+public class IbanFileValidatorTest {
+
+    private static final String CSV = "id;name;iban\r\n"
+        + "1;a;SK8975000000000012345671\r\n"
+        + "2;b;\" SK89 7500 0000 0000 1234 5671 \"\n"
+        + "3;c;SK8975000000000012345672\n"
+        + "4;d\n"
+        + "\n"
+        + "5;e;XX8975000000000012345671";
+
+    private static void check(IbanFileValidator.Summary summary, String report) {
+        assertEquals(7, summary.lines());
+        assertEquals(4, summary.validated());
+        assertEquals(2, summary.count(IbanStatus.OK));
+        assertEquals(1, summary.count(IbanStatus.BAD_CHECKSUM));
+        assertEquals(1, summary.count(IbanStatus.UNKNOWN_COUNTRY));
+        assertEquals(1, summary.missing());
+        assertEquals("4;BAD_CHECKSUM\n5;MISSING_COLUMN\n7;UNKNOWN_COUNTRY\n", report);
+    }
+
+    private static IbanFileValidator validator() {
+        return IbanFileValidator.instance().separator(';').column(2).header(true);
+    }
+
+    @Test
+    public void channel() throws Exception {
+        StringBuilder report = new StringBuilder();
+        IbanFileValidator.Summary summary = validator().bufferSize(16)
+            .validate(Channels.newChannel(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.US_ASCII))), report);
+        check(summary, report.toString());
+    }
+
+    @Test
+    public void mapped() throws Exception {
+        Path file = Files.createTempFile("iban-", ".csv");
+        try {
+            Files.write(file, CSV.getBytes(StandardCharsets.US_ASCII));
+            StringBuilder report = new StringBuilder();
+            IbanFileValidator.Summary summary = validator().mapThreshold(0).mapWindow(64).validate(file, report);
+            check(summary, report.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
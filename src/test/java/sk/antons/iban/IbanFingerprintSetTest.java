@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Fingerprint set compared with HashSet.
+ * @author antons
+ */
+public class IbanFingerprintSetTest {
+
+    @Test
+    public void sameAsHashSet() {
+        Random random = new Random(24);
+        IbanFingerprintSet set = IbanFingerprintSet.instance();
+        long capacity = set.capacity();
+        Set<Long> expected = new HashSet<>();
+        for(int i = 0; i < 200_000; i++) {
+            // small range of values gives duplicates, low bits only test spreading
+            long value = random.nextBoolean() ? random.nextInt(100_000) + 1 : random.nextLong() | 1;
+            assertEquals(expected.add(value), set.add(value));
+            assertEquals(expected.size(), set.size());
+        }
+        assertTrue(set.capacity() > capacity);
+        assertEquals(set.capacity() * 8, set.memory());
+        for(long value : expected) assertTrue(set.contains(value));
+        for(int i = 0; i < 10_000; i++) {
+            long value = random.nextLong();
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+
+        Set<Long> iterated = new HashSet<>();
+        set.forEach(value -> assertTrue(iterated.add(value)));
+        assertEquals(expected, iterated);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        for(long value : expected) assertFalse(set.contains(value));
+    }
+
+    @Test
+    public void zeroIsIgnored() {
+        IbanFingerprintSet set = IbanFingerprintSet.instance(10);
+        assertFalse(set.add(0));
+        assertFalse(set.contains(0));
+        assertTrue(set.isEmpty());
+
+        IbanNormalizer normalizer = IbanNormalizer.instance();
+        assertTrue(set.add(normalizer.fingerprint("SK8975000000000012345671")));
+        assertFalse(set.add(normalizer.fingerprint("sk89 7500 0000 0000 1234 5671")));
+        assertFalse(set.add(normalizer.fingerprint("SK89_7500")));
+        assertEquals(1, set.size());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+/**
+ * Array, builder and appendable paths of formatter compared with each other
+ * and with simple reference implementation.
+ * @author antons
+ */
+public class IbanFormatterTest {
+
+    private static final String IBAN = "SK8975000000000012345671LC55";
+    private static final int[][] MASKS = {{-1, -1}, {0, 0}, {4, 4}, {2, 3}, {6, 0}, {0, 6}, {10, 10}, {30, 30}};
+
+    @Test
+    public void samePathsForAllSettings() throws IOException {
+        for(int groupSize = 0; groupSize <= 6; groupSize++) {
+            for(int[] mask : MASKS) {
+                IbanFormatter formatter = IbanFormatter.instance().groupSize(groupSize).separator('-').maskChar('#');
+                if(mask[0] >= 0) formatter.mask(mask[0], mask[1]);
+                for(int length = 0; length <= IBAN.length(); length++) {
+                    String compact = IBAN.substring(0, length);
+                    String expected = reference(compact, groupSize, mask[0], mask[1]);
+                    assertPaths(formatter, compact, expected);
+                    assertPaths(formatter, spaced(compact), expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void defaults() {
+        assertEquals("SK89 7500 0000 0000 1234 5671", IbanFormatter.instance().format("SK8975000000000012345671"));
+        assertEquals("SK89 **** **** **** **** 5671", IbanFormatter.instance().mask(4, 4).format("SK89 7500 0000 0000 1234 5671"));
+        assertEquals("SK89 7500", IbanFormatter.instance().mask(4, 4).unmasked().format("SK897500"));
+        assertNull(IbanFormatter.instance().format((CharSequence)null));
+        assertEquals(0, IbanFormatter.instance().length(null));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void smallArray() {
+        IbanFormatter.instance().format("SK8975000000000012345671", new char[28], 1);
+    }
+
+    private static void assertPaths(IbanFormatter formatter, String iban, String expected) throws IOException {
+        String message = formatter + " " + iban;
+        assertEquals(message, expected.length(), formatter.length(iban));
+        assertEquals(message, expected, formatter.format(iban));
+
+        char[] chars = new char[expected.length() + 4];
+        Arrays.fill(chars, '!');
+        assertEquals(message, expected.length(), formatter.format(iban, chars, 2));
+        assertEquals(message, "!!" + expected + "!!", new String(chars));
+
+        StringBuilder sb = new StringBuilder("<");
+        assertEquals(message, "<" + expected, formatter.format(iban, sb).toString());
+
+        StringWriter writer = new StringWriter();
+        formatter.format(iban, writer);
+        assertEquals(message, expected, writer.toString());
+    }
+
+    private static String spaced(String iban) {
+        StringBuilder sb = new StringBuilder(" ");
+        for(int i = 0; i < iban.length(); i++) {
+            sb.append(iban.charAt(i));
+            if(i % 3 == 1) sb.append("  ");
+        }
+        return sb.toString();
+    }
+
+    private static String reference(String compact, int groupSize, int showFirst, int showLast) {
+        int count = compact.length();
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < count; i++) {
+            if((groupSize > 0) && (i > 0) && (i % groupSize == 0)) sb.append('-');
+            boolean masked = (showFirst >= 0) && (i >= showFirst) && (i < count - showLast);
+            sb.append(masked ? '#' : compact.charAt(i));
+        }
+        return sb.toString();
+    }
+}
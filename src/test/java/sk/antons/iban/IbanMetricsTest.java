@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Histogram bucket math, percentiles and counters collected by installed
+ * metrics.
+ * @author antons
+ */
+public class IbanMetricsTest {
+
+    private static final int BUCKETS = (64 - 4) * 16;
+
+    @After
+    public void uninstall() {
+        IbanMetrics.uninstall();
+    }
+
+    @Test
+    public void bucketRoundTrip() {
+        for(int b = 0; b < BUCKETS; b++) {
+            long lower = IbanMetrics.Histogram.lower(b);
+            long upper = IbanMetrics.Histogram.upper(b);
+            assertTrue("" + b, lower <= upper);
+            assertEquals("" + b, b, IbanMetrics.Histogram.bucket(lower));
+            assertEquals("" + b, b, IbanMetrics.Histogram.bucket(upper));
+            if(b + 1 < BUCKETS) assertEquals("" + b, upper + 1, IbanMetrics.Histogram.lower(b + 1));
+            // relative error at most 1/16
+            if(b >= 16) assertTrue("" + b, upper - lower < lower / 16 + 1);
+        }
+        assertEquals(Long.MAX_VALUE, IbanMetrics.Histogram.upper(BUCKETS - 1));
+        assertEquals(0, IbanMetrics.Histogram.bucket(-1));
+        assertEquals(0, IbanMetrics.Histogram.bucket(Long.MIN_VALUE));
+        for(int exp = 0; exp < 63; exp++) {
+            long power = 1L << exp;
+            for(long value : new long[] {power - 1, power, power + 1}) {
+                int b = IbanMetrics.Histogram.bucket(value);
+                assertTrue(value + " " + b, IbanMetrics.Histogram.lower(b) <= value);
+                assertTrue(value + " " + b, IbanMetrics.Histogram.upper(b) >= value);
+            }
+            if(exp >= 4) assertEquals("" + power, power, IbanMetrics.Histogram.lower(IbanMetrics.Histogram.bucket(power)));
+        }
+        Random random = new Random(21);
+        for(int i = 0; i < 10000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int b = IbanMetrics.Histogram.bucket(value);
+            assertTrue(value + " " + b, (IbanMetrics.Histogram.lower(b) <= value) && (value <= IbanMetrics.Histogram.upper(b)));
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        IbanMetrics.Histogram histogram = new IbanMetrics.Histogram();
+        assertEquals(0, histogram.percentile(0.5));
+        for(long value = 1; value <= 1000; value++) histogram.record(value);
+        assertEquals(1000, histogram.count());
+        for(double p : new double[] {0.001, 0.1, 0.25, 0.5, 0.9, 0.99, 0.999, 1}) {
+            long rank = (long)Math.ceil(p * 1000);
+            long value = histogram.percentile(p);
+            assertEquals("" + p, IbanMetrics.Histogram.upper(IbanMetrics.Histogram.bucket(rank)), value);
+            assertTrue("" + p, (value >= rank) && (value <= rank + rank / 16));
+        }
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(histogram.percentile(1), histogram.percentile(2));
+        histogram.record(5000000);
+        assertEquals(IbanMetrics.Histogram.upper(IbanMetrics.Histogram.bucket(1000)), histogram.percentile(0.999));
+        assertTrue(histogram.percentile(1) >= 5000000);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(0.5));
+    }
+
+    @Test
+    public void countersAfterInstall() {
+        IbanMetrics metrics = IbanMetrics.instance().timing(true).install();
+        assertSame(metrics, IbanMetrics.sink());
+        assertEquals(IbanStatus.OK, Iban.validate("SK8975000000000012345671"));
+        assertEquals(IbanStatus.BAD_CHECKSUM, Iban.validate("SK8975000000000012345672"));
+        assertEquals(IbanStatus.BAD_LENGTH, Iban.validate("SK897500"));
+        assertEquals(IbanStatus.OK, Iban.validate("GB82WEST12345698765432"));
+        assertEquals(IbanStatus.UNKNOWN_COUNTRY, Iban.validate("XX8975000000000012345671"));
+        IbanConfigRepository.tryParse("SK8975000000000012345671");
+        IbanConfigRepository.tryParse("XX8975000000000012345671");
+        Iban iban = Iban.instance("CZ6508000000192000145399");
+        iban.lengthCheck();
+        iban.formatCheck();
+        iban.ibanCheck();
+
+        assertEquals(1, metrics.count("SK", IbanStatus.OK));
+        assertEquals(1, metrics.count("SK", IbanStatus.BAD_CHECKSUM));
+        assertEquals(1, metrics.count("SK", IbanStatus.BAD_LENGTH));
+        assertEquals(0, metrics.count("SK", IbanStatus.BAD_FORMAT));
+        assertEquals(1, metrics.count("GB", IbanStatus.OK));
+        assertEquals(1, metrics.count(null, IbanStatus.UNKNOWN_COUNTRY));
+        assertEquals(3, metrics.count("CZ", IbanStatus.OK));
+        assertEquals(5, metrics.count(IbanStatus.OK));
+        assertEquals(1, metrics.count(IbanStatus.UNKNOWN_COUNTRY));
+        assertEquals(5, metrics.count(IbanMetricsSink.Check.VALIDATE));
+        assertEquals(1, metrics.count(IbanMetricsSink.Check.LENGTH));
+        assertEquals(1, metrics.count(IbanMetricsSink.Check.FORMAT));
+        assertEquals(1, metrics.count(IbanMetricsSink.Check.CHECKSUM));
+        assertEquals(1, metrics.parsedCount("SK"));
+        assertEquals(1, metrics.parsedCount("CZ"));
+        assertEquals(1, metrics.parsedCount(null));
+        assertEquals(2, metrics.parsedCount());
+        Map<String, Long> countries = new TreeMap<>();
+        countries.put("CZ", 3L);
+        countries.put("GB", 1L);
+        countries.put("SK", 3L);
+        assertEquals(countries, metrics.countries());
+        // length check is not timed
+        assertEquals(7, metrics.latencyCount());
+
+        IbanMetrics.uninstall();
+        assertNull(IbanMetrics.sink());
+        Iban.validate("SK8975000000000012345671");
+        IbanConfigRepository.tryParse("SK8975000000000012345671");
+        Iban.instance("CZ6508000000192000145399").lengthCheck();
+        assertEquals(1, metrics.count("SK", IbanStatus.OK));
+        assertEquals(1, metrics.parsedCount("SK"));
+        assertEquals(5, metrics.count(IbanMetricsSink.Check.VALIDATE));
+        assertEquals(1, metrics.count(IbanMetricsSink.Check.LENGTH));
+        assertEquals(7, metrics.latencyCount());
+
+        metrics.reset();
+        assertEquals(0, metrics.count(IbanStatus.OK));
+        assertEquals(0, metrics.parsedCount());
+        assertEquals(0, metrics.latencyCount());
+        assertTrue(metrics.countries().isEmpty());
+    }
+
+    @Test
+    public void noTiming() {
+        IbanMetrics metrics = IbanMetrics.instance().install();
+        Iban.validate("SK8975000000000012345671");
+        assertEquals(1, metrics.count(IbanStatus.OK));
+        assertEquals(0, metrics.latencyCount());
+        assertEquals(0, metrics.latencyPercentile(0.99));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Canonical form and fingerprints of different forms of same iban.
+ * @author antons
+ */
+public class IbanNormalizerTest {
+
+    @Test
+    public void sameFingerprintForAllForms() {
+        Random random = new Random(24);
+        IbanNormalizer normalizer = IbanNormalizer.instance();
+        Map<Long, String> fingerprints = new HashMap<>();
+        for(int i = 0; i < 20_000; i++) {
+            String iban = random(random);
+            String noisy = noisy(iban, random);
+            assertEquals(noisy, iban, normalizer.normalize(noisy));
+            long fingerprint = normalizer.fingerprint(iban);
+            assertNotEquals(0, fingerprint);
+            assertEquals(noisy, fingerprint, normalizer.fingerprint(noisy));
+            String padded = "xx" + noisy + "yy";
+            assertEquals(noisy, fingerprint, normalizer.fingerprint(padded.toCharArray(), 2, noisy.length()));
+            assertEquals(noisy, fingerprint, normalizer.fingerprint(padded.getBytes(StandardCharsets.US_ASCII), 2, noisy.length()));
+
+            char[] target = new char[IbanNormalizer.MAX_LENGTH + 3];
+            assertEquals(iban.length(), normalizer.normalize(noisy, target, 3));
+            assertEquals(iban, new String(target, 3, iban.length()));
+
+            String other = fingerprints.put(fingerprint, iban);
+            if(other != null) assertEquals(other, iban);
+        }
+    }
+
+    @Test
+    public void fixCheckDigits() {
+        IbanNormalizer fixing = IbanNormalizer.instance().fixCheckDigits(true);
+        IbanNormalizer keeping = IbanNormalizer.instance();
+        assertEquals("SK8975000000000012345671", fixing.normalize("sk00 7500-0000 0000 1234 5671"));
+        assertEquals("SK0075000000000012345671", keeping.normalize("sk00 7500-0000 0000 1234 5671"));
+        assertEquals(fixing.fingerprint("SK0075000000000012345671"), fixing.fingerprint("SK89 7500 0000 0000 1234 5671"));
+        assertEquals(fixing.fingerprint("SK0075000000000012345671"), keeping.fingerprint("SK8975000000000012345671"));
+        assertNotEquals(keeping.fingerprint("SK0075000000000012345671"), keeping.fingerprint("SK8975000000000012345671"));
+
+        Random random = new Random(13616);
+        for(int i = 0; i < 1_000; i++) {
+            String iban = random(random);
+            String fixed = Iban.ibanFix(iban);
+            assertEquals(iban, fixed, fixing.normalize(iban));
+            assertEquals(iban, keeping.fingerprint(fixed), fixing.fingerprint(noisy(iban, random)));
+        }
+    }
+
+    @Test
+    public void invalidIbans() {
+        IbanNormalizer normalizer = IbanNormalizer.instance();
+        String[] invalid = {
+            "1K8975000000000012345671",
+            "SK89_7500",
+            "SK89 7500 Ľ",
+            "SK89",
+            "SK 8 9",
+            "SK89750000000000123456711234567890Z",
+            "",
+        };
+        for(String value : invalid) {
+            assertNull(value, normalizer.normalize(value));
+            assertEquals(value, -1, normalizer.normalize(value, new char[IbanNormalizer.MAX_LENGTH], 0));
+            assertEquals(value, 0, normalizer.fingerprint(value));
+            assertEquals(value, 0, normalizer.fingerprint(value.toCharArray(), 0, value.length()));
+        }
+        assertNull(normalizer.normalize(null));
+        assertEquals(0, normalizer.fingerprint((CharSequence)null));
+    }
+
+    @Test
+    public void separators() {
+        assertNull(IbanNormalizer.instance().separators("").normalize("SK89 7500 0000 0000 1234 5671"));
+        assertNull(IbanNormalizer.instance().separators("/").normalize("SK89 7500 0000 0000 1234 5671"));
+        assertEquals("SK8975000000000012345671", IbanNormalizer.instance().separators("/").normalize("SK89/7500/0000/0000/1234/5671"));
+        for(String value : new String[] {"A", "1", "Ž"}) {
+            try {
+                IbanNormalizer.instance().separators(value);
+                fail(value);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Random canonical iban.
+     */
+    static String random(Random random) {
+        String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        int length = 5 + random.nextInt(IbanNormalizer.MAX_LENGTH - 4);
+        StringBuilder sb = new StringBuilder(length);
+        sb.append((char)('A' + random.nextInt(26))).append((char)('A' + random.nextInt(26)));
+        for(int i = 2; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    /**
+     * Same iban with small letters, spaces and dashes.
+     */
+    static String noisy(String iban, Random random) {
+        StringBuilder sb = new StringBuilder();
+        if(random.nextInt(4) == 0) sb.append(' ');
+        for(int i = 0; i < iban.length(); i++) {
+            char c = iban.charAt(i);
+            sb.append(random.nextBoolean() ? Character.toLowerCase(c) : c);
+            if((i % 4 == 3) && random.nextBoolean()) sb.append(random.nextBoolean() ? ' ' : '-');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Allocation free part positions, equality and hashes compared with
+ * substrings for all built in configs.
+ * @author antons
+ */
+public class IbanPartTest {
+
+    private static final String PATTERN_CHARS = "abcdefghijklmnopqrstuvwxyz0";
+
+    @Test
+    public void sameAsSubstrings() {
+        Random random = new Random(13);
+        for(IbanConfig config : IbanConfigRepository.all()) {
+            Iban iban = Iban.instance(IbanSamples.valid(config, random));
+            String value = iban.iban();
+            for(int i = 0; i < PATTERN_CHARS.length(); i++) {
+                char c = PATTERN_CHARS.charAt(i);
+                String message = value + " " + c;
+                String part = iban.patternPart(c);
+                assertEquals(message, part == null ? 0 : part.hashCode(), iban.partHash(c));
+                assertTrue(message, iban.partEquals(c, part));
+                assertEquals(message, part == null, iban.partEquals(c, null));
+                int start = iban.partStart(c);
+                int end = iban.partEnd(c);
+                if(start >= 0) assertEquals(message, part, value.substring(start, end));
+                else assertEquals(message, -1, end);
+                if(part == null) {
+                    assertEquals(message, -1, start);
+                    assertFalse(message, iban.partEquals(c, ""));
+                    assertFalse(message, iban.partEquals(c, "1234"));
+                    continue;
+                }
+                assertTrue(message, iban.partEquals(c, new StringBuilder(part)));
+                assertFalse(message, iban.partEquals(c, part + "0"));
+                assertFalse(message, iban.partEquals(c, part.substring(1)));
+                char[] changed = part.toCharArray();
+                changed[changed.length - 1] = changed[changed.length - 1] == '7' ? '8' : '7';
+                assertFalse(message, iban.partEquals(c, new String(changed)));
+            }
+            String bank = iban.nationalBankNumber();
+            String branch = iban.branch();
+            assertEquals(value, bank == null ? 0 : bank.hashCode(), iban.bankCodeHash());
+            assertEquals(value, branch == null ? 0 : branch.hashCode(), iban.branchHash());
+            assertTrue(value, iban.bankCodeEquals(bank));
+            assertTrue(value, iban.branchEquals(branch));
+            assertFalse(value, iban.bankCodeEquals(bank == null ? "1" : bank + "1"));
+            assertFalse(value, iban.branchEquals(branch == null ? "1" : branch + "1"));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Registry text notation round trip and registry modifications.
+ * @author antons
+ */
+public class IbanRegistryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void textRoundTrip() throws IOException {
+        IbanRegistry registry = IbanRegistry.instance();
+        StringBuilder text = new StringBuilder();
+        registry.write(text);
+        List<IbanConfig> read = IbanRegistry.read(new StringReader("# comment\n\n" + text));
+        assertEquals(registry.size(), read.size());
+        assertEquals(lines(registry.all()), lines(read));
+
+        IbanRegistry copy = IbanRegistry.empty().replace(read);
+        for(IbanConfig config : registry.all()) {
+            String sample = sample(config);
+            assertEquals(sample, IbanStatus.OK, copy.validate(sample));
+            assertEquals(sample, registry.validate(sample), copy.validate(sample));
+        }
+    }
+
+    @Test
+    public void parseLine() {
+        String line = "SK 24 SKkkbbbbppppppcccccccccc 4n,6n,10n";
+        IbanConfig config = IbanRegistry.parseLine(line);
+        assertEquals("SK", config.id());
+        assertEquals(24, config.length());
+        assertEquals("SKkkbbbbppppppcccccccccc", config.pattern());
+        assertEquals(3, config.substringChecks().size());
+        assertEquals(line, IbanRegistry.line(config));
+        assertEquals("QQ 6 QQkkbb -", IbanRegistry.line(IbanRegistry.parseLine("  QQ 6 QQkkbb  ")));
+        assertEquals("QQ 8 QQkkbbcc 2a,2c", IbanRegistry.line(IbanRegistry.parseLine("QQ 8 QQkkbbcc 2a,2c")));
+
+        String[] bad = {
+            "SK 24",
+            "S1 6 S1kkbb",
+            "SK x SKkkbb",
+            "SK 6 CZkkbb",
+            "SK 7 SKkkbb",
+            "SK 6 SKkkbb 2x",
+            "SK 6 SKkkbb 4n",
+        };
+        for(String value : bad) {
+            try {
+                IbanRegistry.parseLine(value);
+                fail(value);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void readReportsLine() throws IOException {
+        try {
+            IbanRegistry.read(new StringReader("SK 24 SKkkbbbbppppppcccccccccc 4n,6n,10n\nSK 7 SKkkbb\n"));
+            fail();
+        } catch(IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("line 2:"));
+        }
+    }
+
+    @Test
+    public void modifications() {
+        IbanRegistry registry = IbanRegistry.instance();
+        int size = registry.size();
+        String sk = "SK8975000000000012345671";
+        assertEquals(IbanStatus.OK, registry.validate(sk));
+
+        registry.remove("sk");
+        assertEquals(size - 1, registry.size());
+        assertNull(registry.config("SK"));
+        assertEquals(IbanStatus.UNKNOWN_COUNTRY, registry.validate(sk));
+        assertEquals(IbanStatus.OK, Iban.validate(sk));
+
+        IbanConfig qq = IbanRegistry.parseLine("QQ 12 QQkkcccccccc 8n");
+        registry.register(qq);
+        assertEquals(size, registry.size());
+        assertEquals(IbanStatus.OK, registry.validate(Iban.ibanFix("QQ0012345678")));
+        assertEquals(IbanStatus.BAD_FORMAT, registry.validate(Iban.ibanFix("QQ001234567A")));
+
+        // registry keeps frozen copy
+        assertTrue(registry.config("QQ").frozen());
+        qq.length(13);
+        assertEquals(12, registry.config("QQ").length());
+
+        registry.replace(Arrays.asList(IbanRegistry.parseLine("QQ 6 QQkkbb")));
+        assertEquals(1, registry.size());
+        assertEquals(IbanStatus.UNKNOWN_COUNTRY, registry.validate("CZ6508000000192000145399"));
+    }
+
+    @Test
+    public void loadFile() throws IOException {
+        Path file = folder.newFile("registry.txt").toPath();
+        Files.write(file, Arrays.asList("# test registry", "QQ 12 QQkkcccccccc 8n", "XQ 6 XQkkbb 2a"), StandardCharsets.UTF_8);
+        IbanRegistry registry = IbanRegistry.instance().load(file);
+        assertEquals(2, registry.size());
+        assertEquals(IbanStatus.OK, registry.validate(Iban.ibanFix("QQ0012345678")));
+        assertEquals(IbanStatus.OK, registry.validate(Iban.ibanFix("XQ00AB")));
+        assertEquals(IbanStatus.BAD_FORMAT, registry.validate(Iban.ibanFix("XQ0012")));
+
+        Files.write(file, Arrays.asList("QQ 12 QQkkcccccccc 8n", "broken"), StandardCharsets.UTF_8);
+        try {
+            registry.load(file);
+            fail();
+        } catch(IllegalArgumentException e) {
+            // previous configs are kept
+            assertEquals(2, registry.size());
+        }
+    }
+
+    private static List<String> lines(List<IbanConfig> configs) {
+        List<String> lines = new ArrayList<>();
+        for(IbanConfig config : configs) lines.add(IbanRegistry.line(config));
+        return lines;
+    }
+
+    /**
+     * Valid iban for given config.
+     */
+    static String sample(IbanConfig config) {
+        char[] chars = new char[config.length()];
+        Arrays.fill(chars, '1');
+        chars[0] = config.id().charAt(0);
+        chars[1] = config.id().charAt(1);
+        if(config.substringChecks() != null) {
+            for(IbanSubstringCheck check : config.substringChecks()) {
+                if("0".equals(check.type)) continue;
+                for(int i = check.startPos; i < check.endPos; i++) chars[i] = 'B';
+            }
+        }
+        chars[2] = '0';
+        chars[3] = '0';
+        return Iban.ibanFix(new String(chars));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Repair suggestions compared with brute force validation of all single
+ * substitutions and adjacent transpositions.
+ * @author antons
+ */
+public class IbanRepairTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String[] COUNTRIES = {"SK", "CZ", "AD", "FR", "GB", "DE", "NL"};
+
+    @Test
+    public void sameAsBruteForce() {
+        Random random = new Random(20);
+        IbanRegistry registry = IbanRegistry.instance();
+        IbanRepair repair = IbanRepair.instance().maxSuggestions(10_000).checkDigits(false);
+        for(int i = 0; i < 300; i++) {
+            String valid = IbanRoutingIndexTest.random(registry.config(COUNTRIES[random.nextInt(COUNTRIES.length)]), random);
+            char[] chars = valid.toCharArray();
+            int pos = 4 + random.nextInt(chars.length - 5);
+            if(random.nextBoolean()) {
+                chars[pos] = ALPHABET.charAt(random.nextInt(10));
+            } else {
+                char c = chars[pos];
+                chars[pos] = chars[pos + 1];
+                chars[pos + 1] = c;
+            }
+            String broken = new String(chars);
+            if(Iban.validate(broken) == IbanStatus.OK) continue;
+
+            Set<String> substitutions = new HashSet<>();
+            Set<String> transpositions = new HashSet<>();
+            List<IbanRepair.Suggestion> suggestions = repair.suggest(broken);
+            double total = 0;
+            for(IbanRepair.Suggestion suggestion : suggestions) {
+                assertEquals(suggestion.iban(), IbanStatus.OK, Iban.validate(suggestion.iban()));
+                if(suggestion.kind() == IbanRepair.Kind.SUBSTITUTION) substitutions.add(suggestion.iban());
+                else if(suggestion.kind() == IbanRepair.Kind.TRANSPOSITION) transpositions.add(suggestion.iban());
+                total += suggestion.likelihood();
+            }
+            assertEquals(broken, 1.0, total, 1e-9);
+            for(int j = 1; j < suggestions.size(); j++) {
+                assertTrue(broken, suggestions.get(j - 1).likelihood() >= suggestions.get(j).likelihood());
+            }
+            assertTrue(broken, substitutions.contains(valid) || transpositions.contains(valid));
+            assertEquals(broken, bruteSubstitutions(broken), substitutions);
+            assertEquals(broken, bruteTranspositions(broken), transpositions);
+
+            String repaired = repair.repair(broken);
+            if(suggestions.size() == 1) assertEquals(broken, valid, repaired);
+            else assertNull(broken, repaired);
+        }
+    }
+
+    @Test
+    public void suggestions() {
+        IbanRepair repair = IbanRepair.instance();
+        List<IbanRepair.Suggestion> list = repair.suggest("SK8975000000000012345761");
+        IbanRepair.Suggestion first = list.get(0);
+        assertEquals("SK8975000000000012345671", first.iban());
+        assertEquals(IbanRepair.Kind.TRANSPOSITION, first.kind());
+        assertEquals(21, first.position());
+
+        String fixed = Iban.ibanFix("SK8975000000000012345761");
+        assertTrue(list.stream().anyMatch(s -> s.iban().equals(fixed)));
+
+        // recomputed check digits are kept as last one even if there are more suggestions
+        list = IbanRepair.instance().maxSuggestions(2).suggest("SK8975000000000012345761");
+        assertEquals(2, list.size());
+        assertEquals(IbanRepair.Kind.TRANSPOSITION, list.get(0).kind());
+        assertEquals(IbanRepair.Kind.CHECK_DIGITS, list.get(1).kind());
+        assertEquals(fixed, list.get(1).iban());
+        assertEquals(1, IbanRepair.instance().checkDigits(false).maxSuggestions(1).suggest("SK8975000000000012345761").size());
+
+        // spaces, dashes and small letters are accepted
+        assertEquals(repair.suggest("SK8975000000000012345761").toString(), repair.suggest("sk89-7500 0000 0000 1234 5761").toString());
+        // invalid character is the only candidate position
+        list = repair.suggest("SK89750000000000123456I1");
+        assertTrue(list.stream().allMatch(s -> s.position() == 22));
+        assertEquals("SK8975000000000012345671", list.get(0).iban());
+
+        assertTrue(repair.suggest("SK8975000000000012345671").isEmpty());
+        assertTrue(repair.suggest("XX8975000000000012345671").isEmpty());
+        assertTrue(repair.suggest("SK897500000000001234567").isEmpty());
+        assertTrue(repair.suggest("SK").isEmpty());
+        assertTrue(repair.suggest(null).isEmpty());
+        assertNull(repair.repair("SK8975000000000012345671"));
+    }
+
+    @Test
+    public void registryConfigs() {
+        IbanRegistry registry = IbanRegistry.empty().register(IbanRegistry.parseLine("QQ 12 QQkkcccccccc 8n"));
+        String valid = Iban.ibanFix("QQ0012345678");
+        String broken = valid.substring(0, 5) + "9" + valid.substring(6);
+        assertTrue(IbanRepair.instance().suggest(broken).isEmpty());
+        assertTrue(IbanRepair.instance(registry).suggest(broken).size() > 0);
+        assertEquals(bruteSubstitutions(broken, registry).size() + bruteTranspositions(broken, registry).size() + 1,
+            IbanRepair.instance(registry).maxSuggestions(1000).suggest(broken).size());
+    }
+
+    private static Set<String> bruteSubstitutions(String iban) {
+        return bruteSubstitutions(iban, IbanRegistry.instance());
+    }
+
+    private static Set<String> bruteSubstitutions(String iban, IbanRegistry registry) {
+        Set<String> set = new HashSet<>();
+        for(int pos = 2; pos < iban.length(); pos++) {
+            for(int i = 0; i < ALPHABET.length(); i++) {
+                char c = ALPHABET.charAt(i);
+                if((pos < 4) && (c > '9')) break;
+                char[] chars = iban.toCharArray();
+                if(chars[pos] == c) continue;
+                chars[pos] = c;
+                String candidate = new String(chars);
+                if(registry.validate(candidate) == IbanStatus.OK) set.add(candidate);
+            }
+        }
+        return set;
+    }
+
+    private static Set<String> bruteTranspositions(String iban) {
+        return bruteTranspositions(iban, IbanRegistry.instance());
+    }
+
+    private static Set<String> bruteTranspositions(String iban, IbanRegistry registry) {
+        Set<String> set = new HashSet<>();
+        for(int pos = 2; pos < iban.length() - 1; pos++) {
+            char[] chars = iban.toCharArray();
+            if(chars[pos] == chars[pos + 1]) continue;
+            char c = chars[pos];
+            chars[pos] = chars[pos + 1];
+            chars[pos + 1] = c;
+            if((chars[2] > '9') || (chars[3] > '9')) continue;
+            String candidate = new String(chars);
+            if(registry.validate(candidate) == IbanStatus.OK) set.add(candidate);
+        }
+        return set;
+    }
+}
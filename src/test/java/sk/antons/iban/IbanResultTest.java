@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+/**
+ * Results of asynchronous validation.
+ * @author antons
+ */
+public class IbanResultTest {
+
+    private static final List<String> VALUES = Arrays.asList(
+        "SK8975000000000012345671",
+        "SK89 7500 0000 0000 1234 5671",
+        " SK8975000000000012345671",
+        "S K8975000000000012345671",
+        "SK8975000000000012345672",
+        "x",
+        "",
+        null);
+
+    @Test
+    public void validResultHasIban() {
+        for(String value : VALUES) {
+            IbanResult result = IbanResult.of(value);
+            assertEquals(Iban.validate(value), result.status());
+            if(result.valid()) assertNotNull(value, result.iban());
+            else assertNull(value, result.iban());
+        }
+    }
+
+    @Test
+    public void asyncNeverFails() throws Exception {
+        List<IbanResult> results = IbanAsyncValidator.instance().batchSize(3).validate(VALUES).get(10, TimeUnit.SECONDS);
+        assertEquals(VALUES.size(), results.size());
+        for(int i = 0; i < VALUES.size(); i++) {
+            assertEquals(VALUES.get(i), results.get(i).value());
+            assertEquals(Iban.validate(VALUES.get(i)), results.get(i).status());
+        }
+        assertEquals(IbanStatus.UNKNOWN_COUNTRY, IbanAsyncValidator.instance().validate(" SK8975000000000012345671").get(10, TimeUnit.SECONDS).status());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Routing index lookups compared with HashMap of bank and branch codes.
+ * @author antons
+ */
+public class IbanRoutingIndexTest {
+
+    private static final String[] COUNTRIES = {"SK", "AD", "FR", "GB"};
+
+    @Test
+    public void sameAsMap() {
+        Random random = new Random(14);
+        IbanRegistry registry = IbanRegistry.instance();
+        List<Iban> ibans = new ArrayList<>();
+        for(int i = 0; i < 20_000; i++) {
+            IbanConfig config = registry.config(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            ibans.add(Iban.instance(random(config, random)));
+        }
+
+        Map<String, Integer> map = new HashMap<>();
+        IbanRoutingIndex.Builder<Integer> builder = IbanRoutingIndex.builder();
+        for(int i = 0; i < ibans.size(); i += 2) {
+            Iban iban = ibans.get(i);
+            String country = iban.iban().substring(0, 2);
+            String bank = bank(iban);
+            String branch = iban.branch();
+            if((branch != null) && random.nextBoolean()) {
+                builder.put(country, bank, branch, i);
+                map.put(country + bank + "/" + branch, i);
+            } else {
+                builder.put(country, bank, i);
+                map.put(country + bank + "/", i);
+            }
+        }
+        IbanRoutingIndex<Integer> index = builder.build();
+        assertEquals(map.size(), index.size());
+        assertEquals(map.size(), builder.size());
+
+        for(Iban iban : ibans) {
+            String country = iban.iban().substring(0, 2);
+            String bank = bank(iban);
+            String branch = iban.branch();
+            Integer expected = branch == null ? null : map.get(country + bank + "/" + branch);
+            if(expected == null) expected = map.get(country + bank + "/");
+            assertEquals(iban.iban(), expected, index.get(iban));
+            assertEquals(iban.iban(), expected, index.get(iban.iban()));
+            assertEquals(iban.iban(), expected, index.get(country, bank, branch));
+        }
+    }
+
+    @Test
+    public void branchWins() {
+        IbanRoutingIndex<String> index = IbanRoutingIndex.<String>builder()
+            .put("AD", "0001", "route-bank")
+            .put("AD", "0001", "2030", "route-branch")
+            .put("SK", "7500", "route-sk")
+            .put("SK", "7500", "route-sk2")
+            .build();
+        assertEquals(3, index.size());
+        assertEquals("route-branch", index.get("AD1200012030200359100100"));
+        assertEquals("route-bank", index.get("AD1200012031200359100100"));
+        assertEquals("route-bank", index.get("AD", "0001", null));
+        assertEquals("route-branch", index.get("ad", "0001", "2030"));
+        assertEquals("route-sk2", index.get(Iban.instance("SK8975000000000012345671")));
+        assertNull(index.get("SK8975010000000012345671"));
+        assertNull(index.get("CZ6508000000192000145399"));
+        assertNull(index.get("S"));
+        assertNull(index.get((CharSequence)null));
+        assertNull(index.get("SK", "75000", null));
+    }
+
+    @Test
+    public void badEntries() {
+        IbanRoutingIndex.Builder<String> builder = IbanRoutingIndex.builder();
+        Object[][] bad = {
+            {"XX", "7500", null, "x"},
+            {"S", "7500", null, "x"},
+            {"SK", "750", null, "x"},
+            {"SK", "7500", "1234", "x"},
+            {"AD", "0001", "203", "x"},
+            {"SK", "7500", null, null},
+        };
+        for(Object[] entry : bad) {
+            try {
+                builder.put((String)entry[0], (String)entry[1], (String)entry[2], (String)entry[3]);
+                fail(entry[0] + " " + entry[1] + " " + entry[2]);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+        assertEquals(0, builder.size());
+    }
+
+    private static String bank(Iban iban) {
+        String bank = iban.nationalBankNumber();
+        return bank == null ? iban.bic() : bank;
+    }
+
+    /**
+     * Random valid iban for given config.
+     */
+    static String random(IbanConfig config, Random random) {
+        char[] chars = new char[config.length()];
+        for(int i = 4; i < chars.length; i++) chars[i] = (char)('0' + random.nextInt(10));
+        for(IbanSubstringCheck check : config.substringChecks()) {
+            if("0".equals(check.type)) continue;
+            for(int i = check.startPos; i < check.endPos; i++) {
+                chars[i] = random.nextBoolean() ? (char)('A' + random.nextInt(26)) : (char)('0' + random.nextInt(10));
+                if("A".equals(check.type)) chars[i] = (char)('A' + random.nextInt(26));
+            }
+        }
+        chars[0] = config.id().charAt(0);
+        chars[1] = config.id().charAt(1);
+        chars[2] = '0';
+        chars[3] = '0';
+        return Iban.ibanFix(new String(chars));
+    }
+}
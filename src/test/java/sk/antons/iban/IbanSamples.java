@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generated ibans for tests - valid ibans for built in configs and
+ * their single character mutants.
+ * @author antons
+ */
+class IbanSamples {
+
+    private IbanSamples() {}
+
+    /**
+     * All built in configs (public static fields of IbanConfigRepository).
+     */
+    static List<IbanConfig> configs() {
+        List<IbanConfig> list = new ArrayList<>();
+        for(Field field : IbanConfigRepository.class.getFields()) {
+            if(!Modifier.isStatic(field.getModifiers()) || (field.getType() != IbanConfig.class)) continue;
+            try {
+                list.add((IbanConfig)field.get(null));
+            } catch(IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Random iban with correct length, format and checksum.
+     */
+    static String valid(IbanConfig config, Random random) {
+        char[] chars = new char[config.length()];
+        for(int i = 4; i < chars.length; i++) chars[i] = (char)('0' + random.nextInt(10));
+        if(config.substringChecks() != null) {
+            for(IbanSubstringCheck check : config.substringChecks()) {
+                if("0".equals(check.type)) continue;
+                for(int i = check.startPos; i < check.endPos; i++) {
+                    if("A".equals(check.type) || random.nextBoolean()) chars[i] = (char)('A' + random.nextInt(26));
+                }
+            }
+        }
+        chars[0] = config.id().charAt(0);
+        chars[1] = config.id().charAt(1);
+        chars[2] = '0';
+        chars[3] = '0';
+        return Iban.ibanFix(new String(chars));
+    }
+
+    /**
+     * Given iban with one changed character, one added or removed
+     * character and with small letters and spaces.
+     */
+    static List<String> mutants(String iban, Random random) {
+        List<String> list = new ArrayList<>();
+        for(int i = 0; i < iban.length(); i++) {
+            for(char c : new char[] {(char)('0' + random.nextInt(10)), (char)('A' + random.nextInt(26)), 'x', '-'}) {
+                if(iban.charAt(i) == c) continue;
+                char[] chars = iban.toCharArray();
+                chars[i] = c;
+                list.add(new String(chars));
+            }
+        }
+        list.add(iban + "1");
+        list.add(iban.substring(0, iban.length() - 1));
+        list.add(iban.toLowerCase());
+        list.add(iban.substring(0, 4) + " " + iban.substring(4));
+        return list;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Scanner boundary, separator and near miss rules and equality of results
+ * for all text representations.
+ * @author antons
+ */
+public class IbanScannerTest {
+
+    private static final String SK = "SK8975000000000012345671";
+    private static final String GB = "GB82WEST12345698765432";
+
+    @Test
+    public void wordBoundary() {
+        IbanScanner scanner = IbanScanner.instance();
+        assertEquals(Arrays.asList(SK), scanner.extract(SK));
+        assertEquals(Arrays.asList(SK), scanner.extract("pay to " + SK + "."));
+        assertEquals(Arrays.asList(SK), scanner.extract("(" + SK + ")"));
+        assertEquals(Arrays.asList(SK, GB), scanner.extract(SK + ", " + GB));
+        assertEquals(Collections.emptyList(), scanner.extract("x" + SK));
+        assertEquals(Collections.emptyList(), scanner.extract("1" + SK));
+        assertEquals(Collections.emptyList(), scanner.extract(SK + "x"));
+        assertEquals(Collections.emptyList(), scanner.extract(SK + "1"));
+        assertEquals(Collections.emptyList(), scanner.extract("ABC" + SK));
+    }
+
+    @Test
+    public void separators() {
+        IbanScanner scanner = IbanScanner.instance();
+        assertEquals(Arrays.asList(SK), scanner.extract("iban: SK89 7500 0000 0000 1234 5671 end"));
+        assertEquals(Arrays.asList(SK), scanner.extract("SK89-7500-0000-0000-1234-5671"));
+        assertEquals(Arrays.asList(SK), scanner.extract("SK 8 9 7-5-0 0 0000 0000 1234 5671"));
+        assertEquals(Arrays.asList(GB), scanner.extract("GB82 WEST 1234 5698 7654 32"));
+        // only one separator between characters
+        assertEquals(Collections.emptyList(), scanner.extract("SK89  7500 0000 0000 1234 5671"));
+        assertEquals(Collections.emptyList(), scanner.extract("SK89 -7500 0000 0000 1234 5671"));
+        // no separator inside country code
+        assertEquals(Collections.emptyList(), scanner.extract("S K89 7500 0000 0000 1234 5671"));
+        // trailing separator is not part of iban
+        String text = "SK89 7500 0000 0000 1234 5671 ";
+        long match = scanner.find(text, 0);
+        assertEquals(0, IbanScanner.start(match));
+        assertEquals(text.length() - 1, IbanScanner.end(match));
+
+        assertEquals(Collections.emptyList(), IbanScanner.instance().separators("").extract("SK89 7500 0000 0000 1234 5671"));
+        assertEquals(Arrays.asList(SK), IbanScanner.instance().separators("").extract(SK));
+        assertEquals(Arrays.asList(SK), IbanScanner.instance().separators("_").extract("SK89_7500_0000_0000_1234_5671"));
+        assertEquals(Collections.emptyList(), IbanScanner.instance().separators("_").extract("SK89 7500 0000 0000 1234 5671"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void alnumSeparator() {
+        IbanScanner.instance().separators(" a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonAsciiSeparator() {
+        IbanScanner.instance().separators(" ");
+    }
+
+    @Test
+    public void nearMisses() {
+        IbanScanner scanner = IbanScanner.instance();
+        assertEquals(Collections.emptyList(), scanner.extract(SK.toLowerCase()));
+        assertEquals(Collections.emptyList(), scanner.extract("sk89 7500 0000 0000 1234 5671"));
+        assertEquals(Collections.emptyList(), scanner.extract("GB82west12345698765432"));
+        assertEquals(Collections.emptyList(), scanner.extract("SK8975000000000012345672"));
+        assertEquals(Collections.emptyList(), scanner.extract("SK897500000000001234567"));
+        assertEquals(Collections.emptyList(), scanner.extract("XX8975000000000012345671"));
+        // correct checksum, letter where SK has digits
+        String letter = Iban.ibanFix("SK0075000000000012345A71");
+        assertEquals(Collections.emptyList(), scanner.extract(letter));
+        // near miss followed by real iban
+        assertEquals(Arrays.asList(SK), scanner.extract("SK8975000000000012345672 " + SK));
+        assertEquals(Collections.emptyList(), scanner.extract("SK" + SK));
+        assertEquals(Collections.emptyList(), scanner.extract(null));
+    }
+
+    @Test
+    public void embedded() {
+        Random random = new Random(19);
+        for(IbanConfig config : IbanSamples.configs()) {
+            String iban = IbanSamples.valid(config, random);
+            assertEquals(iban, Arrays.asList(iban), IbanScanner.instance().extract("ref " + iban + "\n"));
+            assertEquals(iban, Arrays.asList(iban), IbanScanner.instance().extract(grouped(iban, "-")));
+            assertEquals(iban, Collections.emptyList(), IbanScanner.instance().extract("A" + iban));
+            assertEquals(iban, Collections.emptyList(), IbanScanner.instance().extract(iban + "0"));
+            for(String mutant : IbanSamples.mutants(iban, random)) {
+                List<String> found = IbanScanner.instance().extract(mutant);
+                // mutant is found only if it is still valid iban (space after country code, changed country)
+                for(String f : found) assertEquals(mutant + " " + f, IbanStatus.OK, Iban.instance(f).validate());
+            }
+        }
+    }
+
+    @Test
+    public void sameOffsetsForAllRepresentations() {
+        Random random = new Random(23);
+        StringBuilder sb = new StringBuilder();
+        List<Long> expected = new ArrayList<>();
+        for(IbanConfig config : IbanSamples.configs()) {
+            sb.append(random.nextBoolean() ? "pay to: " : "x ");
+            String iban = IbanSamples.valid(config, random);
+            String text = random.nextBoolean() ? grouped(iban, random.nextBoolean() ? " " : "-") : iban;
+            expected.add(((long)sb.length() << 32) | (sb.length() + text.length()));
+            sb.append(text);
+            sb.append(random.nextBoolean() ? ". " : "\n");
+            List<String> mutants = IbanSamples.mutants(iban, random);
+            sb.append(mutants.get(random.nextInt(mutants.size() - 4))).append(' ');
+        }
+        String text = sb.toString();
+        List<Long> fromString = collect(IbanScanner.instance(), text);
+        assertTrue(fromString.containsAll(expected));
+        for(long m : fromString) {
+            String found = text.substring(IbanScanner.start(m), IbanScanner.end(m)).replaceAll("[ -]", "");
+            assertEquals(found, IbanStatus.OK, Iban.instance(found).validate());
+        }
+
+        List<Long> fromFind = new ArrayList<>();
+        IbanScanner scanner = IbanScanner.instance();
+        for(long m = scanner.find(text, 0); m >= 0; m = scanner.find(text, IbanScanner.end(m))) fromFind.add(m);
+        assertEquals(fromString, fromFind);
+
+        String padded = "abc " + text + " xyz";
+        List<Long> fromChars = new ArrayList<>();
+        int count = scanner.scan(padded.toCharArray(), 4, text.length(), (start, end) -> fromChars.add(pack(start - 4, end - 4)));
+        assertEquals(fromString, fromChars);
+        assertEquals(fromString.size(), count);
+
+        byte[] bytes = padded.getBytes(StandardCharsets.ISO_8859_1);
+        List<Long> fromBytes = new ArrayList<>();
+        scanner.scan(bytes, 4, text.length(), (start, end) -> fromBytes.add(pack(start - 4, end - 4)));
+        assertEquals(fromString, fromBytes);
+
+        ByteBuffer heap = ByteBuffer.wrap(bytes, 2, bytes.length - 2).slice();
+        heap.position(2).limit(2 + text.length());
+        List<Long> fromHeap = new ArrayList<>();
+        scanner.scan(heap, (start, end) -> fromHeap.add(pack(start - 2, end - 2)));
+        assertEquals(fromString, fromHeap);
+        assertEquals(2, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).position(4).limit(4 + text.length());
+        List<Long> fromDirect = new ArrayList<>();
+        scanner.scan(direct, (start, end) -> fromDirect.add(pack(start - 4, end - 4)));
+        assertEquals(fromString, fromDirect);
+        assertEquals(4, direct.position());
+    }
+
+    @Test
+    public void findPacking() {
+        String text = "01234567890 " + SK;
+        long match = IbanScanner.instance().find(text, 0);
+        assertEquals(12, IbanScanner.start(match));
+        assertEquals(text.length(), IbanScanner.end(match));
+        assertEquals(match, IbanScanner.instance().find(text, 12));
+        assertEquals(-1, IbanScanner.instance().find(text, 13));
+        assertEquals(-1, IbanScanner.instance().find(null, 0));
+        long big = ((long)Integer.MAX_VALUE - 1 << 32) | Integer.MAX_VALUE;
+        assertEquals(Integer.MAX_VALUE - 1, IbanScanner.start(big));
+        assertEquals(Integer.MAX_VALUE, IbanScanner.end(big));
+    }
+
+    private static List<Long> collect(IbanScanner scanner, CharSequence text) {
+        List<Long> list = new ArrayList<>();
+        scanner.scan(text, (start, end) -> list.add(pack(start, end)));
+        return list;
+    }
+
+    private static long pack(int start, int end) {
+        return ((long)start << 32) | end;
+    }
+
+    private static String grouped(String iban, String separator) {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < iban.length(); i++) {
+            if((i > 0) && (i % 4 == 0)) sb.append(separator);
+            sb.append(iban.charAt(i));
+        }
+        return sb.toString();
+    }
+}
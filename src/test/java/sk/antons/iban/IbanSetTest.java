@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Iban set operations compared with HashSet.
+ * @author antons
+ */
+public class IbanSetTest {
+
+    @Test
+    public void sameAsHashSet() {
+        Random random = new Random(16);
+        List<String> universe = new ArrayList<>();
+        for(int i = 0; i < 3_000; i++) universe.add(PackedIbanTest.random(random));
+        IbanSet set = IbanSet.instance();
+        Set<String> expected = new HashSet<>();
+        for(int i = 0; i < 200_000; i++) {
+            String iban = universe.get(random.nextInt(universe.size()));
+            int op = random.nextInt(3);
+            if(op == 0) assertEquals(iban, expected.add(iban), set.add(iban));
+            else if(op == 1) assertEquals(iban, expected.remove(iban), set.remove(iban));
+            else assertEquals(iban, expected.contains(iban), set.contains(iban));
+            assertEquals(expected.size(), set.size());
+        }
+        for(String iban : universe) {
+            assertEquals(iban, expected.contains(iban), set.contains(iban));
+            assertEquals(iban, expected.contains(iban), set.contains(PackedIban.of(iban)));
+        }
+        Set<String> iterated = new HashSet<>();
+        for(PackedIban packed : set) assertTrue(iterated.add(packed.iban()));
+        assertEquals(expected, iterated);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        for(String iban : universe) assertFalse(set.contains(iban));
+    }
+
+    @Test
+    public void canonicalForm() {
+        IbanSet set = IbanSet.instance(4);
+        assertTrue(set.add("SK8975000000000012345671"));
+        assertFalse(set.add("sk89 7500 0000 0000 1234 5671"));
+        assertFalse(set.add(Iban.instance("SK8975000000000012345671")));
+        assertFalse(set.add(PackedIban.of("SK8975000000000012345671")));
+        assertTrue(set.contains(Iban.instance("SK89 7500 0000 0000 1234 5671")));
+        assertEquals(1, set.size());
+        try {
+            set.add("SK89-7500");
+            fail();
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+        assertFalse(set.contains("SK89-7500"));
+        assertTrue(set.remove("SK89 7500 0000 0000 1234 5671"));
+        assertFalse(set.remove(PackedIban.of("SK8975000000000012345671")));
+    }
+
+    @Test
+    public void failFastIterator() {
+        IbanSet set = IbanSet.instance();
+        set.add("SK8975000000000012345671");
+        set.add("CZ6508000000192000145399");
+        Iterator<PackedIban> iter = set.iterator();
+        iter.next();
+        set.add("AD1200012030200359100100");
+        try {
+            iter.next();
+            fail();
+        } catch(ConcurrentModificationException e) {
+            // expected
+        }
+    }
+}
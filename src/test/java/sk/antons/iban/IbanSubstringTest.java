@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Same results of substring checks and resolvers for all input types.
+ * @author antons
+ */
+public class IbanSubstringTest {
+
+    private static final String SK = "SK8975000000000012345671";
+
+    private static ByteBuffer direct(String value) {
+        byte[] bytes = ("##" + value).getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.position(2);
+        return buffer;
+    }
+
+    @Test
+    public void checkInputs() {
+        IbanSubstringCheck check = IbanSubstringCheck.numeric(4, 24);
+        for(String value : new String[] {SK, "SK89750000", "SK89A5000000000012345671", ""}) {
+            boolean expected = check.validate(value);
+            byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+            assertEquals(value, expected, check.validate(value.toCharArray(), 0, value.length()));
+            assertEquals(value, expected, check.validate(bytes, 0, bytes.length));
+            assertEquals(value, expected, check.validate(ByteBuffer.wrap(bytes)));
+            ByteBuffer buffer = direct(value);
+            assertEquals(value, expected, check.validate(buffer));
+            assertEquals(2, buffer.position());
+        }
+        assertTrue(check.validate(SK));
+        assertFalse(check.validate("SK89750000"));
+        assertFalse(check.validate((CharSequence)null));
+    }
+
+    @Test
+    public void resolverInputs() {
+        IbanConfig sk = IbanConfigRepository.SK;
+        ByteBuffer buffer = direct(SK);
+        assertEquals("7500", sk.resolver('b').resolve(SK));
+        assertEquals("7500", sk.resolver('b').resolve(buffer));
+        assertEquals("7500", sk.resolver('b').resolve(ByteBuffer.wrap(SK.getBytes(StandardCharsets.ISO_8859_1))));
+        assertEquals(2, buffer.position());
+        assertEquals(IbanSubstringResolver.Pattern.instance('b', sk.pattern()).resolve(SK),
+            IbanSubstringResolver.Pattern.instance('b', sk.pattern()).resolve(buffer));
+        assertEquals(null, IbanSubstringResolver.None.instance().resolve(buffer));
+        assertEquals(SK, Iban.instance(buffer).iban());
+        assertEquals(2, buffer.position());
+    }
+}
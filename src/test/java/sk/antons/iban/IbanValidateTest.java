@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Validation of Iban instances and consistency of static validation
+ * with Iban.instance().
+ * @author antons
+ */
+public class IbanValidateTest {
+
+    private static final String SK = "SK8975000000000012345671";
+
+    @Test
+    public void registryIbanUsesOwnConfig() {
+        IbanConfig qq = IbanConfig.instance("QQ").length(12).pattern("QQkkcccccccc").numeric(4, 12);
+        IbanRegistry registry = IbanRegistry.empty().register(qq);
+        String value = Iban.ibanFix("QQ0012345678");
+        Iban iban = registry.iban(value);
+        assertTrue(iban.lengthCheck());
+        assertTrue(iban.formatCheck());
+        assertTrue(iban.ibanCheck());
+        assertEquals(IbanStatus.OK, iban.validate());
+        assertEquals(IbanStatus.OK, registry.validate(value));
+        assertEquals(IbanStatus.OK, MemoizedIban.of(iban).validate());
+        assertEquals(IbanStatus.UNKNOWN_COUNTRY, Iban.validate(value));
+    }
+
+    @Test
+    public void customConfigIsUsed() {
+        // stricter than built in SK config - bank code must be capitals
+        IbanConfig custom = IbanConfig.instance("SK").length(24).pattern("SKkkbbbbcccccccccccccccc").numeric(4, 4).capitals(4, 8).numeric(8, 24);
+        Iban iban = Iban.instance(SK, custom);
+        assertFalse(iban.formatCheck());
+        assertEquals(IbanStatus.BAD_FORMAT, iban.validate());
+        assertEquals(IbanStatus.BAD_FORMAT, MemoizedIban.of(iban).validate());
+        assertEquals(IbanStatus.OK, Iban.validate(SK));
+
+        IbanConfig shorter = IbanConfig.instance("SK").length(20).pattern("SKkkcccccccccccccccc").numeric(4, 20);
+        assertEquals(IbanStatus.BAD_LENGTH, Iban.instance(SK, shorter).validate());
+    }
+
+    @Test
+    public void validIsParseable() {
+        String[] values = {
+            SK,
+            "SK89 7500 0000 0000 1234 5671",
+            "SK8975000000000012345671 ",
+            " SK8975000000000012345671",
+            "S K8975000000000012345671",
+            "  SK8975000000000012345671",
+            "sk8975000000000012345671",
+            "SK",
+            "S",
+            "",
+        };
+        for(String value : values) {
+            IbanStatus status = Iban.validate(value);
+            assertEquals(status, Iban.validate(value.toCharArray(), 0, value.length()));
+            assertEquals(status, IbanRegistry.instance().validate(value));
+            if(status.valid()) {
+                Iban iban = Iban.instance(value);
+                assertNotNull(value, iban);
+                assertEquals(SK, iban.iban());
+            }
+        }
+        assertEquals(IbanStatus.UNKNOWN_COUNTRY, Iban.validate(" " + SK));
+        assertEquals(IbanStatus.UNKNOWN_COUNTRY, Iban.validate("S K89 7500 0000 0000 1234 5671"));
+        assertEquals(IbanStatus.OK, Iban.validate("SK89 7500 0000 0000 1234 5671"));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+/**
+ * Memoized accessors compared with plain Iban for all built in configs.
+ * @author antons
+ */
+public class MemoizedIbanTest {
+
+    private static final String PATTERN_CHARS = "abcdefghijklmnopqrstuvwxyz0";
+
+    @Test
+    public void sameAsIban() {
+        Random random = new Random(17);
+        for(IbanConfig config : IbanSamples.configs()) {
+            List<String> values = new ArrayList<String>();
+            String valid = IbanSamples.valid(config, random);
+            values.add(valid);
+            List<String> mutants = IbanSamples.mutants(valid, random);
+            for(int i = 0; i < 5; i++) values.add(mutants.get(random.nextInt(mutants.size())));
+            for(String value : values) {
+                Iban plain = Iban.instance(value, config);
+                MemoizedIban memo = MemoizedIban.instance(value, config);
+                // second pass reads memoized values
+                assertSameValues(plain, memo);
+                assertSameValues(plain, memo);
+                assertSameValues(plain, MemoizedIban.of(plain));
+            }
+            MemoizedIban memo = MemoizedIban.instance(valid);
+            assertSameValues(Iban.instance(valid), memo);
+            assertSameValues(Iban.instance(valid), memo);
+        }
+    }
+
+    @Test
+    public void missingParts() {
+        // SK has no branch, bic, currency or account type, NONE sentinel must map to null
+        MemoizedIban memo = MemoizedIban.instance("SK8975000000000012345671");
+        for(int i = 0; i < 2; i++) {
+            assertNull(memo.branch());
+            assertNull(memo.bic());
+            assertNull(memo.currency());
+            assertNull(memo.accountType());
+            assertNull(memo.patternPart('x'));
+            assertEquals("7500", memo.nationalBankNumber());
+        }
+    }
+
+    private static void assertSameValues(final Iban plain, final Iban memo) {
+        String message = plain.iban();
+        assertSameValue(message, () -> plain.iban(), () -> memo.iban());
+        assertSameValue(message, () -> plain.validate(), () -> memo.validate());
+        assertSameValue(message, () -> plain.lengthCheck(), () -> memo.lengthCheck());
+        assertSameValue(message, () -> plain.formatCheck(), () -> memo.formatCheck());
+        assertSameValue(message, () -> plain.ibanCheck(), () -> memo.ibanCheck());
+        assertSameValue(message, () -> plain.ibanPretty(), () -> memo.ibanPretty());
+        assertSameValue(message, () -> plain.format(), () -> memo.format());
+        assertSameValue(message, () -> plain.accountNumber(), () -> memo.accountNumber());
+        assertSameValue(message, () -> plain.accountNumberPrefix(), () -> memo.accountNumberPrefix());
+        assertSameValue(message, () -> plain.nationalBankNumber(), () -> memo.nationalBankNumber());
+        assertSameValue(message, () -> plain.bic(), () -> memo.bic());
+        assertSameValue(message, () -> plain.currency(), () -> memo.currency());
+        assertSameValue(message, () -> plain.branch(), () -> memo.branch());
+        assertSameValue(message, () -> plain.accountType(), () -> memo.accountType());
+        assertSameValue(message, () -> plain.checkDigits(), () -> memo.checkDigits());
+        for(int i = 0; i < PATTERN_CHARS.length(); i++) {
+            final char c = PATTERN_CHARS.charAt(i);
+            assertSameValue(message + " " + c, () -> plain.patternPart(c), () -> memo.patternPart(c));
+        }
+    }
+
+    private static void assertSameValue(String message, Callable<Object> plain, Callable<Object> memo) {
+        // malformed ibans must fail the same way in both
+        assertEquals(message, value(plain), value(memo));
+    }
+
+    private static Object value(Callable<Object> accessor) {
+        try {
+            return accessor.call();
+        } catch(Exception e) {
+            return e.getClass();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Modulo 97 computation compared with BigInteger arithmetic.
+ * @author antons
+ */
+public class Mod97Test {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Test
+    public void sameAsBigInteger() {
+        Random random = new Random(97);
+        for(int i = 0; i < 10_000; i++) {
+            String value = random(random, 1 + random.nextInt(40));
+            int expected = reference(value);
+            assertEquals(value, expected, Iban.mod97(value, 0, value.length()));
+            assertEquals(value, expected, Iban.mod97(value.toCharArray(), 0, value.length()));
+            assertEquals(value, expected, Iban.mod97(value.getBytes(StandardCharsets.US_ASCII), 0, value.length()));
+        }
+    }
+
+    @Test
+    public void subrange() {
+        String value = "xx" + "SK8975000000000012345671" + "yy";
+        int expected = reference("SK8975000000000012345671");
+        assertEquals(expected, Iban.mod97(value, 2, value.length() - 2));
+        assertEquals(expected, Iban.mod97(value.toCharArray(), 2, value.length() - 2));
+        assertEquals(expected, Iban.mod97(value.getBytes(StandardCharsets.US_ASCII), 2, value.length() - 2));
+        assertEquals(0, Iban.mod97("", 0, 0));
+    }
+
+    @Test
+    public void invalidCharacters() {
+        for(String value : new String[] {"12a4", "12 4", "12-4", "Ž"}) {
+            assertEquals(value, -1, Iban.mod97(value, 0, value.length()));
+            assertEquals(value, -1, Iban.mod97(value.toCharArray(), 0, value.length()));
+        }
+        assertEquals(-1, Iban.mod97(new byte[] {'1', (byte)0xc5, '2'}, 0, 3));
+    }
+
+    @Test
+    public void checkAndFix() {
+        Random random = new Random(13616);
+        for(int i = 0; i < 1_000; i++) {
+            String value = "SK00" + random(random, 20);
+            String fixed = Iban.ibanFix(value);
+            String rotated = fixed.substring(4) + fixed.substring(0, 4);
+            assertEquals(fixed, 1, reference(rotated));
+            assertTrue(fixed, Iban.ibanCheck(fixed));
+            assertTrue(fixed, Iban.ibanCheck(fixed.toCharArray(), 0, fixed.length()));
+            assertTrue(fixed, Iban.ibanCheck(fixed.getBytes(StandardCharsets.US_ASCII), 0, fixed.length()));
+            assertEquals(fixed, Iban.ibanFix(fixed));
+        }
+        assertTrue(Iban.ibanCheck("SK8975000000000012345671"));
+        assertFalse(Iban.ibanCheck("SK8975000000000012345672"));
+        assertFalse(Iban.ibanCheck("SK8"));
+        assertFalse(Iban.ibanCheck((String)null));
+        assertNull(Iban.ibanFix("SK00 7500"));
+        assertNull(Iban.ibanFix("SK0"));
+    }
+
+    private static String random(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for(int i = 0; i < length; i++) sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        return sb.toString();
+    }
+
+    private static int reference(String value) {
+        StringBuilder digits = new StringBuilder();
+        for(int i = 0; i < value.length(); i++) digits.append(Character.digit(value.charAt(i), 36));
+        return new BigInteger(digits.toString()).mod(BigInteger.valueOf(97)).intValue();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Packing and unpacking of ibans.
+ * @author antons
+ */
+public class PackedIbanTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Test
+    public void roundTrip() {
+        Random random = new Random(15);
+        for(int i = 0; i < 10_000; i++) {
+            String iban = random(random);
+            PackedIban packed = PackedIban.of(iban);
+            assertEquals(iban, packed.iban());
+            assertEquals(iban, packed.toString());
+            assertEquals(iban.length(), packed.length());
+            assertEquals(iban.substring(0, 2), packed.country());
+            PackedIban copy = PackedIban.of(packed.word(0), packed.word(1), packed.word(2));
+            assertEquals(packed, copy);
+            assertEquals(packed.hashCode(), copy.hashCode());
+            assertEquals(0, packed.compareTo(copy));
+        }
+    }
+
+    @Test
+    public void canonicalForm() {
+        PackedIban packed = PackedIban.of("SK8975000000000012345671");
+        assertEquals(packed, PackedIban.of("SK89 7500 0000 0000 1234 5671"));
+        assertEquals(packed, PackedIban.of("sk89 7500 0000 0000 1234 5671"));
+        assertEquals(packed, PackedIban.of(Iban.instance("SK8975000000000012345671")));
+        assertEquals("SK8975000000000012345671", packed.toIban().iban());
+        assertNotEquals(packed, PackedIban.of("SK89750000000000123456710"));
+        assertNotEquals(packed, PackedIban.of("SK897500000000001234567"));
+
+        String[] bad = {"1K8975000000000012345671", "SK89-7500", "SK8975000000000012345671ĽŠ", repeat('1', PackedIban.MAX_LENGTH + 1)};
+        for(String value : bad) {
+            try {
+                PackedIban.of(value);
+                fail(value);
+            } catch(IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void ordering() {
+        Random random = new Random(36);
+        List<String> values = new ArrayList<>();
+        List<PackedIban> packed = new ArrayList<>();
+        for(int i = 0; i < 2_000; i++) {
+            String iban = random(random);
+            values.add(iban);
+            packed.add(PackedIban.of(iban));
+        }
+        values.sort(Comparator.comparing((String s) -> s.substring(0, 2)).thenComparing(String::length).thenComparing(s -> s));
+        Collections.sort(packed);
+        for(int i = 0; i < values.size(); i++) assertEquals(values.get(i), packed.get(i).iban());
+    }
+
+    static String random(Random random) {
+        int length = 5 + random.nextInt(PackedIban.MAX_LENGTH - 4);
+        StringBuilder sb = new StringBuilder(length);
+        sb.append((char)('A' + random.nextInt(26))).append((char)('A' + random.nextInt(26)));
+        for(int i = 2; i < length; i++) sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        return sb.toString();
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for(int i = 0; i < count; i++) sb.append(c);
+        return sb.toString();
+    }
+}
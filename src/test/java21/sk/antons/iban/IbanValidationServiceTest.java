@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Batch helpers of validation service and pinning of virtual threads.
+ * Pinning is detected by jdk.VirtualThreadPinned JFR events and by
+ * -Djdk.tracePinnedThreads output (set by java21 profile).
+ * @author antons
+ */
+public class IbanValidationServiceTest {
+
+    private static final String[] IBANS = {
+        "SK8975000000000012345671", "SK8975000000000012345672", "DE89370400440532013000",
+        "CZ6508000000192000145399", "GB33BUKB20201555555555", "FR7630006000011234567890189",
+        "XX12", "SK89 7500 0000 0000 1234 5671"
+    };
+
+    @After
+    public void uninstall() {
+        IbanMetrics.uninstall();
+    }
+
+    @Test
+    public void validateAllKeepsOrder() {
+        List<String> ibans = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) ibans.add(IBANS[(i * 7) % IBANS.length]);
+        IbanValidationService service = IbanValidationService.instance().batchSize(7).maxConcurrency(3);
+        List<IbanResult> results = service.validateAll(ibans);
+        assertEquals(ibans.size(), results.size());
+        for(int i = 0; i < ibans.size(); i++) {
+            IbanResult expected = IbanResult.of(ibans.get(i));
+            assertEquals("" + i, expected.value(), results.get(i).value());
+            assertEquals("" + i, expected.status(), results.get(i).status());
+        }
+        try {
+            results.set(0, null);
+            assertTrue("result is modifiable", false);
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+        assertTrue(service.validateAll(Collections.<String>emptyList()).isEmpty());
+        assertTrue(service.validateAll(null).isEmpty());
+    }
+
+    @Test
+    public void allValid() {
+        IbanValidationService service = IbanValidationService.instance().batchSize(5).maxConcurrency(4);
+        List<String> ibans = new ArrayList<>(Collections.nCopies(100, "SK8975000000000012345671"));
+        Counter counter = new Counter();
+        IbanMetrics.sink(counter);
+        assertTrue(service.allValid(ibans));
+        assertEquals(100, counter.validated.get());
+        ibans.set(99, "SK8975000000000012345672");
+        assertFalse(service.allValid(ibans));
+        assertTrue(service.allValid(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void allValidStopsAtFirstInvalid() {
+        // only one chunk runs at a time and it cancels others before releasing its permit
+        IbanValidationService service = IbanValidationService.instance().batchSize(10).maxConcurrency(1);
+        List<String> ibans = Collections.nCopies(10000, "SK8975000000000012345672");
+        Counter counter = new Counter();
+        IbanMetrics.sink(counter);
+        assertFalse(service.allValid(ibans));
+        assertEquals(1, counter.validated.get());
+    }
+
+    @Test
+    public void noPinning() throws Exception {
+        PrintStream out = System.out;
+        ByteArrayOutputStream trace = new ByteArrayOutputStream();
+        long pinned;
+        System.setOut(new PrintStream(trace, true));
+        try {
+            IbanValidationService service = IbanValidationService.instance().batchSize(50).maxConcurrency(8);
+            IbanRegistry registry = IbanRegistry.instance();
+            IbanCache cache = IbanCache.instance().maxSize(4).stripes(2);
+            IbanMetrics.instance().timing(true).install();
+            AtomicLong seed = new AtomicLong();
+            pinned = pinned(() -> workload(service, registry, cache, (int)seed.getAndIncrement()), 200);
+        } finally {
+            System.setOut(out);
+        }
+        assertEquals(trace.toString(), 0, pinned);
+        assertEquals("", trace.toString());
+    }
+
+    private static void workload(IbanValidationService service, IbanRegistry registry, IbanCache cache, int seed) {
+        for(int i = 0; i < 2000; i++) {
+            String value = IBANS[(seed + i) % IBANS.length];
+            service.validate(value);
+            IbanResult result = service.result(value);
+            Iban iban = result.iban();
+            if(iban != null) {
+                iban.nationalBankNumber();
+                iban.accountNumber();
+                iban.accountNumberPrefix();
+                iban.bic();
+                iban.branch();
+                iban.bankCodeEquals("7500");
+                iban.formatCheck();
+                iban.ibanCheck();
+            }
+            IbanConfigRepository.tryParse(value);
+            registry.validate(value);
+            cache.validate(value);
+            if(i % 100 == 0) {
+                registry.remove("SK");
+                registry.register(IbanConfigRepository.parse("SK8975000000000012345671").copy());
+                IbanScanner.instance().extract("pay to " + value + " today");
+            }
+        }
+        List<String> batch = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) batch.add(IBANS[i % IBANS.length]);
+        service.validateAll(batch);
+        service.allValid(batch);
+    }
+
+    /**
+     * Number of jdk.VirtualThreadPinned events recorded while given task
+     * runs in given number of virtual threads.
+     */
+    private static long pinned(Runnable task, int threads) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try {
+            try(Recording recording = new Recording()) {
+                recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+                recording.start();
+                CountDownLatch latch = new CountDownLatch(threads);
+                for(int i = 0; i < threads; i++) {
+                    Thread.ofVirtual().start(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            latch.countDown();
+                        }
+                    });
+                }
+                latch.await();
+                recording.stop();
+                recording.dump(file);
+            }
+            long count = 0;
+            for(RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if("jdk.VirtualThreadPinned".equals(event.getEventType().getName())) count++;
+            }
+            return count;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static class Counter implements IbanMetricsSink {
+        final AtomicLong validated = new AtomicLong();
+
+        @Override
+        public void checked(Check check, IbanConfig config, IbanStatus status, long nanos) {
+            if(check == Check.VALIDATE) validated.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2025 Anton Straka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package sk.antons.iban;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Order, backpressure and termination of flow processor driven by
+ * synchronous publisher.
+ * @author antons
+ */
+public class IbanFlowProcessorTest {
+
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    @Test
+    public void resultsInInputOrder() throws Exception {
+        List<String> items = items(50);
+        Publisher publisher = new Publisher(items);
+        IbanFlowProcessor processor = IbanFlowProcessor.instance().executor(SAME_THREAD).batchSize(3).parallelism(2);
+        Subscriber subscriber = new Subscriber();
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertResults(items, subscriber.results);
+        assertEquals(1, subscriber.completed);
+        assertNull(subscriber.error);
+        // buffer is limited by batchSize * parallelism even for unbounded demand
+        assertTrue(publisher.maxOutstanding <= 6);
+    }
+
+    @Test
+    public void resultsInInputOrderOnPool() throws Exception {
+        List<String> items = items(1000);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Publisher publisher = new Publisher(items);
+            IbanFlowProcessor processor = IbanFlowProcessor.instance().executor(pool).batchSize(7).parallelism(3);
+            Subscriber subscriber = new Subscriber();
+            publisher.subscribe(processor);
+            processor.subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+            assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+            assertNull(subscriber.error);
+            assertResults(items, subscriber.results);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void requestsOnlyDemand() {
+        List<String> items = items(20);
+        Publisher publisher = new Publisher(items);
+        IbanFlowProcessor processor = IbanFlowProcessor.instance().executor(SAME_THREAD).batchSize(2).parallelism(2);
+        Subscriber subscriber = new Subscriber();
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        assertEquals(0, publisher.requested);
+
+        subscriber.subscription.request(3);
+        assertEquals(3, publisher.requested);
+        assertEquals(3, subscriber.results.size());
+
+        subscriber.subscription.request(1);
+        assertEquals(4, publisher.requested);
+        assertEquals(4, subscriber.results.size());
+
+        // demand above buffer size is requested in parts
+        subscriber.subscription.request(10);
+        assertEquals(14, publisher.requested);
+        assertEquals(14, subscriber.results.size());
+        assertTrue(publisher.maxOutstanding <= 4);
+        assertEquals(0, subscriber.completed);
+
+        subscriber.subscription.request(100);
+        assertEquals(20, subscriber.results.size());
+        assertEquals(1, subscriber.completed);
+        assertResults(items, subscriber.results);
+    }
+
+    @Test
+    public void cancel() {
+        Publisher publisher = new Publisher(items(20));
+        IbanFlowProcessor processor = IbanFlowProcessor.instance().executor(SAME_THREAD).batchSize(2).parallelism(2);
+        Subscriber subscriber = new Subscriber();
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(3);
+        subscriber.subscription.cancel();
+        assertTrue(publisher.cancelled);
+        subscriber.subscription.request(10);
+        assertEquals(3, publisher.requested);
+        assertEquals(3, subscriber.results.size());
+        assertEquals(0, subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void nonPositiveRequest() {
+        for(long n : new long[] {0, -1, Long.MIN_VALUE}) {
+            Publisher publisher = new Publisher(items(20));
+            IbanFlowProcessor processor = IbanFlowProcessor.instance().executor(SAME_THREAD);
+            Subscriber subscriber = new Subscriber();
+            publisher.subscribe(processor);
+            processor.subscribe(subscriber);
+            subscriber.subscription.request(n);
+            assertTrue(subscriber.error instanceof IllegalArgumentException);
+            assertTrue(publisher.cancelled);
+            assertEquals(0, subscriber.completed);
+            assertEquals(0, publisher.requested);
+        }
+    }
+
+    @Test
+    public void upstreamError() {
+        Publisher publisher = new Publisher(items(20));
+        publisher.failAfter = 5;
+        IbanFlowProcessor processor = IbanFlowProcessor.instance().executor(SAME_THREAD).batchSize(2).parallelism(2);
+        Subscriber subscriber = new Subscriber();
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertNotNull(subscriber.error);
+        assertEquals("upstream failed", subscriber.error.getMessage());
+        assertEquals(0, subscriber.completed);
+        assertTrue(subscriber.results.size() <= 5);
+        // no signal after onError
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.terminations);
+    }
+
+    @Test
+    public void secondSubscriber() {
+        Publisher publisher = new Publisher(items(5));
+        IbanFlowProcessor processor = IbanFlowProcessor.instance().executor(SAME_THREAD);
+        Subscriber first = new Subscriber();
+        Subscriber second = new Subscriber();
+        publisher.subscribe(processor);
+        processor.subscribe(first);
+        processor.subscribe(second);
+        assertNotNull(second.subscription);
+        assertTrue(second.error instanceof IllegalStateException);
+        assertNull(first.error);
+        // subscription of rejected subscriber does not request anything
+        second.subscription.request(100);
+        assertEquals(0, publisher.requested);
+        first.subscription.request(10);
+        assertEquals(5, first.results.size());
+        assertEquals(1, first.completed);
+        assertTrue(second.results.isEmpty());
+        assertEquals(10, publisher.requested);
+    }
+
+    @Test
+    public void emptyUpstream() {
+        Publisher publisher = new Publisher(Collections.<String>emptyList());
+        IbanFlowProcessor processor = IbanFlowProcessor.instance().executor(SAME_THREAD);
+        Subscriber subscriber = new Subscriber();
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.completed);
+        assertTrue(subscriber.results.isEmpty());
+    }
+
+    private static List<String> items(int count) {
+        String[] samples = {"SK8975000000000012345671", "SK8975000000000012345672", "GB82WEST12345698765432", "XX00", "SK89", "SK89 7500 0000 0000 1234 5671"};
+        List<String> list = new ArrayList<>();
+        for(int i = 0; i < count; i++) list.add(samples[i % samples.length] + (i % 7 == 0 ? "" : " "));
+        return list;
+    }
+
+    private static void assertResults(List<String> items, List<IbanResult> results) {
+        assertEquals(items.size(), results.size());
+        for(int i = 0; i < items.size(); i++) {
+            IbanResult expected = IbanResult.of(items.get(i));
+            assertEquals("" + i, expected.value(), results.get(i).value());
+            assertEquals("" + i, expected.status(), results.get(i).status());
+        }
+    }
+
+    /**
+     * Emits items from caller thread of request().
+     */
+    private static class Publisher implements Flow.Publisher<CharSequence> {
+        final List<String> items;
+        int failAfter = -1;
+        long requested;
+        long delivered;
+        long maxOutstanding;
+        volatile boolean cancelled;
+        private boolean emitting;
+        private Flow.Subscriber<? super CharSequence> subscriber;
+
+        Publisher(List<String> items) { this.items = items; }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super CharSequence> s) {
+            subscriber = s;
+            s.onSubscribe(new Flow.Subscription() {
+                @Override
+                public synchronized void request(long n) {
+                    if(cancelled) return;
+                    requested += n;
+                    maxOutstanding = Math.max(maxOutstanding, requested - delivered);
+                    if(emitting) return;
+                    emitting = true;
+                    try {
+                        while(!cancelled && (delivered < requested)) {
+                            if(delivered == failAfter) {
+                                cancelled = true;
+                                subscriber.onError(new IllegalStateException("upstream failed"));
+                                return;
+                            }
+                            if(delivered == items.size()) {
+                                cancelled = true;
+                                subscriber.onComplete();
+                                return;
+                            }
+                            subscriber.onNext(items.get((int)delivered++));
+                        }
+                        if(!cancelled && (delivered == items.size())) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                        }
+                    } finally {
+                        emitting = false;
+                    }
+                }
+                @Override
+                public void cancel() { cancelled = true; }
+            });
+        }
+    }
+
+    private static class Subscriber implements Flow.Subscriber<IbanResult> {
+        final List<IbanResult> results = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch terminated = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile int completed;
+        volatile int terminations;
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) { subscription = s; }
+        @Override
+        public void onNext(IbanResult item) {
+            assertFalse(terminations > 0);
+            results.add(item);
+        }
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminations++;
+            terminated.countDown();
+        }
+        @Override
+        public void onComplete() {
+            completed++;
+            terminations++;
+            terminated.countDown();
+        }
+    }
+}